@@ -0,0 +1,189 @@
+package algorithms;
+
+/**
+ * Streaming area under a concentration-time curve.
+ *
+ * Samples are pushed one at a time in increasing time order and every
+ * update is O(1). Unlike Medical.AUC, each trapezoid uses its own width
+ * (t[i+1] - t[i]), so irregular sampling is handled correctly. The
+ * accumulator also tracks the area under the first moment curve (AUMC, the
+ * integral of t * C(t)) and the peak concentration Cmax with its time Tmax.
+ *
+ * Accumulators over consecutive time segments can be filled independently
+ * (e.g. on separate threads) and then combined with {@link #merge}, which
+ * adds the trapezoid bridging the two segments.
+ *
+ * Instances are not thread-safe; use one accumulator per producer.
+ */
+public class AUCAccumulator {
+    private long count;
+    private double firstT, firstC;
+    private double lastT, lastC;
+    private double auc, aumc;
+    private double cmax = Double.NaN, tmax = Double.NaN;
+
+    /**
+     * Adds a sample.
+     *
+     * @param t Sample time, not earlier than the previous sample.
+     * @param c Concentration at t.
+     */
+    public void add(double t, double c) {
+        if (count == 0) {
+            firstT = t;
+            firstC = c;
+        } else {
+            if (t < lastT) {
+                throw new IllegalArgumentException("samples must be added in time order");
+            }
+            auc += trapezoid(lastT, lastC, t, c);
+            aumc += trapezoid(lastT, lastT * lastC, t, t * c);
+        }
+
+        if (count == 0 || c > cmax) {
+            cmax = c;
+            tmax = t;
+        }
+
+        lastT = t;
+        lastC = c;
+        count++;
+    }
+
+    /**
+     * Adds a point.
+     *
+     * @param p The (time, concentration) sample.
+     */
+    public void add(Point p) {
+        add(p.x, p.y);
+    }
+
+    /**
+     * Adds n samples from parallel arrays starting at offset.
+     *
+     * @param t      Sample times.
+     * @param c      Concentrations.
+     * @param offset Index of the first sample.
+     * @param n      Number of samples.
+     */
+    public void addAll(double[] t, double[] c, int offset, int n) {
+        for (int i = offset; i < offset + n; i++) {
+            add(t[i], c[i]);
+        }
+    }
+
+    private static double trapezoid(double t0, double y0, double t1, double y1) {
+        return (t1 - t0) * (y0 + y1) / 2;
+    }
+
+    /**
+     * Appends the segment accumulated by other, which must start no earlier
+     * than this one ends. The trapezoid between the last sample of this
+     * accumulator and the first of other is added. other is left unchanged.
+     *
+     * @param other Accumulator for the following time segment.
+     * @return this
+     */
+    public AUCAccumulator merge(AUCAccumulator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            copyFrom(other);
+            return this;
+        }
+        if (other.firstT < lastT) {
+            throw new IllegalArgumentException("segments must be merged in time order");
+        }
+
+        auc += trapezoid(lastT, lastC, other.firstT, other.firstC) + other.auc;
+        aumc += trapezoid(lastT, lastT * lastC, other.firstT, other.firstT * other.firstC) + other.aumc;
+
+        if (other.cmax > cmax) {
+            cmax = other.cmax;
+            tmax = other.tmax;
+        }
+
+        lastT = other.lastT;
+        lastC = other.lastC;
+        count += other.count;
+        return this;
+    }
+
+    private void copyFrom(AUCAccumulator other) {
+        count = other.count;
+        firstT = other.firstT;
+        firstC = other.firstC;
+        lastT = other.lastT;
+        lastC = other.lastC;
+        auc = other.auc;
+        aumc = other.aumc;
+        cmax = other.cmax;
+        tmax = other.tmax;
+    }
+
+    /**
+     * Clears all samples.
+     */
+    public void reset() {
+        copyFrom(new AUCAccumulator());
+    }
+
+    /**
+     * @return Running area under the curve from the first to the last sample.
+     */
+    public double getAUC() {
+        return auc;
+    }
+
+    /**
+     * @return Running area under the first moment curve, ∫ t C(t) dt.
+     */
+    public double getAUMC() {
+        return aumc;
+    }
+
+    /**
+     * @return Mean residence time over the observed interval, AUMC / AUC.
+     */
+    public double getMRT() {
+        return aumc / auc;
+    }
+
+    /**
+     * @return Highest concentration seen, NaN before the first sample.
+     */
+    public double getCmax() {
+        return cmax;
+    }
+
+    /**
+     * @return Time of the first occurrence of Cmax, NaN before the first
+     *         sample.
+     */
+    public double getTmax() {
+        return tmax;
+    }
+
+    /**
+     * @return Time of the last sample.
+     */
+    public double getLastTime() {
+        return lastT;
+    }
+
+    /**
+     * @return Concentration at the last sample.
+     */
+    public double getLastConcentration() {
+        return lastC;
+    }
+
+    /**
+     * @return Number of samples added.
+     */
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,192 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Cumulative trapezoid areas over a series, answering partial AUC queries
+ * such as AUC(0-4h) or per dosing interval in O(log n).
+ *
+ * cum[i] is the area from the first sample to sample i, each trapezoid
+ * using its own width (x[i] - x[i-1]) as in {@link AUCAccumulator}; for
+ * equally spaced samples the total matches Medical.AUC up to rounding. An
+ * area between arbitrary t1 and t2 is the difference of two cumulative
+ * values, found by binary search, with y linearly interpolated at t1 and
+ * t2. Queries are clamped to the sampled range.
+ *
+ * Long series are indexed with a parallel blocked prefix scan. The block
+ * size is fixed, so the index is bitwise identical on any number of threads.
+ * The samples are copied, so later writes to the source arrays (including
+ * arrays shared through PointSeries.wrap) do not affect the index.
+ */
+public class AUCIndex {
+    /** Samples per block of the prefix scan. */
+    static final int BLOCK = 1 << 14;
+
+    private final double[] x, y;
+    private final int n;
+    // cum[i]: area from x[0] to x[i]
+    private final double[] cum;
+
+    /**
+     * @param series Samples sorted by x, at least 2; copied.
+     */
+    public AUCIndex(PointSeries series) {
+        this(Arrays.copyOfRange(series.x, series.offset, series.offset + series.size),
+                Arrays.copyOfRange(series.y, series.offset, series.offset + series.size), series.size);
+    }
+
+    /**
+     * @param x Sample times in non-decreasing order; copied.
+     * @param y Values at those times; copied.
+     */
+    public AUCIndex(double[] x, double[] y) {
+        this(x.clone(), y.clone(), checkLengths(x, y));
+    }
+
+    private static int checkLengths(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        return x.length;
+    }
+
+    private AUCIndex(double[] x, double[] y, int n) {
+        if (n < 2) {
+            throw new IllegalArgumentException("at least 2 points are required");
+        }
+        this.x = x;
+        this.y = y;
+        this.n = n;
+        this.cum = new double[n];
+
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        double[] totals = new double[blocks];
+
+        // 1. Local prefix sums within each block
+        Parallel.forRange(0, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                int start = b * BLOCK, end = Math.min(n, start + BLOCK);
+                double sum = 0;
+                for (int i = Math.max(1, start); i < end; i++) {
+                    if (x[i] < x[i - 1]) {
+                        throw new IllegalArgumentException("x values must be sorted");
+                    }
+                    sum += (x[i] - x[i - 1]) * (y[i] + y[i - 1]) / 2;
+                    cum[i] = sum;
+                }
+                totals[b] = sum;
+            }
+        });
+
+        // 2. Exclusive scan of the block totals
+        double carry = 0;
+        for (int b = 0; b < blocks; b++) {
+            double total = totals[b];
+            totals[b] = carry;
+            carry += total;
+        }
+
+        // 3. Add each block's offset
+        Parallel.forRange(1, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                double base = totals[b];
+                for (int i = b * BLOCK, end = Math.min(n, i + BLOCK); i < end; i++) {
+                    cum[i] += base;
+                }
+            }
+        });
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /**
+     * @return Area over the whole series.
+     */
+    public double total() {
+        return cum[n - 1];
+    }
+
+    /**
+     * Area from the first sample to t.
+     *
+     * @param t Time, clamped to the sampled range.
+     * @return The cumulative area.
+     */
+    public double cumulative(double t) {
+        if (!(t > x[0])) {
+            return 0;
+        }
+        if (t >= x[n - 1]) {
+            return cum[n - 1];
+        }
+        int i = segment(t);
+        return cum[i] + partial(i, x[i], t);
+    }
+
+    /**
+     * Area between t1 and t2, negative if t2 &lt; t1.
+     *
+     * @param t1 Start time, clamped to the sampled range.
+     * @param t2 End time, clamped to the sampled range.
+     * @return The partial AUC.
+     */
+    public double area(double t1, double t2) {
+        if (t2 < t1) {
+            return -area(t2, t1);
+        }
+        double first = x[0], last = x[n - 1];
+        t1 = Math.min(Math.max(t1, first), last);
+        t2 = Math.min(Math.max(t2, first), last);
+        if (t1 == t2) {
+            return 0;
+        }
+
+        int i = segment(t1);
+        if (t2 <= x[i + 1]) {
+            // Both ends in one segment: avoid cancellation of large prefixes
+            return partial(i, t1, t2);
+        }
+        return cumulative(t2) - cumulative(t1);
+    }
+
+    /**
+     * Areas between consecutive boundaries, e.g. dosing times.
+     *
+     * @param boundaries Times t0 &lt;= t1 &lt;= ... &lt;= tk.
+     * @return k areas, the i-th over [t(i), t(i+1)].
+     */
+    public double[] intervals(double[] boundaries) {
+        double[] out = new double[Math.max(0, boundaries.length - 1)];
+        double previous = boundaries.length > 0 ? cumulative(boundaries[0]) : 0;
+        for (int i = 0; i < out.length; i++) {
+            double next = cumulative(boundaries[i + 1]);
+            out[i] = next - previous;
+            previous = next;
+        }
+        return out;
+    }
+
+    /** Index i of the segment [x[i], x[i+1]) containing t, for x0 &lt;= t &lt; xn. */
+    private int segment(double t) {
+        int lo = 0, hi = n - 1;
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (x[mid] <= t) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Area under the linear segment i between a and b. */
+    private double partial(int i, double a, double b) {
+        double width = x[i + 1] - x[i];
+        double ya = y[i] + (y[i + 1] - y[i]) * (a - x[i]) / width;
+        double yb = y[i] + (y[i + 1] - y[i]) * (b - x[i]) / width;
+        return (b - a) * (ya + yb) / 2;
+    }
+}
@@ -1,5 +1,6 @@
 package algorithms;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -16,32 +17,74 @@ public class Algebra {
      * @return The approx. value of y at x=value.
      */
     double NewtonForwardInterpolation(List<Point> points, double value) {
-        // y(x) = y0 + p∇y0 + (p(p-1)/2!)*∇2y0 + (p(p-1)(p-2)/3!)*∇2y0 + ....
-
         int n = points.size();
         double x[] = new double[n];
-        double y[][] = new double[n][n];
+        double y[] = new double[n];
 
         for (int i = 0; i < n; i++) {
             x[i] = points.get(i).x;
-            y[i][0] = points.get(i).y;
+            y[i] = points.get(i).y;
         }
 
-        // Calculating the forward difference table
+        return NewtonForwardInterpolation(x, y, value);
+    }
+
+    /**
+     * Calculates the Newton forward interpolation over primitive arrays of
+     * equally spaced nodes.
+     * 
+     * Only the leading differences Δⁱy0 are needed, so the difference table is
+     * collapsed in place into a single array of n doubles instead of the full
+     * n x n table. The List based method delegates here.
+     * 
+     * @param x     x values (equally spaced). Only x[0] and x[1] are read.
+     * @param y     y values. Not modified.
+     * @param value double
+     * @return The approx. value of y at x=value.
+     */
+    public double NewtonForwardInterpolation(double[] x, double[] y, double value) {
+        return newtonForward(x, y, 0, y.length, value);
+    }
+
+    /**
+     * Calculates the Newton forward interpolation over a point series
+     * without copying it into a list.
+     * 
+     * @param series Equally spaced (x,y) points.
+     * @param value  double
+     * @return The approx. value of y at x=value.
+     */
+    public double NewtonForwardInterpolation(PointSeries series, double value) {
+        return newtonForward(series.x, series.y, series.offset, series.size, value);
+    }
+
+    private double newtonForward(double[] x, double[] y, int offset, int n, double value) {
+        // y(x) = y0 + pΔy0 + (p(p-1)/2!)*Δ2y0 + (p(p-1)(p-2)/3!)*Δ3y0 + ....
+
+        double d[] = Arrays.copyOfRange(y, offset, offset + n);
+
+        // After pass i, d[j] holds Δⁱy(j-i) for j >= i, so d[i] = Δⁱy0.
         for (int i = 1; i < n; i++) {
-            for (int j = 0; j < n - i; j++) {
-                y[j][i] = y[j + 1][i - 1] - y[j][i - 1];
+            for (int j = n - 1; j >= i; j--) {
+                d[j] = d[j] - d[j - 1];
             }
         }
 
         // Initialize p, h and sum
-        double sum = y[0][0];
-        double h = (x[1] - x[0]); // h= x1-x0
+        double sum = d[0];
+        double h = (x[offset + 1] - x[offset]); // h= x1-x0
         // p = (x - x0) / h
-        double p = (value - x[0]) / h;
+        double p = (value - x[offset]) / h;
 
+        // coef = p(p-1)...(p-i+1)/i! is built up term by term, so neither the
+        // product nor i! overflows for long tables. Vanishing differences are
+        // skipped so that a huge coef never meets an exact 0.
+        double coef = 1;
         for (int i = 1; i < n; i++) {
-            sum += (ForwardPValue(p, i) * y[0][i]) / factorial(i);
+            coef *= (p - (i - 1)) / i;
+            if (d[i] != 0) {
+                sum += coef * d[i];
+            }
         }
 
         return sum;
@@ -56,84 +99,78 @@ public class Algebra {
      * @return The approx. value of y at x=value.
      */
     double NewtonBackwardInterpolation(List<Point> points, double value) {
-        // y(x) = yn + p∇yn + (p(p+1)/2!)*∇2yn + (p(p+1)(p+2)/3!)*∇2yn + ....
-
         int n = points.size();
 
         double x[] = new double[n];
-        double y[][] = new double[n][n];
+        double y[] = new double[n];
 
         for (int i = 0; i < n; i++) {
             x[i] = points.get(i).x;
-            y[i][0] = points.get(i).y;
-        }
-
-        // Calculating the backward difference table
-        for (int i = 1; i < n; i++) {
-            for (int j = n - 1; j >= i; j--) {
-                y[j][i] = y[j][i - 1] - y[j - 1][i - 1];
-            }
-        }
-
-        // Initialize p, h and sum
-        double sum = y[n - 1][0];
-
-        double h = (x[1] - x[0]); // h= x1-x0
-
-        // p = (x - xn) / h
-        double p = (value - x[n - 1]) / h;
-
-        for (int i = 1; i < n; i++) {
-            sum += (backPValue(p, i) * y[n - 1][i]) / factorial(i);
+            y[i] = points.get(i).y;
         }
 
-        return sum;
+        return NewtonBackwardInterpolation(x, y, value);
     }
 
     /**
-     * Calculate the p value when doing backward interpolation at index n;
-     * See formular.
+     * Calculates the Newton backward interpolation over primitive arrays of
+     * equally spaced nodes.
      * 
-     * @param u
-     * @param n
-     * @return
+     * Only the trailing differences ∇ⁱyn are needed, so the difference table
+     * is collapsed in place into a single array of n doubles instead of the
+     * full n x n table. The List based method delegates here.
+     * 
+     * @param x     x values (equally spaced). Only x[0], x[1] and x[n-1] are
+     *              read.
+     * @param y     y values. Not modified.
+     * @param value double
+     * @return The approx. value of y at x=value.
      */
-    private static double backPValue(double u, int n) {
-        var temp = u;
-        for (int i = 1; i < n; i++) {
-            temp *= u + i;
-        }
-        return temp;
+    public double NewtonBackwardInterpolation(double[] x, double[] y, double value) {
+        return newtonBackward(x, y, 0, y.length, value);
     }
 
     /**
-     * Calculate the p value when doing forward interpolation at index n;
-     * See formular.
+     * Calculates the Newton backward interpolation over a point series
+     * without copying it into a list.
      * 
-     * @param u
-     * @param n
-     * @return
+     * @param series Equally spaced (x,y) points.
+     * @param value  double
+     * @return The approx. value of y at x=value.
      */
-    private static double ForwardPValue(double u, int n) {
-        var temp = u;
-        for (int i = 1; i < n; i++) {
-            temp *= u - i;
-        }
-        return temp;
+    public double NewtonBackwardInterpolation(PointSeries series, double value) {
+        return newtonBackward(series.x, series.y, series.offset, series.size, value);
     }
 
-    /**
-     * Compute the factorial of n
-     * 
-     * @param n
-     * @return
-     */
-    private static int factorial(int n) {
-        int fact = 1;
-        for (int i = 2; i <= n; i++) {
-            fact *= i;
+    private double newtonBackward(double[] x, double[] y, int offset, int n, double value) {
+        // y(x) = yn + p∇yn + (p(p+1)/2!)*∇2yn + (p(p+1)(p+2)/3!)*∇3yn + ....
+
+        double d[] = Arrays.copyOfRange(y, offset, offset + n);
+
+        // Initialize p, h and sum
+        double sum = d[n - 1];
+
+        double h = (x[offset + 1] - x[offset]); // h= x1-x0
+
+        // p = (x - xn) / h
+        double p = (value - x[offset + n - 1]) / h;
+
+        // After pass i, d[j] holds ∇ⁱy(j+i) for j <= n-1-i,
+        // so d[n-1-i] = ∇ⁱyn.
+        // coef = p(p+1)...(p+i-1)/i!, as in the forward method
+        double coef = 1;
+        for (int i = 1; i < n; i++) {
+            for (int j = 0; j < n - i; j++) {
+                d[j] = d[j + 1] - d[j];
+            }
+
+            coef *= (p + (i - 1)) / i;
+            if (d[n - 1 - i] != 0) {
+                sum += coef * d[n - 1 - i];
+            }
         }
-        return fact;
+
+        return sum;
     }
 
     /**
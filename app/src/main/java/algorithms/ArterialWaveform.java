@@ -0,0 +1,251 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streaming beat detection on one arterial pressure waveform channel.
+ *
+ * Beats are found with a slope sum function (Zong et al., 2003): the sum of
+ * the rising slopes over the last 128 ms peaks on every systolic upstroke.
+ * When it crosses an adaptive threshold, the lowest pressure in the
+ * preceding 150 ms is taken as the beat onset (the diastolic foot). Each
+ * interval between consecutive onsets is one beat; its systolic and
+ * diastolic pressures are the maximum and minimum, and its MAP is the
+ * trapezoid integral of the pressure divided by the beat duration, not the
+ * one-third pulse pressure rule of Medical.MAP.
+ *
+ * The first two seconds set the initial threshold; afterwards it follows
+ * half the running average of the slope sum peaks. Samples are kept in a
+ * ring buffer covering the longest allowed beat (4 s), so process() never
+ * allocates. Longer gaps between onsets are not reported as beats.
+ *
+ * An instance handles one channel and is not thread-safe; see
+ * {@link Monitor} for many channels.
+ */
+public class ArterialWaveform {
+    /**
+     * Receives each completed beat. Times are seconds since the first sample.
+     */
+    public interface BeatListener {
+        void beat(double start, double end, double sbp, double dbp, double map);
+    }
+
+    private static final double SLOPE_WINDOW = 0.128, REFRACTORY = 0.25, LOOKBACK = 0.15, MAX_BEAT = 4,
+            LEARNING = 2;
+
+    private final double sampleRate;
+    private final BeatListener listener;
+    private final int window, refractory, lookback, learning, maxBeat;
+
+    // Ring of recent samples, indexed by sample number & mask
+    private final double[] ring;
+    private final int mask;
+    // Rising slopes inside the slope sum window
+    private final double[] slopes;
+
+    private long n;
+    private double previous, ssf, previousSsf;
+    private double learningSum, threshold, peakAverage, peak;
+    private long lastDetection = Long.MIN_VALUE / 2, lastFoot = -1, beats;
+
+    /**
+     * @param sampleRate Samples per second.
+     * @param listener   Receives beats as they complete.
+     */
+    public ArterialWaveform(double sampleRate, BeatListener listener) {
+        if (!(sampleRate >= 25)) {
+            throw new IllegalArgumentException("sample rate must be at least 25 Hz");
+        }
+        this.sampleRate = sampleRate;
+        this.listener = listener;
+        this.window = (int) Math.round(SLOPE_WINDOW * sampleRate);
+        this.refractory = (int) Math.round(REFRACTORY * sampleRate);
+        this.lookback = (int) Math.round(LOOKBACK * sampleRate);
+        this.learning = (int) Math.round(LEARNING * sampleRate);
+        this.maxBeat = (int) Math.round(MAX_BEAT * sampleRate);
+
+        int capacity = Integer.highestOneBit(maxBeat + lookback + 2) << 1;
+        this.ring = new double[capacity];
+        this.mask = capacity - 1;
+        this.slopes = new double[window];
+    }
+
+    /**
+     * Processes the next samples of the channel.
+     *
+     * @param samples Pressures in mmHg.
+     * @param offset  Index of the first sample.
+     * @param length  Number of samples.
+     */
+    public void process(double[] samples, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            add(samples[i]);
+        }
+    }
+
+    private void add(double p) {
+        ring[(int) (n & mask)] = p;
+
+        // Slope sum over the window
+        double slope = n == 0 ? 0 : Math.max(0, p - previous);
+        int slot = (int) (n % window);
+        ssf += slope - slopes[slot];
+        slopes[slot] = slope;
+        previous = p;
+
+        if (n < learning) {
+            learningSum += ssf;
+            if (n == learning - 1) {
+                threshold = 3 * learningSum / learning;
+                peakAverage = 2 * threshold;
+            }
+        } else {
+            if (n - lastDetection < refractory) {
+                peak = Math.max(peak, ssf);
+                if (n - lastDetection == refractory - 1) {
+                    peakAverage = 0.75 * peakAverage + 0.25 * peak;
+                    threshold = 0.5 * peakAverage;
+                }
+            } else if (ssf >= threshold && previousSsf < threshold && threshold > 0) {
+                detect();
+            }
+        }
+
+        previousSsf = ssf;
+        n++;
+    }
+
+    private void detect() {
+        lastDetection = n;
+        peak = ssf;
+
+        // Onset: lowest pressure shortly before the upstroke
+        long from = Math.max(Math.max(0, n - lookback), lastFoot + 1);
+        long foot = n;
+        for (long i = n - 1; i >= from; i--) {
+            if (ring[(int) (i & mask)] <= ring[(int) (foot & mask)]) {
+                foot = i;
+            }
+        }
+
+        if (lastFoot >= 0 && foot - lastFoot <= maxBeat) {
+            double sbp = Double.NEGATIVE_INFINITY, dbp = Double.POSITIVE_INFINITY, area = 0;
+            double before = ring[(int) (lastFoot & mask)];
+            for (long i = lastFoot; i <= foot; i++) {
+                double v = ring[(int) (i & mask)];
+                sbp = Math.max(sbp, v);
+                dbp = Math.min(dbp, v);
+                if (i > lastFoot) {
+                    area += (before + v) / 2;
+                }
+                before = v;
+            }
+            beats++;
+            listener.beat(lastFoot / sampleRate, foot / sampleRate, sbp, dbp, area / (foot - lastFoot));
+        }
+        lastFoot = foot;
+    }
+
+    /**
+     * @return Beats reported so far.
+     */
+    public long getBeats() {
+        return beats;
+    }
+
+    /**
+     * @return Samples processed so far.
+     */
+    public long getSamples() {
+        return n;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Processes many channels concurrently on a fixed pool of threads.
+     *
+     * Channels are assigned round robin to as many reusable tasks as
+     * threads; each tick hands every channel its next chunk and returns
+     * once all are processed, so a channel is never touched by two threads
+     * at once and listeners see each channel's beats in order.
+     */
+    public static class Monitor implements AutoCloseable {
+        private final ArterialWaveform[] channels;
+        private final ExecutorService pool;
+        private final List<Callable<Void>> tasks = new ArrayList<>();
+        private double[][] chunks;
+        private int[] lengths;
+
+        /**
+         * @param channels One processor per channel.
+         * @param threads  Pool size.
+         */
+        public Monitor(ArterialWaveform[] channels, int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("threads must be positive");
+            }
+            this.channels = channels.clone();
+            int workers = Math.max(1, Math.min(threads, channels.length));
+            this.pool = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "arterial-waveform");
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int w = 0; w < workers; w++) {
+                int first = w;
+                tasks.add(() -> {
+                    for (int c = first; c < this.channels.length; c += workers) {
+                        this.channels[c].process(chunks[c], 0, lengths[c]);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        /**
+         * Processes one chunk per channel and waits for all of them.
+         *
+         * @param chunks  chunks[c] holds the next samples of channel c.
+         * @param lengths lengths[c] samples of chunks[c] are used.
+         * @throws InterruptedException If interrupted while waiting.
+         */
+        public void process(double[][] chunks, int[] lengths) throws InterruptedException {
+            if (chunks.length != channels.length || lengths.length != channels.length) {
+                throw new IllegalArgumentException("need one chunk per channel");
+            }
+            this.chunks = chunks;
+            this.lengths = lengths;
+            try {
+                for (Future<Void> future : pool.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException(cause);
+            } finally {
+                this.chunks = null;
+                this.lengths = null;
+            }
+        }
+
+        /**
+         * Stops the pool.
+         */
+        @Override
+        public void close() {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Barycentric Lagrange interpolation over arbitrary (non-uniform) nodes.
+ * See Berrut &amp; Trefethen, "Barycentric Lagrange Interpolation", SIAM
+ * Review 46(3), 2004.
+ *
+ * The barycentric weights wj = 1 / Π(xj - xk) are computed once in O(n²)
+ * (or O(n) for Chebyshev points) after which every query costs O(n):
+ *
+ * p(x) = Σ (wj / (x - xj)) yj / Σ (wj / (x - xj))
+ *
+ * The formula is invariant to a common scaling of the weights, so they are
+ * kept normalized to avoid overflow for large n. Nodes can be appended in
+ * O(n) without recomputing the existing weights from scratch.
+ */
+public class BarycentricInterpolator {
+    private double[] x;
+    private double[] y;
+    private double[] w;
+    private int n;
+
+    /**
+     * Creates an interpolator through the nodes (x[i], y[i]).
+     * The arrays are copied.
+     *
+     * @param x Distinct node abscissae in any order.
+     * @param y Node values.
+     */
+    public BarycentricInterpolator(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+
+        int capacity = Math.max(x.length, 4);
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.w = new double[capacity];
+
+        for (int i = 0; i < x.length; i++) {
+            addNode(x[i], y[i]);
+        }
+    }
+
+    /**
+     * Creates an interpolator through a list of points.
+     *
+     * @param points List of (x,y) points with distinct x.
+     */
+    public BarycentricInterpolator(List<Point> points) {
+        this(Point.xs(points), Point.ys(points));
+    }
+
+    private BarycentricInterpolator(double[] x, double[] y, double[] w) {
+        this.x = x;
+        this.y = y;
+        this.w = w;
+        this.n = x.length;
+    }
+
+    /**
+     * Interpolates f at the n Chebyshev points of the second kind mapped to
+     * [a, b]: xj = (a+b)/2 + (b-a)/2 cos(jπ/(n-1)). Their weights are known
+     * in closed form, wj = (-1)^j δj with δ = 1/2 at the end points, so setup
+     * is O(n).
+     *
+     * @param a Left end of the interval.
+     * @param b Right end of the interval.
+     * @param n Number of points (at least 2).
+     * @param f The function sampled at the nodes.
+     * @return The interpolator.
+     */
+    public static BarycentricInterpolator chebyshev(double a, double b, int n,
+            DoubleUnaryOperator f) {
+        if (n < 2) {
+            throw new IllegalArgumentException("at least 2 Chebyshev points are required");
+        }
+
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] w = new double[n];
+        double mid = (a + b) / 2, half = (b - a) / 2;
+
+        for (int j = 0; j < n; j++) {
+            x[j] = mid + half * Math.cos(j * Math.PI / (n - 1));
+            y[j] = f.applyAsDouble(x[j]);
+            w[j] = (j % 2 == 0) ? 1 : -1;
+        }
+        w[0] *= 0.5;
+        w[n - 1] *= 0.5;
+
+        return new BarycentricInterpolator(x, y, w);
+    }
+
+    /**
+     * Adds the node (xNew, yNew) in O(n). Existing weights are divided by
+     * (xj - xNew) and the new weight is derived from w0, so the weights never
+     * need to be recomputed from scratch.
+     *
+     * @param xNew New abscissa, distinct from all current nodes.
+     * @param yNew Value at xNew.
+     */
+    public void addNode(double xNew, double yNew) {
+        if (n == x.length) {
+            int capacity = Math.max(4, n * 2);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            w = Arrays.copyOf(w, capacity);
+        }
+
+        if (n == 0) {
+            x[0] = xNew;
+            y[0] = yNew;
+            w[0] = 1;
+            n = 1;
+            return;
+        }
+
+        // wNew / w0 = Π(k≠0)(x0 - xk)/(xNew - xk) / (xNew - x0);
+        // a product of ratios that stays well scaled for large n.
+        double wNew = w[0];
+        for (int k = 0; k < n; k++) {
+            if (xNew == x[k]) {
+                throw new IllegalArgumentException("duplicate node x=" + xNew);
+            }
+            wNew *= (k == 0 ? 1 : x[0] - x[k]) / (xNew - x[k]);
+        }
+
+        double max = Math.abs(wNew);
+        for (int j = 0; j < n; j++) {
+            w[j] /= x[j] - xNew;
+            max = Math.max(max, Math.abs(w[j]));
+        }
+
+        x[n] = xNew;
+        y[n] = yNew;
+        w[n] = wNew;
+        n++;
+
+        // Normalize so that max|wj| = 1.
+        for (int j = 0; j < n; j++) {
+            w[j] /= max;
+        }
+    }
+
+    /**
+     * Evaluates the interpolating polynomial at value in O(n).
+     *
+     * @param value double
+     * @return The approx. value of y at x=value.
+     */
+    public double evaluate(double value) {
+        double num = 0, den = 0;
+        for (int j = 0; j < n; j++) {
+            double diff = value - x[j];
+            if (diff == 0) {
+                return y[j];
+            }
+            double t = w[j] / diff;
+            num += t * y[j];
+            den += t;
+        }
+        return num / den;
+    }
+
+    /**
+     * Evaluates the interpolating polynomial at every value in xs.
+     *
+     * @param xs  Query points.
+     * @param out Destination, at least xs.length long.
+     */
+    public void evaluate(double[] xs, double[] out) {
+        for (int i = 0; i < xs.length; i++) {
+            out[i] = evaluate(xs[i]);
+        }
+    }
+
+    /**
+     * Evaluates the interpolating polynomial at every value in xs.
+     *
+     * @param xs Query points.
+     * @return The interpolated values.
+     */
+    public double[] evaluate(double[] xs) {
+        double[] out = new double[xs.length];
+        evaluate(xs, out);
+        return out;
+    }
+
+    /**
+     * @return The number of nodes.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Returns the normalized barycentric weights (a copy).
+     *
+     * @return double[] of length size()
+     */
+    public double[] weights() {
+        return Arrays.copyOf(w, n);
+    }
+}
@@ -0,0 +1,212 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Closest pair of points by divide and conquer in O(n log n).
+ *
+ * The points are sorted by x once (in parallel). Each half is solved
+ * recursively, forking halves larger than Parallel.GRAIN onto the common
+ * pool, while the recursion merges its range by y; the combine step then
+ * only checks the few neighbours in y order within the strip around the
+ * dividing line that are closer than the best distance of the halves.
+ */
+public class ClosestPair {
+    private static final int BRUTE = 3;
+
+    private final int first, second;
+    private final double distance;
+
+    private ClosestPair(int first, int second, double distance) {
+        this.first = first;
+        this.second = second;
+        this.distance = distance;
+    }
+
+    /**
+     * @return Index of one point of the pair (the smaller index).
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * @return Index of the other point of the pair.
+     */
+    public int getSecond() {
+        return second;
+    }
+
+    /**
+     * @return Euclidean distance between the two points.
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /** Best pair found in part of the recursion. */
+    private static final class Best {
+        double d2 = Double.POSITIVE_INFINITY;
+        int a = -1, b = -1;
+
+        void offer(double d2, int a, int b) {
+            if (d2 < this.d2) {
+                this.d2 = d2;
+                this.a = a;
+                this.b = b;
+            }
+        }
+    }
+
+    private static final class Solver {
+        final double[] x, y;
+        // byX stays sorted by x; byY is sorted by y within solved ranges
+        final int[] byX, byY, tmp;
+        final boolean parallel;
+
+        Solver(double[] x, double[] y) {
+            int n = x.length;
+            this.x = x;
+            this.y = y;
+            this.byX = new int[n];
+            for (int i = 0; i < n; i++) {
+                byX[i] = i;
+            }
+            PointOrder.sort(x, y, byX, n);
+            this.byY = byX.clone();
+            this.tmp = new int[n];
+            this.parallel = n > Parallel.GRAIN && ForkJoinPool.getCommonPoolParallelism() > 1;
+        }
+
+        void solve(int lo, int hi, Best best) {
+            if (hi - lo <= BRUTE) {
+                for (int i = lo; i < hi; i++) {
+                    for (int j = i + 1; j < hi; j++) {
+                        best.offer(distance2(byX[i], byX[j]), byX[i], byX[j]);
+                    }
+                }
+                // Insertion sort of the range by y
+                for (int i = lo + 1; i < hi; i++) {
+                    int v = byY[i], j = i - 1;
+                    while (j >= lo && y[byY[j]] > y[v]) {
+                        byY[j + 1] = byY[j];
+                        j--;
+                    }
+                    byY[j + 1] = v;
+                }
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            double midX = x[byX[mid]];
+            if (parallel && hi - lo > Parallel.GRAIN) {
+                Best left = new Best(), right = new Best();
+                RecursiveAction.invokeAll(new SolveAction(this, lo, mid, left),
+                        new SolveAction(this, mid, hi, right));
+                best.offer(left.d2, left.a, left.b);
+                best.offer(right.d2, right.a, right.b);
+            } else {
+                solve(lo, mid, best);
+                solve(mid, hi, best);
+            }
+
+            // Merge the halves by y
+            System.arraycopy(byY, lo, tmp, lo, mid - lo);
+            int i = lo, j = mid, k = lo;
+            while (i < mid && j < hi) {
+                byY[k++] = y[byY[j]] < y[tmp[i]] ? byY[j++] : tmp[i++];
+            }
+            while (i < mid) {
+                byY[k++] = tmp[i++];
+            }
+
+            // Strip around the dividing line, in y order, kept in tmp
+            int strip = lo;
+            for (int s = lo; s < hi; s++) {
+                double dx = x[byY[s]] - midX;
+                if (dx * dx < best.d2) {
+                    tmp[strip++] = byY[s];
+                }
+            }
+            for (int s = lo; s < strip; s++) {
+                for (int t = s + 1; t < strip; t++) {
+                    double dy = y[tmp[t]] - y[tmp[s]];
+                    if (dy * dy >= best.d2) {
+                        break;
+                    }
+                    best.offer(distance2(tmp[s], tmp[t]), tmp[s], tmp[t]);
+                }
+            }
+        }
+
+        double distance2(int i, int j) {
+            double dx = x[i] - x[j], dy = y[i] - y[j];
+            return dx * dx + dy * dy;
+        }
+    }
+
+    private static final class SolveAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Solver solver;
+        private final int lo, hi;
+        private final Best best;
+
+        SolveAction(Solver solver, int lo, int hi, Best best) {
+            this.solver = solver;
+            this.lo = lo;
+            this.hi = hi;
+            this.best = best;
+        }
+
+        @Override
+        protected void compute() {
+            solver.solve(lo, hi, best);
+        }
+    }
+
+    /**
+     * @param x X coordinates.
+     * @param y Y coordinates, same length, at least two points; NaN is not
+     *          allowed.
+     * @return The closest pair.
+     */
+    public static ClosestPair of(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        if (x.length < 2) {
+            throw new IllegalArgumentException("at least 2 points are required");
+        }
+        for (int i = 0; i < x.length; i++) {
+            if (Double.isNaN(x[i]) || Double.isNaN(y[i])) {
+                throw new IllegalArgumentException("coordinates must not be NaN");
+            }
+        }
+        Solver solver = new Solver(x, y);
+        Best best = new Best();
+        if (solver.parallel) {
+            new SolveAction(solver, 0, x.length, best).invoke();
+        } else {
+            solver.solve(0, x.length, best);
+        }
+        return new ClosestPair(Math.min(best.a, best.b), Math.max(best.a, best.b), Math.sqrt(best.d2));
+    }
+
+    /**
+     * @param points At least two points.
+     * @return The closest pair; indices refer to the list.
+     */
+    public static ClosestPair of(List<Point> points) {
+        List<Point> indexed = new ArrayList<>(points);
+        double[] x = new double[indexed.size()], y = new double[indexed.size()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = indexed.get(i).x;
+            y[i] = indexed.get(i).y;
+        }
+        return of(x, y);
+    }
+}
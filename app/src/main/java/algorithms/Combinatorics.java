@@ -0,0 +1,385 @@
+package algorithms;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Factorials, binomial coefficients and the log-gamma function.
+ *
+ * Everything that fits in a primitive is served from tables built once when
+ * the class is loaded, so the methods are cheap enough for hot loops. Exact
+ * BigInteger factorials are memoized at regular checkpoints. All methods are
+ * thread-safe.
+ */
+public final class Combinatorics {
+    /** Largest n with n! representable in a long. */
+    public static final int MAX_LONG_FACTORIAL = 20;
+
+    /** Largest n with n! finite in a double. */
+    public static final int MAX_DOUBLE_FACTORIAL = 170;
+
+    /** Largest n with every C(n, k) representable in a long. */
+    public static final int MAX_LONG_BINOMIAL = 66;
+
+    private static final long[] LONG_FACTORIALS = new long[MAX_LONG_FACTORIAL + 1];
+    private static final double[] DOUBLE_FACTORIALS = new double[MAX_DOUBLE_FACTORIAL + 1];
+    private static final double[] LOG_FACTORIALS = new double[MAX_DOUBLE_FACTORIAL + 1];
+    private static final long[][] BINOMIALS = new long[MAX_LONG_BINOMIAL + 1][];
+
+    /** Exact factorials are memoized at multiples of this step. */
+    private static final int CHECKPOINT = 256;
+    private static volatile BigInteger[] checkpoints = { BigInteger.ONE };
+
+    private static final double HALF_LOG_2PI = 0.5 * Math.log(2 * Math.PI);
+
+    static {
+        LONG_FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_LONG_FACTORIAL; i++) {
+            LONG_FACTORIALS[i] = LONG_FACTORIALS[i - 1] * i;
+        }
+
+        DOUBLE_FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_DOUBLE_FACTORIAL; i++) {
+            DOUBLE_FACTORIALS[i] = DOUBLE_FACTORIALS[i - 1] * i;
+            LOG_FACTORIALS[i] = LOG_FACTORIALS[i - 1] + Math.log(i);
+        }
+
+        // Pascal's triangle
+        for (int n = 0; n <= MAX_LONG_BINOMIAL; n++) {
+            BINOMIALS[n] = new long[n + 1];
+            BINOMIALS[n][0] = BINOMIALS[n][n] = 1;
+            for (int k = 1; k < n; k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + BINOMIALS[n - 1][k];
+            }
+        }
+    }
+
+    private Combinatorics() {
+    }
+
+    /**
+     * Compute the factorial of n as a double.
+     *
+     * @param n Non-negative integer.
+     * @return n!, exact up to 22! and +Infinity above 170!.
+     */
+    public static double factorial(int n) {
+        checkNonNegative(n);
+        return n <= MAX_DOUBLE_FACTORIAL ? DOUBLE_FACTORIALS[n] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Compute the factorial of n exactly as a long.
+     *
+     * @param n Integer in [0, 20].
+     * @return n!
+     * @throws ArithmeticException if n! overflows a long.
+     */
+    public static long factorialExact(int n) {
+        checkNonNegative(n);
+        if (n > MAX_LONG_FACTORIAL) {
+            throw new ArithmeticException(n + "! overflows a long");
+        }
+        return LONG_FACTORIALS[n];
+    }
+
+    /**
+     * Compute the factorial of n exactly. Factorials at multiples of 256 are
+     * memoized, so repeated calls only multiply out the remaining terms.
+     *
+     * @param n Non-negative integer.
+     * @return n!
+     */
+    public static BigInteger bigFactorial(int n) {
+        checkNonNegative(n);
+        if (n <= MAX_LONG_FACTORIAL) {
+            return BigInteger.valueOf(LONG_FACTORIALS[n]);
+        }
+
+        int index = n / CHECKPOINT;
+        BigInteger[] cache = checkpoints;
+        if (index >= cache.length) {
+            cache = extendCheckpoints(index);
+        }
+
+        int base = index * CHECKPOINT;
+        return base == n ? cache[index] : cache[index].multiply(product(base + 1, n));
+    }
+
+    private static synchronized BigInteger[] extendCheckpoints(int index) {
+        BigInteger[] cache = checkpoints;
+        if (index < cache.length) {
+            return cache;
+        }
+
+        BigInteger[] grown = Arrays.copyOf(cache, index + 1);
+        for (int i = cache.length; i <= index; i++) {
+            grown[i] = grown[i - 1].multiply(product((i - 1) * CHECKPOINT + 1, i * CHECKPOINT));
+        }
+        checkpoints = grown;
+        return grown;
+    }
+
+    /**
+     * Product of the integers in [from, to] by binary splitting, which keeps
+     * the operands of each multiplication balanced.
+     */
+    private static BigInteger product(int from, int to) {
+        if (from > to) {
+            return BigInteger.ONE;
+        }
+        if (to - from < 16) {
+            long p = 1;
+            BigInteger result = BigInteger.ONE;
+            for (long i = from; i <= to; i++) {
+                if (p > Long.MAX_VALUE / i) {
+                    result = result.multiply(BigInteger.valueOf(p));
+                    p = 1;
+                }
+                p *= i;
+            }
+            return result.multiply(BigInteger.valueOf(p));
+        }
+        int mid = (from + to) >>> 1;
+        return product(from, mid).multiply(product(mid + 1, to));
+    }
+
+    /**
+     * Compute ln(n!).
+     *
+     * @param n Non-negative integer.
+     * @return ln(n!)
+     */
+    public static double logFactorial(int n) {
+        checkNonNegative(n);
+        return n <= MAX_DOUBLE_FACTORIAL ? LOG_FACTORIALS[n] : logGamma(n + 1.0);
+    }
+
+    /**
+     * Compute the binomial coefficient C(n, k) exactly.
+     *
+     * @param n Non-negative integer.
+     * @param k Integer in [0, n].
+     * @return C(n, k)
+     * @throws ArithmeticException if the result overflows a long.
+     */
+    public static long binomial(int n, int k) {
+        checkBinomial(n, k);
+        k = Math.min(k, n - k);
+        if (n <= MAX_LONG_BINOMIAL) {
+            return BINOMIALS[n][k];
+        }
+
+        // result * (n-k+i) is always divisible by i; dividing out the gcd first
+        // keeps the intermediate within range whenever the result is.
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            long g = gcd(result, i);
+            result = Math.multiplyExact(result / g, (n - k + i) / (i / g));
+        }
+        return result;
+    }
+
+    /**
+     * Compute the binomial coefficient C(n, k) exactly.
+     *
+     * @param n Non-negative integer.
+     * @param k Integer in [0, n].
+     * @return C(n, k)
+     */
+    public static BigInteger bigBinomial(int n, int k) {
+        checkBinomial(n, k);
+        k = Math.min(k, n - k);
+        if (n <= MAX_LONG_BINOMIAL) {
+            return BigInteger.valueOf(BINOMIALS[n][k]);
+        }
+        return product(n - k + 1, n).divide(bigFactorial(k));
+    }
+
+    /**
+     * Compute the binomial coefficient C(n, k) as a double. Large arguments
+     * are computed through log-gamma, so the result is approximate.
+     *
+     * @param n Non-negative integer.
+     * @param k Integer in [0, n].
+     * @return C(n, k), +Infinity if it exceeds the double range.
+     */
+    public static double binomialDouble(int n, int k) {
+        checkBinomial(n, k);
+        k = Math.min(k, n - k);
+        if (n <= MAX_LONG_BINOMIAL) {
+            return BINOMIALS[n][k];
+        }
+        return Math.rint(Math.exp(logFactorial(n) - logFactorial(k) - logFactorial(n - k)));
+    }
+
+    /**
+     * Compute ln Γ(x) for x &gt; 0. Small arguments are shifted up with
+     * Γ(x+1) = xΓ(x) until the Stirling series converges to double
+     * precision.
+     *
+     * @param x Positive real number.
+     * @return ln Γ(x)
+     */
+    public static double logGamma(double x) {
+        if (!(x > 0)) {
+            throw new IllegalArgumentException("logGamma is only defined for x > 0");
+        }
+        if (x == Math.rint(x) && x <= MAX_DOUBLE_FACTORIAL + 1) {
+            return LOG_FACTORIALS[(int) x - 1];
+        }
+
+        double shift = 0;
+        if (x < 15) {
+            double p = 1;
+            while (x < 15) {
+                p *= x;
+                x += 1;
+            }
+            shift = Math.log(p);
+        }
+
+        // Stirling series: (x-1/2)ln x - x + ln(2π)/2 + Σ B2k / (2k(2k-1)x^(2k-1))
+        double r = 1 / x, r2 = r * r;
+        double series = r * (1.0 / 12 - r2 * (1.0 / 360 - r2 * (1.0 / 1260 - r2 * (1.0 / 1680 - r2 / 1188))));
+        return (x - 0.5) * Math.log(x) - x + HALF_LOG_2PI + series - shift;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private static void checkNonNegative(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be non-negative");
+        }
+    }
+
+    private static void checkBinomial(int n, int k) {
+        checkNonNegative(n);
+        if (k < 0 || k > n) {
+            throw new IllegalArgumentException("k must be in [0, n]");
+        }
+    }
+
+    /**
+     * Factorial and inverse factorial tables modulo a prime p, for O(1)
+     * binomial coefficients mod p. Instances are immutable and can be shared
+     * between threads.
+     */
+    public static final class ModularTable {
+        private final long p;
+        private final int maxN;
+        private final long[] fact;
+        private final long[] invFact;
+
+        /**
+         * Builds the tables for 0..min(maxN, p-1) in O(maxN).
+         *
+         * @param maxN  Largest n the tables should cover.
+         * @param prime A prime below 2^31.
+         */
+        public ModularTable(int maxN, int prime) {
+            checkNonNegative(maxN);
+            if (prime < 2) {
+                throw new IllegalArgumentException("modulus must be a prime");
+            }
+
+            this.p = prime;
+            this.maxN = maxN;
+            int size = (int) Math.min(maxN, p - 1) + 1;
+            fact = new long[size];
+            invFact = new long[size];
+
+            fact[0] = 1;
+            for (int i = 1; i < size; i++) {
+                fact[i] = fact[i - 1] * i % p;
+            }
+
+            // (n!)^-1 by Fermat's little theorem, then walk down:
+            // ((i-1)!)^-1 = (i!)^-1 * i
+            invFact[size - 1] = pow(fact[size - 1], p - 2);
+            for (int i = size - 1; i > 0; i--) {
+                invFact[i - 1] = invFact[i] * i % p;
+            }
+        }
+
+        /**
+         * @param n Integer in [0, maxN], or any n &gt;= p.
+         * @return n! mod p, which is 0 for n &gt;= p.
+         */
+        public long factorial(int n) {
+            if (n >= p) {
+                return 0;
+            }
+            if (n < 0 || n > maxN) {
+                throw new IllegalArgumentException("n must be in [0, " + maxN + "] or at least p");
+            }
+            return fact[n];
+        }
+
+        /**
+         * @param n Integer in [0, min(maxN, p-1)].
+         * @return (n!)^-1 mod p
+         */
+        public long inverseFactorial(int n) {
+            if (n < 0 || n >= invFact.length) {
+                throw new IllegalArgumentException("n must be in [0, " + (invFact.length - 1) + "]");
+            }
+            return invFact[n];
+        }
+
+        /**
+         * Compute C(n, k) mod p. Arguments beyond the table are reduced with
+         * Lucas' theorem.
+         *
+         * @param n Non-negative integer.
+         * @param k Integer in [0, n].
+         * @return C(n, k) mod p
+         */
+        public long binomial(long n, long k) {
+            if (k < 0 || k > n) {
+                return 0;
+            }
+            if (n < fact.length) {
+                return fact[(int) n] * invFact[(int) k] % p * invFact[(int) (n - k)] % p;
+            }
+            if (fact.length < p) {
+                throw new IllegalArgumentException("n exceeds the table size");
+            }
+
+            long result = 1;
+            while (n > 0 && result != 0) {
+                result = result * binomial(n % p, k % p) % p;
+                n /= p;
+                k /= p;
+            }
+            return result;
+        }
+
+        /**
+         * @return The prime modulus.
+         */
+        public long modulus() {
+            return p;
+        }
+
+        private long pow(long base, long exp) {
+            long result = 1;
+            base %= p;
+            while (exp > 0) {
+                if ((exp & 1) == 1) {
+                    result = result * base % p;
+                }
+                base = base * base % p;
+                exp >>= 1;
+            }
+            return result;
+        }
+    }
+}
@@ -480,6 +480,42 @@ public class Complex {
         return new Polar(r, theta);
     }
 
+    /**
+     * Copies complex numbers into split real and imaginary arrays, the
+     * layout used by FFT and FIRFilter.
+     *
+     * @param z  The numbers.
+     * @param re Destination for the real parts, at least z.length long.
+     * @param im Destination for the imaginary parts, at least z.length long.
+     */
+    public static void toArrays(Complex[] z, double[] re, double[] im) {
+        if (re.length < z.length || im.length < z.length) {
+            throw new IllegalArgumentException("arrays are shorter than z");
+        }
+        for (int i = 0; i < z.length; i++) {
+            re[i] = z[i].re;
+            im[i] = z[i].im;
+        }
+    }
+
+    /**
+     * Complex numbers from split real and imaginary arrays.
+     *
+     * @param re Real parts.
+     * @param im Imaginary parts, same length as re.
+     * @return The numbers re[i] + im[i] i.
+     */
+    public static Complex[] fromArrays(double[] re, double[] im) {
+        if (re.length != im.length) {
+            throw new IllegalArgumentException("re and im must have the same length");
+        }
+        Complex[] z = new Complex[re.length];
+        for (int i = 0; i < z.length; i++) {
+            z[i] = new Complex(re[i], im[i]);
+        }
+        return z;
+    }
+
     /**
      * Sample main function for testing
      * Run it your self to confirm.
@@ -0,0 +1,240 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Convex hull of large point clouds by Andrew's monotone chain.
+ *
+ * Before sorting, the Akl-Toussaint heuristic drops every point strictly
+ * inside the octagon spanned by the extreme points in the eight compass
+ * directions (min/max of x, y, x + y and x - y); for typical clouds this
+ * removes almost all of them. The extremes and the filter run in parallel
+ * over fixed blocks, the survivors are sorted with a parallel merge sort,
+ * and the two chains are built in O(h) stack passes.
+ *
+ * Hulls are counter-clockwise, start at the point with the smallest x (then
+ * smallest y) and contain no collinear or repeated vertices.
+ */
+public class ConvexHull {
+    private ConvexHull() {
+    }
+
+    /**
+     * @param x X coordinates.
+     * @param y Y coordinates, same length; NaN is not allowed.
+     * @return Indices of the hull vertices in counter-clockwise order. One
+     *         or two indices for degenerate inputs (a single point or a
+     *         segment).
+     */
+    public static int[] compute(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        int n = x.length;
+        if (n == 0) {
+            return new int[0];
+        }
+
+        int[] candidates = filter(x, y, extremes(x, y));
+        int m = candidates.length;
+        PointOrder.sort(x, y, candidates, m);
+
+        // Lower chain left to right, then upper chain right to left
+        int[] hull = new int[2 * m];
+        int k = 0;
+        for (int i = 0; i < m; i++) {
+            int p = candidates[i];
+            while (k >= 2 && cross(x, y, hull[k - 2], hull[k - 1], p) <= 0) {
+                k--;
+            }
+            hull[k++] = p;
+        }
+        for (int i = m - 2, lower = k + 1; i >= 0; i--) {
+            int p = candidates[i];
+            while (k >= lower && cross(x, y, hull[k - 2], hull[k - 1], p) <= 0) {
+                k--;
+            }
+            hull[k++] = p;
+        }
+
+        // The last vertex repeats the first; all duplicates leave one point
+        int size = Math.max(1, k - 1);
+        if (size == 2 && x[hull[0]] == x[hull[1]] && y[hull[0]] == y[hull[1]]) {
+            size = 1;
+        }
+        int[] result = new int[size];
+        System.arraycopy(hull, 0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * @param points The cloud.
+     * @return The hull vertices, the same Point objects, counter-clockwise.
+     */
+    public static List<Point> of(List<Point> points) {
+        double[] x = new double[points.size()], y = new double[points.size()];
+        List<Point> indexed = new ArrayList<>(points);
+        for (int i = 0; i < x.length; i++) {
+            x[i] = indexed.get(i).x;
+            y[i] = indexed.get(i).y;
+        }
+        List<Point> hull = new ArrayList<>();
+        for (int i : compute(x, y)) {
+            hull.add(indexed.get(i));
+        }
+        return hull;
+    }
+
+    /**
+     * Twice the signed area of triangle (a, b, c), positive when c is left
+     * of a -> b.
+     */
+    static double cross(double[] x, double[] y, int a, int b, int c) {
+        return (x[b] - x[a]) * (y[c] - y[a]) - (y[b] - y[a]) * (x[c] - x[a]);
+    }
+
+    /**
+     * Indices of the points extreme in the directions (1, 0), (1, 1),
+     * (0, 1), (-1, 1), (-1, 0), (-1, -1), (0, -1) and (1, -1), which is
+     * counter-clockwise order around the cloud.
+     */
+    private static int[] extremes(double[] x, double[] y) {
+        int n = x.length;
+        int blocks = (n + Parallel.GRAIN - 1) / Parallel.GRAIN;
+        int[][] partial = new int[blocks][];
+        Parallel.forRange(0, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                int start = b * Parallel.GRAIN;
+                partial[b] = extremes(x, y, start, Math.min(n, start + Parallel.GRAIN));
+            }
+        });
+        int[] best = partial[0];
+        for (int b = 1; b < blocks; b++) {
+            for (int d = 0; d < 8; d++) {
+                if (better(x, y, partial[b][d], best[d], d)) {
+                    best[d] = partial[b][d];
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int[] extremes(double[] x, double[] y, int from, int to) {
+        int[] best = new int[8];
+        for (int d = 0; d < 8; d++) {
+            best[d] = from;
+        }
+        for (int i = from; i < to; i++) {
+            if (Double.isNaN(x[i]) || Double.isNaN(y[i])) {
+                throw new IllegalArgumentException("coordinates must not be NaN");
+            }
+            for (int d = 0; d < 8; d++) {
+                if (better(x, y, i, best[d], d)) {
+                    best[d] = i;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Whether point i is further than j in a direction; ties go to the point
+     * further in the next direction, which keeps the extremes in convex
+     * counter-clockwise order.
+     */
+    private static boolean better(double[] x, double[] y, int i, int j, int direction) {
+        double si = score(x, y, i, direction), sj = score(x, y, j, direction);
+        return si > sj || (si == sj && score(x, y, i, (direction + 1) % 8) > score(x, y, j, (direction + 1) % 8));
+    }
+
+    private static double score(double[] x, double[] y, int i, int direction) {
+        switch (direction) {
+        case 0:
+            return x[i];
+        case 1:
+            return x[i] + y[i];
+        case 2:
+            return y[i];
+        case 3:
+            return y[i] - x[i];
+        case 4:
+            return -x[i];
+        case 5:
+            return -x[i] - y[i];
+        case 6:
+            return -y[i];
+        default:
+            return x[i] - y[i];
+        }
+    }
+
+    /**
+     * Akl-Toussaint: indices of the points not strictly inside the polygon
+     * of the extreme points, in index order.
+     */
+    private static int[] filter(double[] x, double[] y, int[] extremes) {
+        // Distinct polygon vertices, counter-clockwise
+        int[] polygon = new int[8];
+        int vertices = 0;
+        for (int e : extremes) {
+            int last = vertices == 0 ? -1 : polygon[vertices - 1];
+            if (last < 0 || x[e] != x[last] || y[e] != y[last]) {
+                polygon[vertices++] = e;
+            }
+        }
+        while (vertices > 1 && x[polygon[vertices - 1]] == x[polygon[0]]
+                && y[polygon[vertices - 1]] == y[polygon[0]]) {
+            vertices--;
+        }
+
+        int n = x.length;
+        if (vertices < 3) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        // Count survivors per block, then write them at the block offsets
+        int count = vertices;
+        int blocks = (n + Parallel.GRAIN - 1) / Parallel.GRAIN;
+        int[] offsets = new int[blocks + 1];
+        Parallel.forRange(0, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                int kept = 0;
+                for (int i = b * Parallel.GRAIN, end = Math.min(n, i + Parallel.GRAIN); i < end; i++) {
+                    if (!inside(x, y, polygon, count, i)) {
+                        kept++;
+                    }
+                }
+                offsets[b + 1] = kept;
+            }
+        });
+        for (int b = 0; b < blocks; b++) {
+            offsets[b + 1] += offsets[b];
+        }
+        int[] kept = new int[offsets[blocks]];
+        Parallel.forRange(0, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                int k = offsets[b];
+                for (int i = b * Parallel.GRAIN, end = Math.min(n, i + Parallel.GRAIN); i < end; i++) {
+                    if (!inside(x, y, polygon, count, i)) {
+                        kept[k++] = i;
+                    }
+                }
+            }
+        });
+        return kept;
+    }
+
+    private static boolean inside(double[] x, double[] y, int[] polygon, int vertices, int p) {
+        for (int v = 0; v < vertices; v++) {
+            if (cross(x, y, polygon[v], polygon[(v + 1) % vertices], p) <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
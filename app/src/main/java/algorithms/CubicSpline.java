@@ -0,0 +1,373 @@
+package algorithms;
+
+import java.util.List;
+
+/**
+ * Piecewise cubic interpolation of a series of (x, y) points.
+ *
+ * On each interval [xi, xi+1] the spline is stored as
+ * s(x) = ai + bi t + ci t² + di t³ with t = x - xi, so natural, clamped and
+ * monotone (Fritsch–Carlson) splines share the same evaluation code.
+ * Natural and clamped splines are built with an O(n) tridiagonal (Thomas)
+ * solve for the second derivatives.
+ *
+ * Instances are immutable and safe to query from many threads. Queries do
+ * not allocate. Outside [x0, xn] the end polynomials are extrapolated.
+ */
+public class CubicSpline {
+    /** Linear steps tried by the bulk cursor before falling back to bisection. */
+    private static final int CURSOR_STEPS = 8;
+
+    private final double[] x;
+    private final double[] a, b, c, d;
+
+    /** cum[i] is the integral of the spline from x0 to xi. */
+    private final double[] cum;
+
+    private CubicSpline(double[] x, double[] a, double[] b, double[] c, double[] d) {
+        this.x = x;
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+
+        int n = x.length;
+        cum = new double[n];
+        for (int i = 0; i < n - 1; i++) {
+            cum[i + 1] = cum[i] + antiderivative(i, x[i + 1] - x[i]);
+        }
+    }
+
+    /**
+     * Natural cubic spline: s''(x0) = s''(xn) = 0.
+     *
+     * @param x Strictly increasing x values (at least 2).
+     * @param y y values.
+     * @return The spline.
+     */
+    public static CubicSpline natural(double[] x, double[] y) {
+        return fromSecondDerivatives(x, y, false, 0, 0);
+    }
+
+    /**
+     * Natural cubic spline through a list of points sorted by x.
+     *
+     * @param points List of (x,y) points.
+     * @return The spline.
+     */
+    public static CubicSpline natural(List<Point> points) {
+        return natural(Point.xs(points), Point.ys(points));
+    }
+
+    /**
+     * Clamped cubic spline with prescribed end slopes.
+     *
+     * @param x      Strictly increasing x values (at least 2).
+     * @param y      y values.
+     * @param slope0 s'(x0)
+     * @param slopeN s'(xn)
+     * @return The spline.
+     */
+    public static CubicSpline clamped(double[] x, double[] y, double slope0, double slopeN) {
+        return fromSecondDerivatives(x, y, true, slope0, slopeN);
+    }
+
+    /**
+     * Clamped cubic spline through a list of points sorted by x.
+     *
+     * @param points List of (x,y) points.
+     * @param slope0 s'(x0)
+     * @param slopeN s'(xn)
+     * @return The spline.
+     */
+    public static CubicSpline clamped(List<Point> points, double slope0, double slopeN) {
+        return clamped(Point.xs(points), Point.ys(points), slope0, slopeN);
+    }
+
+    /**
+     * Monotone cubic Hermite spline (Fritsch–Carlson). The spline does not
+     * overshoot the data: it is monotone wherever the data are, which keeps
+     * interpolated concentrations non-negative.
+     *
+     * @param x Strictly increasing x values (at least 2).
+     * @param y y values.
+     * @return The spline.
+     */
+    public static CubicSpline monotone(double[] x, double[] y) {
+        int n = checkNodes(x, y);
+        double[] delta = new double[n - 1];
+        double[] m = new double[n];
+
+        for (int i = 0; i < n - 1; i++) {
+            delta[i] = (y[i + 1] - y[i]) / (x[i + 1] - x[i]);
+        }
+
+        m[0] = delta[0];
+        m[n - 1] = delta[n - 2];
+        for (int i = 1; i < n - 1; i++) {
+            m[i] = delta[i - 1] * delta[i] <= 0 ? 0 : (delta[i - 1] + delta[i]) / 2;
+        }
+
+        for (int i = 0; i < n - 1; i++) {
+            if (delta[i] == 0) {
+                m[i] = 0;
+                m[i + 1] = 0;
+                continue;
+            }
+
+            double alpha = m[i] / delta[i];
+            double beta = m[i + 1] / delta[i];
+            double r = alpha * alpha + beta * beta;
+            if (r > 9) {
+                double tau = 3 / Math.sqrt(r);
+                m[i] = tau * alpha * delta[i];
+                m[i + 1] = tau * beta * delta[i];
+            }
+        }
+
+        double[] a = y.clone();
+        double[] b = new double[n - 1];
+        double[] c = new double[n - 1];
+        double[] d = new double[n - 1];
+
+        for (int i = 0; i < n - 1; i++) {
+            double h = x[i + 1] - x[i];
+            b[i] = m[i];
+            c[i] = (3 * delta[i] - 2 * m[i] - m[i + 1]) / h;
+            d[i] = (m[i] + m[i + 1] - 2 * delta[i]) / (h * h);
+        }
+
+        return new CubicSpline(x.clone(), a, b, c, d);
+    }
+
+    /**
+     * Monotone cubic spline through a list of points sorted by x.
+     *
+     * @param points List of (x,y) points.
+     * @return The spline.
+     */
+    public static CubicSpline monotone(List<Point> points) {
+        return monotone(Point.xs(points), Point.ys(points));
+    }
+
+    private static CubicSpline fromSecondDerivatives(double[] x, double[] y, boolean clamped,
+            double slope0, double slopeN) {
+        int n = checkNodes(x, y);
+
+        // Tridiagonal system for the second derivatives M:
+        // h(i-1)M(i-1) + 2(h(i-1)+h(i))M(i) + h(i)M(i+1) = 6(δi - δ(i-1))
+        double[] sub = new double[n];
+        double[] diag = new double[n];
+        double[] sup = new double[n];
+        double[] rhs = new double[n];
+
+        for (int i = 1; i < n - 1; i++) {
+            double h0 = x[i] - x[i - 1], h1 = x[i + 1] - x[i];
+            sub[i] = h0;
+            diag[i] = 2 * (h0 + h1);
+            sup[i] = h1;
+            rhs[i] = 6 * ((y[i + 1] - y[i]) / h1 - (y[i] - y[i - 1]) / h0);
+        }
+
+        if (clamped) {
+            double h0 = x[1] - x[0], hn = x[n - 1] - x[n - 2];
+            diag[0] = 2 * h0;
+            sup[0] = h0;
+            rhs[0] = 6 * ((y[1] - y[0]) / h0 - slope0);
+            sub[n - 1] = hn;
+            diag[n - 1] = 2 * hn;
+            rhs[n - 1] = 6 * (slopeN - (y[n - 1] - y[n - 2]) / hn);
+        } else {
+            diag[0] = 1;
+            diag[n - 1] = 1;
+        }
+
+        double[] m = solveTridiagonal(sub, diag, sup, rhs);
+
+        double[] a = y.clone();
+        double[] b = new double[n - 1];
+        double[] c = new double[n - 1];
+        double[] d = new double[n - 1];
+
+        for (int i = 0; i < n - 1; i++) {
+            double h = x[i + 1] - x[i];
+            b[i] = (y[i + 1] - y[i]) / h - h * (2 * m[i] + m[i + 1]) / 6;
+            c[i] = m[i] / 2;
+            d[i] = (m[i + 1] - m[i]) / (6 * h);
+        }
+
+        return new CubicSpline(x.clone(), a, b, c, d);
+    }
+
+    /**
+     * Thomas algorithm. Solves the tridiagonal system in O(n); sup and rhs
+     * are overwritten.
+     */
+    private static double[] solveTridiagonal(double[] sub, double[] diag, double[] sup, double[] rhs) {
+        int n = diag.length;
+
+        sup[0] /= diag[0];
+        rhs[0] /= diag[0];
+        for (int i = 1; i < n; i++) {
+            double denom = diag[i] - sub[i] * sup[i - 1];
+            sup[i] /= denom;
+            rhs[i] = (rhs[i] - sub[i] * rhs[i - 1]) / denom;
+        }
+
+        for (int i = n - 2; i >= 0; i--) {
+            rhs[i] -= sup[i] * rhs[i + 1];
+        }
+        return rhs;
+    }
+
+    /**
+     * Evaluates the spline at value.
+     *
+     * @param value double
+     * @return s(value)
+     */
+    public double evaluate(double value) {
+        int i = interval(value);
+        double t = value - x[i];
+        return a[i] + t * (b[i] + t * (c[i] + t * d[i]));
+    }
+
+    /**
+     * Evaluates the first derivative of the spline at value.
+     *
+     * @param value double
+     * @return s'(value)
+     */
+    public double derivative(double value) {
+        int i = interval(value);
+        double t = value - x[i];
+        return b[i] + t * (2 * c[i] + t * 3 * d[i]);
+    }
+
+    /**
+     * Evaluates the second derivative of the spline at value.
+     *
+     * @param value double
+     * @return s''(value)
+     */
+    public double secondDerivative(double value) {
+        int i = interval(value);
+        double t = value - x[i];
+        return 2 * c[i] + 6 * d[i] * t;
+    }
+
+    /**
+     * Integrates the spline exactly between from and to in O(log n), using
+     * precomputed cumulative areas at the nodes.
+     *
+     * @param from Lower limit.
+     * @param to   Upper limit.
+     * @return The integral of s over [from, to].
+     */
+    public double integral(double from, double to) {
+        return primitive(to) - primitive(from);
+    }
+
+    /** Integral of the spline from x0 to value. */
+    private double primitive(double value) {
+        int i = interval(value);
+        return cum[i] + antiderivative(i, value - x[i]);
+    }
+
+    private double antiderivative(int i, double t) {
+        return t * (a[i] + t * (b[i] / 2 + t * (c[i] / 3 + t * d[i] / 4)));
+    }
+
+    /**
+     * Evaluates the spline at every value in xs. A moving cursor is used, so
+     * sorted (or nearly sorted) queries cost O(n + m) overall; out of order
+     * queries fall back to bisection.
+     *
+     * @param xs  Query points.
+     * @param out Destination, at least xs.length long.
+     */
+    public void evaluate(double[] xs, double[] out) {
+        evaluate(xs, out, 0, xs.length);
+    }
+
+    /**
+     * Evaluates the spline at every value in xs, splitting large inputs
+     * across the common fork/join pool. Each worker runs its own cursor over
+     * a contiguous block of queries.
+     *
+     * @param xs  Query points.
+     * @param out Destination, at least xs.length long.
+     */
+    public void parallelEvaluate(double[] xs, double[] out) {
+        Parallel.forRange(0, xs.length, (from, to) -> evaluate(xs, out, from, to));
+    }
+
+    private void evaluate(double[] xs, double[] out, int from, int to) {
+        int last = x.length - 2;
+        int i = 0;
+
+        for (int k = from; k < to; k++) {
+            double v = xs[k];
+
+            if (v < x[i]) {
+                i = interval(v);
+            } else {
+                int steps = 0;
+                while (i < last && v >= x[i + 1] && steps < CURSOR_STEPS) {
+                    i++;
+                    steps++;
+                }
+                if (i < last && v >= x[i + 1]) {
+                    i = search(v, i + 1, last);
+                }
+            }
+
+            double t = v - x[i];
+            out[k] = a[i] + t * (b[i] + t * (c[i] + t * d[i]));
+        }
+    }
+
+    /**
+     * @return Index i of the interval [xi, xi+1] holding value, clamped to
+     *         the first and last interval.
+     */
+    private int interval(double value) {
+        return search(value, 0, x.length - 2);
+    }
+
+    /** Largest i in [lo, hi] with x[i] <= value, or lo. */
+    private int search(double value, int lo, int hi) {
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (x[mid] <= value) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return The number of nodes.
+     */
+    public int size() {
+        return x.length;
+    }
+
+    private static int checkNodes(double[] x, double[] y) {
+        int n = x.length;
+        if (n != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        if (n < 2) {
+            throw new IllegalArgumentException("you must provide atleast 2 points");
+        }
+        for (int i = 1; i < n; i++) {
+            if (!(x[i] > x[i - 1])) {
+                throw new IllegalArgumentException("x values must be strictly increasing");
+            }
+        }
+        return n;
+    }
+}
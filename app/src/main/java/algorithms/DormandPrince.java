@@ -0,0 +1,216 @@
+package algorithms;
+
+/**
+ * Dormand–Prince RK5(4) integrator with adaptive step size control for
+ * systems of ordinary differential equations y' = f(t, y).
+ *
+ * The embedded fourth order solution gives a local error estimate each step;
+ * steps are rejected and shrunk until the scaled RMS error is below one,
+ * using the tolerance atol + rtol * |y| per component. The last stage is
+ * reused as the first stage of the next step (FSAL).
+ *
+ * All work arrays are allocated once for the given dimension, so
+ * integration does not allocate. An instance is not thread-safe; use one per
+ * thread.
+ */
+public class DormandPrince {
+    /**
+     * Right hand side of y' = f(t, y).
+     */
+    public interface OdeSystem {
+        /**
+         * @param t    Time.
+         * @param y    State (must not be modified).
+         * @param dydt Destination for the derivatives.
+         */
+        void derivatives(double t, double[] y, double[] dydt);
+    }
+
+    private static final double C2 = 1.0 / 5, C3 = 3.0 / 10, C4 = 4.0 / 5, C5 = 8.0 / 9;
+    private static final double A21 = 1.0 / 5;
+    private static final double A31 = 3.0 / 40, A32 = 9.0 / 40;
+    private static final double A41 = 44.0 / 45, A42 = -56.0 / 15, A43 = 32.0 / 9;
+    private static final double A51 = 19372.0 / 6561, A52 = -25360.0 / 2187, A53 = 64448.0 / 6561,
+            A54 = -212.0 / 729;
+    private static final double A61 = 9017.0 / 3168, A62 = -355.0 / 33, A63 = 46732.0 / 5247, A64 = 49.0 / 176,
+            A65 = -5103.0 / 18656;
+    private static final double A71 = 35.0 / 384, A73 = 500.0 / 1113, A74 = 125.0 / 192, A75 = -2187.0 / 6784,
+            A76 = 11.0 / 84;
+    // Difference between the 5th and 4th order weights
+    private static final double E1 = 71.0 / 57600, E3 = -71.0 / 16695, E4 = 71.0 / 1920, E5 = -17253.0 / 339200,
+            E6 = 22.0 / 525, E7 = -1.0 / 40;
+
+    private static final int MAX_STEPS = 1_000_000;
+
+    private final int dim;
+    private final double atol, rtol;
+    private final double[] k1, k2, k3, k4, k5, k6, k7, tmp, yNew;
+
+    private double h;
+    private boolean fsal;
+    private long steps, rejected;
+
+    /**
+     * @param dimension Number of equations.
+     * @param atol      Absolute tolerance.
+     * @param rtol      Relative tolerance.
+     */
+    public DormandPrince(int dimension, double atol, double rtol) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("dimension must be positive");
+        }
+        if (!(atol > 0) || !(rtol >= 0)) {
+            throw new IllegalArgumentException("atol must be positive and rtol non-negative");
+        }
+        this.dim = dimension;
+        this.atol = atol;
+        this.rtol = rtol;
+        k1 = new double[dim];
+        k2 = new double[dim];
+        k3 = new double[dim];
+        k4 = new double[dim];
+        k5 = new double[dim];
+        k6 = new double[dim];
+        k7 = new double[dim];
+        tmp = new double[dim];
+        yNew = new double[dim];
+    }
+
+    /**
+     * Forgets the current step size and cached derivative. Call this after
+     * changing the state or the system discontinuously (e.g. after a dose).
+     */
+    public void reset() {
+        h = 0;
+        fsal = false;
+    }
+
+    /**
+     * Integrates y from t0 to t1 in place. The step size carries over
+     * between calls, so sampling a trajectory at many output times costs
+     * little more than integrating it once.
+     *
+     * @param f  The system.
+     * @param t0 Start time.
+     * @param y  State at t0, overwritten with the state at t1.
+     * @param t1 End time (t1 &gt;= t0).
+     */
+    public void integrate(OdeSystem f, double t0, double[] y, double t1) {
+        if (y.length != dim) {
+            throw new IllegalArgumentException("state must have length " + dim);
+        }
+        if (t1 < t0) {
+            throw new IllegalArgumentException("t1 must not be before t0");
+        }
+        if (t1 == t0) {
+            return;
+        }
+
+        double t = t0;
+        if (!fsal) {
+            f.derivatives(t, y, k1);
+            fsal = true;
+        }
+        if (h <= 0) {
+            h = initialStep(t1 - t0, y);
+        }
+
+        int n = 0;
+        while (t < t1) {
+            if (++n > MAX_STEPS) {
+                throw new ArithmeticException("too many steps; the system may be too stiff");
+            }
+
+            boolean last = t + h >= t1;
+            double step = last ? t1 - t : h;
+
+            double err = step(f, t, y, step);
+            if (err <= 1) {
+                t = last ? t1 : t + step;
+                System.arraycopy(yNew, 0, y, 0, dim);
+                System.arraycopy(k7, 0, k1, 0, dim);
+                steps++;
+            } else {
+                rejected++;
+            }
+
+            // Standard controller: safety 0.9, growth limited to [0.2, 5].
+            double factor = err == 0 ? 5 : Math.min(5, Math.max(0.2, 0.9 * Math.pow(err, -0.2)));
+            if (err <= 1 && last) {
+                // Keep the unconstrained size for the next call.
+                h = Math.max(h, step * factor);
+            } else {
+                h = step * factor;
+            }
+
+            if (t + h == t) {
+                throw new ArithmeticException("step size underflow at t=" + t);
+            }
+        }
+    }
+
+    /** One trial step; leaves the result in yNew, f(yNew) in k7. */
+    private double step(OdeSystem f, double t, double[] y, double h) {
+        for (int i = 0; i < dim; i++)
+            tmp[i] = y[i] + h * A21 * k1[i];
+        f.derivatives(t + C2 * h, tmp, k2);
+
+        for (int i = 0; i < dim; i++)
+            tmp[i] = y[i] + h * (A31 * k1[i] + A32 * k2[i]);
+        f.derivatives(t + C3 * h, tmp, k3);
+
+        for (int i = 0; i < dim; i++)
+            tmp[i] = y[i] + h * (A41 * k1[i] + A42 * k2[i] + A43 * k3[i]);
+        f.derivatives(t + C4 * h, tmp, k4);
+
+        for (int i = 0; i < dim; i++)
+            tmp[i] = y[i] + h * (A51 * k1[i] + A52 * k2[i] + A53 * k3[i] + A54 * k4[i]);
+        f.derivatives(t + C5 * h, tmp, k5);
+
+        for (int i = 0; i < dim; i++)
+            tmp[i] = y[i] + h * (A61 * k1[i] + A62 * k2[i] + A63 * k3[i] + A64 * k4[i] + A65 * k5[i]);
+        f.derivatives(t + h, tmp, k6);
+
+        for (int i = 0; i < dim; i++)
+            yNew[i] = y[i] + h * (A71 * k1[i] + A73 * k3[i] + A74 * k4[i] + A75 * k5[i] + A76 * k6[i]);
+        f.derivatives(t + h, yNew, k7);
+
+        double sum = 0;
+        for (int i = 0; i < dim; i++) {
+            double e = h * (E1 * k1[i] + E3 * k3[i] + E4 * k4[i] + E5 * k5[i] + E6 * k6[i] + E7 * k7[i]);
+            double scale = atol + rtol * Math.max(Math.abs(y[i]), Math.abs(yNew[i]));
+            sum += (e / scale) * (e / scale);
+        }
+        return Math.sqrt(sum / dim);
+    }
+
+    /** A first guess from the size of y and y'. */
+    private double initialStep(double span, double[] y) {
+        double y0 = 0, d0 = 0;
+        for (int i = 0; i < dim; i++) {
+            double scale = atol + rtol * Math.abs(y[i]);
+            y0 = Math.max(y0, Math.abs(y[i]) / scale);
+            d0 = Math.max(d0, Math.abs(k1[i]) / scale);
+        }
+        double guess = (y0 < 1e-5 || d0 < 1e-5) ? 1e-6 * span : 0.01 * y0 / d0;
+        return Math.min(span, Math.max(guess, 1e-12 * span));
+    }
+
+    /**
+     * @return Number of accepted steps since construction.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return Number of rejected steps since construction.
+     */
+    public long getRejectedSteps() {
+        return rejected;
+    }
+
+    public int getDimension() {
+        return dim;
+    }
+}
@@ -0,0 +1,172 @@
+package algorithms;
+
+import java.util.Arrays;
+
+import algorithms.PKModel.Dose;
+
+/**
+ * Concentration curves of long dosing regimens by superposition.
+ *
+ * For a linear model the curve of a regimen is the dosing schedule
+ * convolved with the unit impulse response, both sampled on the same
+ * uniform grid t = k dt. Schedules with few doses are summed directly in
+ * O(doses * samples); long schedules use FFT convolution in
+ * O(samples log samples). The result is a {@link PointSeries} on the grid,
+ * which Medical.AUC accepts directly.
+ *
+ * All doses share one route (e.g. repeated oral doses or repeated
+ * infusions of the same duration); only their times and amounts differ.
+ */
+public class DosingRegimen {
+    private final double dt;
+    private final int samples;
+    // Amount given at each grid index
+    private final double[] schedule;
+
+    /**
+     * @param dt      Sampling interval.
+     * @param samples Number of samples, covering [0, (samples - 1) dt].
+     */
+    public DosingRegimen(double dt, int samples) {
+        if (!(dt > 0) || samples <= 0) {
+            throw new IllegalArgumentException("dt and samples must be positive");
+        }
+        this.dt = dt;
+        this.samples = samples;
+        this.schedule = new double[samples];
+    }
+
+    /**
+     * Adds a dose. Doses after the last sample have no effect.
+     *
+     * @param time   Dose time, a multiple of dt.
+     * @param amount Amount given.
+     * @return this
+     */
+    public DosingRegimen addDose(double time, double amount) {
+        long k = Math.round(time / dt);
+        if (k < 0 || Math.abs(time - k * dt) > 1e-9 * Math.max(dt, Math.abs(time))) {
+            throw new IllegalArgumentException("dose times must lie on the sampling grid");
+        }
+        if (k < samples) {
+            schedule[(int) k] += amount;
+        }
+        return this;
+    }
+
+    /**
+     * Adds count doses of amount every interval from start.
+     *
+     * @return this
+     */
+    public DosingRegimen addRepeated(double start, double amount, double interval, int count) {
+        for (int i = 0; i < count; i++) {
+            addDose(start + i * interval, amount);
+        }
+        return this;
+    }
+
+    /**
+     * Simulates the regimen for a linear PK model.
+     *
+     * @param model    A model with a closed form.
+     * @param template Dose giving the route (and infusion duration).
+     * @return Concentrations on the grid.
+     */
+    public PointSeries simulate(PKModel model, Dose template) {
+        return simulate(model.unitResponse(template, dt, samples));
+    }
+
+    /**
+     * Simulates the regimen for an arbitrary unit impulse response.
+     *
+     * @param unitResponse Response to one unit dosed at time 0, sampled at
+     *                     k dt. Samples beyond its length are taken as 0.
+     * @return Concentrations on the grid.
+     */
+    public PointSeries simulate(double[] unitResponse) {
+        int m = Math.min(samples, unitResponse.length);
+        double[] c;
+        if (useFFT(getDoses(), samples, m)) {
+            c = Arrays.copyOf(FFT.convolve(schedule, Arrays.copyOf(unitResponse, m)), samples);
+        } else {
+            c = new double[samples];
+            for (int j = 0; j < samples; j++) {
+                double amount = schedule[j];
+                if (amount != 0) {
+                    for (int k = j, end = Math.min(samples, j + m); k < end; k++) {
+                        c[k] += amount * unitResponse[k - j];
+                    }
+                }
+            }
+        }
+
+        double[] t = new double[samples];
+        for (int k = 0; k < samples; k++) {
+            t[k] = k * dt;
+        }
+        return PointSeries.wrap(t, c);
+    }
+
+    /**
+     * Whether FFT convolution is cheaper than direct summation: direct costs
+     * about doses * response multiply-adds, the FFT three transforms of a
+     * padded length L at about 5 L log2 L flops each.
+     */
+    static boolean useFFT(int doses, int samples, int response) {
+        long padded = FFT.nextPowerOfTwo(samples + response - 1);
+        long log = Long.numberOfTrailingZeros(padded);
+        return (long) doses * response > 15 * padded * Math.max(1, log);
+    }
+
+    /**
+     * @return Number of distinct dosing times within the horizon whose total
+     *         amount is non-zero.
+     */
+    public int getDoses() {
+        int doses = 0;
+        for (double amount : schedule) {
+            if (amount != 0) {
+                doses++;
+            }
+        }
+        return doses;
+    }
+
+    /**
+     * Finds when a regularly dosed curve reaches steady state: the first
+     * time from which a full dosing interval repeats the previous interval
+     * to within the relative tolerance.
+     *
+     * @param curve     Uniformly sampled concentrations.
+     * @param interval  Dosing interval, a multiple of the sampling step.
+     * @param tolerance Relative tolerance, e.g. 0.01.
+     * @return The start of the first repeated interval, or NaN if the curve
+     *         never settles.
+     */
+    public static double steadyState(PointSeries curve, double interval, double tolerance) {
+        int n = curve.size();
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double step = curve.x(1) - curve.x(0);
+        int period = (int) Math.round(interval / step);
+        if (period <= 0) {
+            throw new IllegalArgumentException("interval must be at least one sampling step");
+        }
+
+        // Length of the current run of samples matching one period earlier
+        int run = 0;
+        for (int k = period; k < n; k++) {
+            double c = curve.y(k), previous = curve.y(k - period);
+            if (Math.abs(c - previous) <= tolerance * Math.max(Math.abs(c), Math.abs(previous))) {
+                if (++run == period) {
+                    return curve.x(k - period + 1);
+                }
+            } else {
+                run = 0;
+            }
+        }
+        return Double.NaN;
+    }
+}
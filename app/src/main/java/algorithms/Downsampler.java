@@ -0,0 +1,417 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Shape-preserving downsampling of long series for plotting.
+ *
+ * <ul>
+ * <li>Largest-Triangle-Three-Buckets (LTTB) keeps the first and last point
+ * and, from each of threshold - 2 equal buckets, the point forming the
+ * largest triangle with the point kept from the previous bucket and the
+ * average of the next bucket.</li>
+ * <li>Min-max keeps the lowest and highest point of each bucket, so spikes
+ * are never lost.</li>
+ * </ul>
+ *
+ * Both run in linear time over primitive arrays and return the indices of
+ * the kept samples in increasing order. Streaming versions emit points to a
+ * {@link Sink} as buckets complete.
+ */
+public final class Downsampler {
+    /** Buckets per independently processed segment in parallel LTTB. */
+    static final int SEGMENT = 1 << 12;
+
+    private Downsampler() {
+    }
+
+    /**
+     * Receives downsampled points in x order.
+     */
+    public interface Sink {
+        void accept(double x, double y);
+    }
+
+    /**
+     * Sequential LTTB.
+     *
+     * @param x         x values in increasing order.
+     * @param y         y values.
+     * @param threshold Number of points to keep, at least 3.
+     * @return Indices of the kept points.
+     */
+    public static int[] lttb(double[] x, double[] y, int threshold) {
+        return lttb(x, y, threshold, false);
+    }
+
+    /**
+     * LTTB, optionally in parallel.
+     *
+     * The choice in each bucket depends on the choice in the previous one.
+     * In parallel mode the buckets are cut into segments of fixed length
+     * and the first bucket of each segment uses the average of the preceding
+     * bucket in place of the point actually chosen there. Only those first
+     * buckets may differ from the sequential result, and the output does not
+     * depend on the number of threads.
+     *
+     * @param x         x values in increasing order.
+     * @param y         y values.
+     * @param threshold Number of points to keep, at least 3.
+     * @param parallel  Whether to process segments in parallel.
+     * @return Indices of the kept points.
+     */
+    public static int[] lttb(double[] x, double[] y, int threshold, boolean parallel) {
+        checkLengths(x, y);
+        return lttb(x, y, 0, x.length, threshold, parallel);
+    }
+
+    /**
+     * LTTB over a series.
+     *
+     * @param series    Samples sorted by x.
+     * @param threshold Number of points to keep, at least 3.
+     * @param parallel  Whether to process segments in parallel.
+     * @return The kept samples as a new series.
+     */
+    public static PointSeries lttb(PointSeries series, int threshold, boolean parallel) {
+        return select(series, lttb(series.x, series.y, series.offset, series.size, threshold, parallel));
+    }
+
+    private static int[] lttb(double[] x, double[] y, int offset, int n, int threshold, boolean parallel) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("threshold must be at least 3");
+        }
+        if (threshold >= n) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int buckets = threshold - 2;
+        int[] out = new int[threshold];
+        out[0] = 0;
+        out[threshold - 1] = n - 1;
+
+        int segments = (buckets + SEGMENT - 1) / SEGMENT;
+        Parallel.RangeTask task = (from, to) -> {
+            for (int s = from; s < to; s++) {
+                int first = s * SEGMENT, last = Math.min(buckets, first + SEGMENT);
+                double ax, ay;
+                if (s == 0) {
+                    ax = x[offset];
+                    ay = y[offset];
+                } else {
+                    // Stand-in for the point chosen in the preceding bucket
+                    int start = bucketStart(first - 1, n, buckets), end = bucketStart(first, n, buckets);
+                    double[] avg = average(x, y, offset, start, end);
+                    ax = avg[0];
+                    ay = avg[1];
+                }
+
+                for (int b = first; b < last; b++) {
+                    int start = bucketStart(b, n, buckets), end = bucketStart(b + 1, n, buckets);
+                    // The last bucket looks ahead to the final point alone
+                    int nextEnd = b == buckets - 1 ? n : bucketStart(b + 2, n, buckets);
+                    double[] next = average(x, y, offset, end, nextEnd);
+
+                    int best = largestTriangle(x, y, offset, start, end, ax, ay, next[0], next[1]);
+                    out[b + 1] = best;
+                    ax = x[offset + best];
+                    ay = y[offset + best];
+                }
+            }
+        };
+
+        if (parallel) {
+            Parallel.forRange(0, segments, 1, task);
+        } else {
+            task.run(0, segments);
+        }
+        return out;
+    }
+
+    /**
+     * First index of bucket b; bucket b covers [bucketStart(b), bucketStart(b + 1))
+     * and the buckets exactly tile [1, n - 1).
+     */
+    private static int bucketStart(int b, int n, int buckets) {
+        return (int) ((long) b * (n - 2) / buckets) + 1;
+    }
+
+    private static double[] average(double[] x, double[] y, int offset, int from, int to) {
+        double sx = 0, sy = 0;
+        for (int i = offset + from; i < offset + to; i++) {
+            sx += x[i];
+            sy += y[i];
+        }
+        int count = to - from;
+        return new double[] { sx / count, sy / count };
+    }
+
+    /** Index in [from, to) forming the largest triangle with a and c. */
+    private static int largestTriangle(double[] x, double[] y, int offset, int from, int to, double ax, double ay,
+            double cx, double cy) {
+        int best = from;
+        double max = -1;
+        for (int i = from; i < to; i++) {
+            // Twice the triangle area; the factor does not change the argmax
+            double area = Math.abs((ax - cx) * (y[offset + i] - ay) - (ax - x[offset + i]) * (cy - ay));
+            if (area > max) {
+                max = area;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Min-max downsampling: the lowest and highest point of each of the
+     * given number of equal buckets, in x order. Buckets are independent,
+     * so long inputs are processed in parallel with exact results.
+     *
+     * @param x       x values in increasing order.
+     * @param y       y values.
+     * @param buckets Number of buckets.
+     * @return Indices of the kept points, at most 2 * buckets.
+     */
+    public static int[] minMax(double[] x, double[] y, int buckets) {
+        checkLengths(x, y);
+        return minMax(y, 0, y.length, buckets);
+    }
+
+    /**
+     * Min-max downsampling of a series.
+     *
+     * @param series  Samples sorted by x.
+     * @param buckets Number of buckets.
+     * @return The kept samples as a new series.
+     */
+    public static PointSeries minMax(PointSeries series, int buckets) {
+        return select(series, minMax(series.y, series.offset, series.size, buckets));
+    }
+
+    private static int[] minMax(double[] y, int offset, int n, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be positive");
+        }
+        buckets = Math.min(buckets, n);
+        if (buckets == 0) {
+            return new int[0];
+        }
+
+        // Two slots per bucket; -1 marks a slot left empty
+        int[] slots = new int[2 * buckets];
+        int b = buckets;
+        Parallel.forRange(0, b, Math.max(1, Parallel.GRAIN / Math.max(1, n / b)), (from, to) -> {
+            for (int k = from; k < to; k++) {
+                int start = (int) ((long) k * n / b), end = (int) ((long) (k + 1) * n / b);
+                int lo = start, hi = start;
+                for (int i = start + 1; i < end; i++) {
+                    double v = y[offset + i];
+                    if (v < y[offset + lo]) {
+                        lo = i;
+                    }
+                    if (v > y[offset + hi]) {
+                        hi = i;
+                    }
+                }
+                slots[2 * k] = Math.min(lo, hi);
+                slots[2 * k + 1] = lo == hi ? -1 : Math.max(lo, hi);
+            }
+        });
+
+        int count = 0;
+        for (int slot : slots) {
+            if (slot >= 0) {
+                slots[count++] = slot;
+            }
+        }
+        return Arrays.copyOf(slots, count);
+    }
+
+    private static PointSeries select(PointSeries series, int[] indices) {
+        PointSeries out = new PointSeries(indices.length);
+        for (int i : indices) {
+            out.add(series.x[series.offset + i], series.y[series.offset + i]);
+        }
+        return out;
+    }
+
+    private static void checkLengths(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+    }
+
+    /**
+     * Streaming min-max over buckets of a fixed number of samples, for series
+     * whose length is not known in advance. Each completed bucket emits its
+     * lowest and highest point; {@link #flush} emits a partial last bucket.
+     */
+    public static class MinMaxStream implements SeriesLoader.ChunkConsumer {
+        private final int bucketSize;
+        private final Sink sink;
+        private int count;
+        private double loX, loY, hiX, hiY;
+        private long loIndex, hiIndex, index;
+
+        /**
+         * @param bucketSize Samples per bucket.
+         * @param sink       Receives the kept points.
+         */
+        public MinMaxStream(int bucketSize, Sink sink) {
+            if (bucketSize <= 0) {
+                throw new IllegalArgumentException("bucket size must be positive");
+            }
+            this.bucketSize = bucketSize;
+            this.sink = sink;
+        }
+
+        public void add(double x, double y) {
+            if (count == 0 || y < loY) {
+                loX = x;
+                loY = y;
+                loIndex = index;
+            }
+            if (count == 0 || y > hiY) {
+                hiX = x;
+                hiY = y;
+                hiIndex = index;
+            }
+            index++;
+            if (++count == bucketSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void accept(double[] x, double[] y, int n) {
+            for (int i = 0; i < n; i++) {
+                add(x[i], y[i]);
+            }
+        }
+
+        /**
+         * Emits the current partial bucket, if any.
+         */
+        public void flush() {
+            if (count == 0) {
+                return;
+            }
+            if (loIndex == hiIndex) {
+                sink.accept(loX, loY);
+            } else if (loIndex < hiIndex) {
+                sink.accept(loX, loY);
+                sink.accept(hiX, hiY);
+            } else {
+                sink.accept(hiX, hiY);
+                sink.accept(loX, loY);
+            }
+            count = 0;
+        }
+    }
+
+    /**
+     * Streaming LTTB over buckets of a fixed number of samples. A bucket's
+     * choice needs the average of the following bucket, so output lags input
+     * by one bucket. The first point is emitted immediately and the last
+     * one by {@link #flush}.
+     */
+    public static class LttbStream implements SeriesLoader.ChunkConsumer {
+        private final int bucketSize;
+        private final Sink sink;
+        private final double[] curX, curY, nextX, nextY;
+        private int curN, nextN;
+        private boolean started;
+        private double ax, ay;
+
+        /**
+         * @param bucketSize Samples per bucket.
+         * @param sink       Receives the kept points.
+         */
+        public LttbStream(int bucketSize, Sink sink) {
+            if (bucketSize <= 0) {
+                throw new IllegalArgumentException("bucket size must be positive");
+            }
+            this.bucketSize = bucketSize;
+            this.sink = sink;
+            curX = new double[bucketSize];
+            curY = new double[bucketSize];
+            nextX = new double[bucketSize];
+            nextY = new double[bucketSize];
+        }
+
+        public void add(double x, double y) {
+            if (!started) {
+                started = true;
+                ax = x;
+                ay = y;
+                sink.accept(x, y);
+                return;
+            }
+            if (curN < bucketSize) {
+                curX[curN] = x;
+                curY[curN++] = y;
+                return;
+            }
+            nextX[nextN] = x;
+            nextY[nextN++] = y;
+            if (nextN == bucketSize) {
+                emit(curX, curY, curN, mean(nextX, nextN), mean(nextY, nextN));
+                System.arraycopy(nextX, 0, curX, 0, nextN);
+                System.arraycopy(nextY, 0, curY, 0, nextN);
+                curN = nextN;
+                nextN = 0;
+            }
+        }
+
+        @Override
+        public void accept(double[] x, double[] y, int n) {
+            for (int i = 0; i < n; i++) {
+                add(x[i], y[i]);
+            }
+        }
+
+        /**
+         * Emits the pending buckets and the last point, then starts over.
+         */
+        public void flush() {
+            if (curN > 0) {
+                double[] tailX = curX, tailY = curY;
+                int tailN = curN;
+                if (nextN > 0) {
+                    emit(curX, curY, curN, mean(nextX, nextN), mean(nextY, nextN));
+                    tailX = nextX;
+                    tailY = nextY;
+                    tailN = nextN;
+                }
+                // The last sample is kept; choose from the rest of its bucket
+                double lastX = tailX[tailN - 1], lastY = tailY[tailN - 1];
+                if (tailN > 1) {
+                    emit(tailX, tailY, tailN - 1, lastX, lastY);
+                }
+                sink.accept(lastX, lastY);
+            }
+            curN = 0;
+            nextN = 0;
+            started = false;
+        }
+
+        private void emit(double[] x, double[] y, int n, double cx, double cy) {
+            int best = largestTriangle(x, y, 0, 0, n, ax, ay, cx, cy);
+            ax = x[best];
+            ay = y[best];
+            sink.accept(ax, ay);
+        }
+
+        private static double mean(double[] values, int n) {
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += values[i];
+            }
+            return sum / n;
+        }
+    }
+}
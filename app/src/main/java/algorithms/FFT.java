@@ -0,0 +1,144 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Iterative radix-2 fast Fourier transform on split real and imaginary
+ * double[] arrays.
+ *
+ * An instance precomputes the twiddle factors and bit-reversal permutation
+ * for one power of two size, so repeated transforms (block convolution,
+ * spectral estimation) do not allocate. Instances are immutable and may be
+ * shared between threads; the arrays passed in are transformed in place.
+ */
+public final class FFT {
+    private final int n, levels;
+    private final double[] cos, sin;
+    private final int[] reverse;
+
+    /**
+     * @param size Transform length, a power of two.
+     */
+    public FFT(int size) {
+        if (size <= 0 || (size & (size - 1)) != 0) {
+            throw new IllegalArgumentException("size must be a power of two");
+        }
+        this.n = size;
+        this.levels = Integer.numberOfTrailingZeros(size);
+        this.cos = new double[size / 2];
+        this.sin = new double[size / 2];
+        for (int i = 0; i < size / 2; i++) {
+            double angle = 2 * Math.PI * i / size;
+            cos[i] = Math.cos(angle);
+            sin[i] = Math.sin(angle);
+        }
+        this.reverse = new int[size];
+        for (int i = 0; i < size; i++) {
+            reverse[i] = levels == 0 ? 0 : Integer.reverse(i) >>> (32 - levels);
+        }
+    }
+
+    /**
+     * @return Smallest power of two &gt;= n.
+     */
+    public static int nextPowerOfTwo(int n) {
+        if (n > 1 << 30) {
+            throw new IllegalArgumentException("n is too large for a radix-2 transform");
+        }
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /**
+     * In-place forward transform X[k] = Σ x[j] e^(-2πi jk/n).
+     *
+     * @param re Real parts, length size().
+     * @param im Imaginary parts, length size().
+     */
+    public void forward(double[] re, double[] im) {
+        transform(re, im, false);
+    }
+
+    /**
+     * In-place inverse transform including the 1/n scaling, so
+     * inverse(forward(x)) == x up to rounding.
+     *
+     * @param re Real parts, length size().
+     * @param im Imaginary parts, length size().
+     */
+    public void inverse(double[] re, double[] im) {
+        transform(re, im, true);
+        double scale = 1.0 / n;
+        for (int i = 0; i < n; i++) {
+            re[i] *= scale;
+            im[i] *= scale;
+        }
+    }
+
+    private void transform(double[] re, double[] im, boolean inverse) {
+        if (re.length != n || im.length != n) {
+            throw new IllegalArgumentException("arrays must have length " + n);
+        }
+
+        for (int i = 0; i < n; i++) {
+            int j = reverse[i];
+            if (j > i) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+
+        double sign = inverse ? 1 : -1;
+        for (int half = 1; half < n; half <<= 1) {
+            int stride = n / (2 * half);
+            for (int start = 0; start < n; start += 2 * half) {
+                for (int k = 0; k < half; k++) {
+                    double wr = cos[k * stride], wi = sign * sin[k * stride];
+                    int a = start + k, b = a + half;
+                    double tr = re[b] * wr - im[b] * wi;
+                    double ti = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+
+    /**
+     * Linear convolution of two real sequences through zero-padded
+     * transforms, c[k] = Σ a[j] b[k - j].
+     *
+     * @param a First sequence.
+     * @param b Second sequence.
+     * @return The a.length + b.length - 1 terms of the convolution.
+     */
+    public static double[] convolve(double[] a, double[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return new double[0];
+        }
+        int length = a.length + b.length - 1;
+        FFT fft = new FFT(nextPowerOfTwo(length));
+        int m = fft.size();
+
+        double[] ar = Arrays.copyOf(a, m), ai = new double[m];
+        double[] br = Arrays.copyOf(b, m), bi = new double[m];
+        fft.forward(ar, ai);
+        fft.forward(br, bi);
+        for (int k = 0; k < m; k++) {
+            double r = ar[k] * br[k] - ai[k] * bi[k];
+            ai[k] = ar[k] * bi[k] + ai[k] * br[k];
+            ar[k] = r;
+        }
+        fft.inverse(ar, ai);
+        return Arrays.copyOf(ar, length);
+    }
+}
@@ -0,0 +1,340 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Streaming FIR filter: y[t] = Σ h[k] x[t - k] over a continuous stream
+ * delivered in chunks of any size.
+ *
+ * Short kernels are applied directly in O(taps) per sample. Long kernels use
+ * overlap-save block convolution with {@link FFT}: the transform size N is
+ * chosen for the lowest cost per output, the kernel spectrum is computed
+ * once, and each block of N - taps + 1 new samples costs one forward and
+ * one inverse transform. Real streams pack two consecutive blocks into the
+ * real and imaginary parts of one transform. Whether a block is filtered
+ * directly or by FFT is decided per block from operation counts, so small
+ * chunks (e.g. at the end of a call) never pay for a full transform.
+ *
+ * Both paths keep the last taps - 1 inputs in the same buffer, so the
+ * output depends only on the stream, not on how it is chunked, and
+ * process() adds no latency and never allocates.
+ *
+ * A filter is either real (real taps, real stream) or complex (complex taps
+ * or a complex stream); see {@link Complex#toArrays} and
+ * {@link Complex#fromArrays} for Complex[] data. Instances are not
+ * thread-safe.
+ */
+public class FIRFilter {
+    // Samples per block when only the direct path is used
+    private static final int DIRECT_BLOCK = 4096;
+    // Relative cost of an FFT flop vs a direct multiply-add flop
+    private static final double FFT_WEIGHT = 2;
+
+    private final int taps;
+    private final boolean complex;
+    // Kernel reversed, so the direct path reads the input forwards
+    private final double[] reversedRe, reversedIm;
+
+    private final FFT fft; // null when the direct path always wins
+    private final int block; // new samples per FFT block
+    private final double[] spectrumRe, spectrumIm, workRe, workIm;
+
+    // Previous taps - 1 inputs followed by the samples being filtered
+    private final double[] xr, xi;
+
+    /**
+     * Real filter.
+     *
+     * @param taps Kernel h[0..M).
+     */
+    public FIRFilter(double[] taps) {
+        this(taps, null, false);
+    }
+
+    /**
+     * Complex filter.
+     *
+     * @param tapsRe Real parts of the kernel.
+     * @param tapsIm Imaginary parts of the kernel, same length.
+     */
+    public FIRFilter(double[] tapsRe, double[] tapsIm) {
+        this(tapsRe, tapsIm, true);
+    }
+
+    /**
+     * Complex filter.
+     *
+     * @param taps The kernel.
+     */
+    public FIRFilter(Complex[] taps) {
+        this(split(taps));
+    }
+
+    private FIRFilter(double[][] taps) {
+        this(taps[0], taps[1], true);
+    }
+
+    private static double[][] split(Complex[] z) {
+        double[][] parts = new double[2][z.length];
+        Complex.toArrays(z, parts[0], parts[1]);
+        return parts;
+    }
+
+    private FIRFilter(double[] tapsRe, double[] tapsIm, boolean complex) {
+        if (tapsRe.length == 0) {
+            throw new IllegalArgumentException("at least one tap is required");
+        }
+        if (complex && tapsIm.length != tapsRe.length) {
+            throw new IllegalArgumentException("tapsRe and tapsIm must have the same length");
+        }
+        this.taps = tapsRe.length;
+        this.complex = complex;
+        this.reversedRe = reverse(tapsRe);
+        this.reversedIm = complex ? reverse(tapsIm) : null;
+
+        int n = transformSize(taps, complex);
+        if (n > 0) {
+            this.fft = new FFT(n);
+            this.block = n - taps + 1;
+            this.spectrumRe = Arrays.copyOf(tapsRe, n);
+            this.spectrumIm = complex ? Arrays.copyOf(tapsIm, n) : new double[n];
+            fft.forward(spectrumRe, spectrumIm);
+            this.workRe = new double[n];
+            this.workIm = new double[n];
+        } else {
+            this.fft = null;
+            this.block = DIRECT_BLOCK;
+            this.spectrumRe = this.spectrumIm = this.workRe = this.workIm = null;
+        }
+
+        // A real stream packs two FFT blocks per transform
+        int capacity = fft != null && !complex ? 2 * block : block;
+        this.xr = new double[taps - 1 + capacity];
+        this.xi = complex ? new double[taps - 1 + capacity] : null;
+    }
+
+    private static double[] reverse(double[] h) {
+        double[] r = new double[h.length];
+        for (int k = 0; k < h.length; k++) {
+            r[k] = h[h.length - 1 - k];
+        }
+        return r;
+    }
+
+    /**
+     * Flops of one transform pair plus the spectrum product at size n.
+     */
+    private static double fftCost(int n) {
+        return FFT_WEIGHT * (10.0 * n * Integer.numberOfTrailingZeros(n) + 6.0 * n);
+    }
+
+    /**
+     * Flops of filtering count samples directly.
+     */
+    private static double directCost(int taps, long count, boolean complex) {
+        return (complex ? 8.0 : 2.0) * taps * count;
+    }
+
+    /**
+     * FFT size with the lowest cost per output sample, or 0 if filtering
+     * full blocks directly is cheaper at every size.
+     */
+    static int transformSize(int taps, boolean complex) {
+        if (taps > 1 << 28) {
+            throw new IllegalArgumentException("too many taps");
+        }
+        int best = 0;
+        double bestCost = directCost(taps, 1, complex);
+        for (int n = FFT.nextPowerOfTwo(2 * taps), i = 0; i < 4 && n <= 1 << 30; n <<= 1, i++) {
+            int outputs = (complex ? 1 : 2) * (n - taps + 1);
+            double cost = fftCost(n) / outputs;
+            if (cost < bestCost) {
+                best = n;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    public int getTaps() {
+        return taps;
+    }
+
+    public boolean isComplex() {
+        return complex;
+    }
+
+    /**
+     * @return Whether long chunks are filtered by FFT.
+     */
+    public boolean usesFFT() {
+        return fft != null;
+    }
+
+    /**
+     * Clears the filter state, as if the stream restarted with zeros.
+     */
+    public void reset() {
+        Arrays.fill(xr, 0);
+        if (xi != null) {
+            Arrays.fill(xi, 0);
+        }
+    }
+
+    /**
+     * Filters the next samples of a real stream. in and out may be the same
+     * array.
+     *
+     * @param in        Input samples.
+     * @param inOffset  Index of the first input.
+     * @param out       Destination of the filtered samples.
+     * @param outOffset Index of the first output.
+     * @param length    Number of samples.
+     */
+    public void process(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        if (complex) {
+            throw new IllegalStateException("complex filter: use the re/im overload");
+        }
+        int history = taps - 1, capacity = xr.length - history;
+        while (length > 0) {
+            int c = Math.min(length, capacity);
+            System.arraycopy(in, inOffset, xr, history, c);
+            if (fft != null && directCost(taps, c, false) > fftCost(fft.size())) {
+                fftReal(c, out, outOffset);
+            } else {
+                for (int j = 0; j < c; j++) {
+                    double s = 0;
+                    for (int k = 0; k < taps; k++) {
+                        s += reversedRe[k] * xr[j + k];
+                    }
+                    out[outOffset + j] = s;
+                }
+            }
+            System.arraycopy(xr, c, xr, 0, history);
+            inOffset += c;
+            outOffset += c;
+            length -= c;
+        }
+    }
+
+    /**
+     * Overlap-save for up to two blocks: the window of the first block in
+     * the real part, the window of the second in the imaginary part.
+     */
+    private void fftReal(int c, double[] out, int outOffset) {
+        int n = fft.size(), history = taps - 1;
+        int first = Math.min(history + c, n);
+        System.arraycopy(xr, 0, workRe, 0, first);
+        Arrays.fill(workRe, first, n, 0);
+        int second = c > block ? history + c - block : 0;
+        System.arraycopy(xr, block, workIm, 0, second);
+        Arrays.fill(workIm, second, n, 0);
+
+        fft.forward(workRe, workIm);
+        multiply();
+        fft.inverse(workRe, workIm);
+
+        for (int j = 0, end = Math.min(c, block); j < end; j++) {
+            out[outOffset + j] = workRe[history + j];
+        }
+        for (int j = block; j < c; j++) {
+            out[outOffset + j] = workIm[history + j - block];
+        }
+    }
+
+    /**
+     * Filters the next samples of a complex stream. Input and output arrays
+     * may be the same.
+     *
+     * @param inRe      Real parts of the input.
+     * @param inIm      Imaginary parts of the input.
+     * @param inOffset  Index of the first input.
+     * @param outRe     Destination of the real parts.
+     * @param outIm     Destination of the imaginary parts.
+     * @param outOffset Index of the first output.
+     * @param length    Number of samples.
+     */
+    public void process(double[] inRe, double[] inIm, int inOffset, double[] outRe, double[] outIm, int outOffset,
+            int length) {
+        if (!complex) {
+            throw new IllegalStateException("real filter: use the real overload");
+        }
+        int history = taps - 1, capacity = xr.length - history;
+        while (length > 0) {
+            int c = Math.min(length, capacity);
+            System.arraycopy(inRe, inOffset, xr, history, c);
+            System.arraycopy(inIm, inOffset, xi, history, c);
+            if (fft != null && directCost(taps, c, true) > fftCost(fft.size())) {
+                fftComplex(c, outRe, outIm, outOffset);
+            } else {
+                for (int j = 0; j < c; j++) {
+                    double sr = 0, si = 0;
+                    for (int k = 0; k < taps; k++) {
+                        double hr = reversedRe[k], hi = reversedIm[k], vr = xr[j + k], vi = xi[j + k];
+                        sr += hr * vr - hi * vi;
+                        si += hr * vi + hi * vr;
+                    }
+                    outRe[outOffset + j] = sr;
+                    outIm[outOffset + j] = si;
+                }
+            }
+            System.arraycopy(xr, c, xr, 0, history);
+            System.arraycopy(xi, c, xi, 0, history);
+            inOffset += c;
+            outOffset += c;
+            length -= c;
+        }
+    }
+
+    private void fftComplex(int c, double[] outRe, double[] outIm, int outOffset) {
+        int n = fft.size(), history = taps - 1, filled = history + c;
+        System.arraycopy(xr, 0, workRe, 0, filled);
+        System.arraycopy(xi, 0, workIm, 0, filled);
+        Arrays.fill(workRe, filled, n, 0);
+        Arrays.fill(workIm, filled, n, 0);
+
+        fft.forward(workRe, workIm);
+        multiply();
+        fft.inverse(workRe, workIm);
+
+        System.arraycopy(workRe, history, outRe, outOffset, c);
+        System.arraycopy(workIm, history, outIm, outOffset, c);
+    }
+
+    /** work *= kernel spectrum. */
+    private void multiply() {
+        for (int k = 0; k < workRe.length; k++) {
+            double r = workRe[k] * spectrumRe[k] - workIm[k] * spectrumIm[k];
+            workIm[k] = workRe[k] * spectrumIm[k] + workIm[k] * spectrumRe[k];
+            workRe[k] = r;
+        }
+    }
+
+    /**
+     * Filters a complete complex signal from a fresh state.
+     *
+     * @param taps   The kernel.
+     * @param signal The input.
+     * @return The first signal.length outputs.
+     */
+    public static Complex[] filter(Complex[] taps, Complex[] signal) {
+        FIRFilter filter = new FIRFilter(taps);
+        double[] re = new double[signal.length], im = new double[signal.length];
+        Complex.toArrays(signal, re, im);
+        filter.process(re, im, 0, re, im, 0, signal.length);
+        return Complex.fromArrays(re, im);
+    }
+
+    /**
+     * Filters a complete real signal from a fresh state.
+     *
+     * @param taps   The kernel.
+     * @param signal The input.
+     * @return The first signal.length outputs.
+     */
+    public static double[] filter(double[] taps, double[] signal) {
+        double[] out = new double[signal.length];
+        new FIRFilter(taps).process(signal, 0, out, 0, signal.length);
+        return out;
+    }
+}
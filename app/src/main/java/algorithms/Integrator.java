@@ -0,0 +1,554 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Adaptive numerical integration of analytic functions over [a, b].
+ *
+ * Complements Medical.AUC, which integrates sampled points, for integrands
+ * known in closed form such as dose-response or PK model curves. Available
+ * rules:
+ * <ul>
+ * <li>adaptive Simpson,</li>
+ * <li>globally adaptive Gauss–Kronrod (G7K15), sequential, fork/join
+ * parallel, or batched over double[] nodes,</li>
+ * <li>tanh-sinh (double exponential) for integrable endpoint
+ * singularities.</li>
+ * </ul>
+ * An estimate is accepted once its error is below
+ * max(absoluteTolerance, relativeTolerance * |I|).
+ */
+public class Integrator {
+    /**
+     * Integrand evaluated on a batch of nodes: fx[i] = f(x[i]) for i &lt; n.
+     * Lets callers vectorize the evaluation or amortize per-call overhead.
+     */
+    public interface BatchFunction {
+        void apply(double[] x, double[] fx, int n);
+    }
+
+    /**
+     * Outcome of an integration.
+     */
+    public static class Result {
+        private final double value;
+        private final double error;
+        private final long evaluations;
+        private final boolean converged;
+
+        Result(double value, double error, long evaluations, boolean converged) {
+            this.value = value;
+            this.error = error;
+            this.evaluations = evaluations;
+            this.converged = converged;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        /**
+         * @return Estimated absolute error.
+         */
+        public double getError() {
+            return error;
+        }
+
+        /**
+         * @return Number of integrand evaluations.
+         */
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        /**
+         * @return false if a subdivision or level limit was hit first.
+         */
+        public boolean isConverged() {
+            return converged;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.15g ± %.2e (%d evaluations)", value, error, evaluations);
+        }
+    }
+
+    // Gauss–Kronrod 7-15 nodes and weights (QUADPACK qk15), positive half.
+    private static final double[] XGK = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.000000000000000000000000000000000 };
+    private static final double[] WGK = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714 };
+    // Gauss 7-point weights for XGK[1], XGK[3], XGK[5], XGK[7].
+    private static final double[] WG = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327 };
+
+    private static final int GK_POINTS = 15;
+    private static final int SIMPSON_DEPTH = 50;
+    private static final int TANH_SINH_LEVELS = 12;
+
+    private final double absoluteTolerance;
+    private final double relativeTolerance;
+    private final int maxIntervals;
+
+    /**
+     * Creates an integrator with absolute tolerance 1e-12, relative
+     * tolerance 1e-10 and at most 10000 subintervals.
+     */
+    public Integrator() {
+        this(1e-12, 1e-10, 10000);
+    }
+
+    /**
+     * @param absoluteTolerance Absolute error target.
+     * @param relativeTolerance Relative error target.
+     * @param maxIntervals      Maximum number of subintervals (or Simpson
+     *                          panels).
+     */
+    public Integrator(double absoluteTolerance, double relativeTolerance, int maxIntervals) {
+        if (absoluteTolerance < 0 || relativeTolerance < 0 || absoluteTolerance + relativeTolerance == 0) {
+            throw new IllegalArgumentException("tolerances must be non-negative and not both zero");
+        }
+        if (maxIntervals < 1) {
+            throw new IllegalArgumentException("maxIntervals must be positive");
+        }
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+        this.maxIntervals = maxIntervals;
+    }
+
+    private double target(double estimate) {
+        return Math.max(absoluteTolerance, relativeTolerance * Math.abs(estimate));
+    }
+
+    /**
+     * Adaptive Simpson's rule with Richardson extrapolation.
+     *
+     * @param f Integrand.
+     * @param a Lower limit.
+     * @param b Upper limit.
+     * @return The integral and its error estimate.
+     */
+    public Result adaptiveSimpson(DoubleUnaryOperator f, double a, double b) {
+        double fa = f.applyAsDouble(a), fb = f.applyAsDouble(b);
+        double m = (a + b) / 2, fm = f.applyAsDouble(m);
+        double whole = (b - a) / 6 * (fa + 4 * fm + fb);
+
+        // state: [evaluations, error, panels, failed]
+        double[] state = { 3, 0, 0, 0 };
+        double value = simpson(f, a, b, fa, fm, fb, whole, target(whole), SIMPSON_DEPTH, state);
+        boolean converged = state[3] == 0 && state[2] <= maxIntervals;
+        return new Result(value, state[1], (long) state[0], converged);
+    }
+
+    private double simpson(DoubleUnaryOperator f, double a, double b, double fa, double fm, double fb,
+            double whole, double tol, int depth, double[] state) {
+        double m = (a + b) / 2;
+        double lm = (a + m) / 2, rm = (m + b) / 2;
+        double flm = f.applyAsDouble(lm), frm = f.applyAsDouble(rm);
+        state[0] += 2;
+
+        double left = (m - a) / 6 * (fa + 4 * flm + fm);
+        double right = (b - m) / 6 * (fm + 4 * frm + fb);
+        double delta = left + right - whole;
+
+        if (Math.abs(delta) <= 15 * tol || depth == 0 || state[2] >= maxIntervals) {
+            if (Math.abs(delta) > 15 * tol) {
+                state[3] = 1;
+            }
+            state[1] += Math.abs(delta) / 15;
+            state[2]++;
+            return left + right + delta / 15;
+        }
+
+        return simpson(f, a, m, fa, flm, fm, left, tol / 2, depth - 1, state)
+                + simpson(f, m, b, fm, frm, fb, right, tol / 2, depth - 1, state);
+    }
+
+    /**
+     * Globally adaptive Gauss–Kronrod (G7K15): the subinterval with the
+     * largest error estimate is bisected until the total error meets the
+     * tolerance.
+     *
+     * @param f Integrand.
+     * @param a Lower limit.
+     * @param b Upper limit.
+     * @return The integral and its error estimate.
+     */
+    public Result gaussKronrod(DoubleUnaryOperator f, double a, double b) {
+        double[] rule = new double[2];
+        IntervalHeap heap = new IntervalHeap(Math.min(maxIntervals, 1024));
+
+        kronrod(f, a, b, rule);
+        heap.push(a, b, rule[0], rule[1]);
+        double value = rule[0], error = rule[1];
+        long evaluations = GK_POINTS;
+
+        while (error > target(value) && heap.size < maxIntervals) {
+            int worst = 0;
+            double lo = heap.lo[worst], hi = heap.hi[worst];
+            value -= heap.value[worst];
+            error -= heap.error[worst];
+            heap.pop();
+
+            double mid = (lo + hi) / 2;
+            kronrod(f, lo, mid, rule);
+            heap.push(lo, mid, rule[0], rule[1]);
+            value += rule[0];
+            error += rule[1];
+
+            kronrod(f, mid, hi, rule);
+            heap.push(mid, hi, rule[0], rule[1]);
+            value += rule[0];
+            error += rule[1];
+            evaluations += 2 * GK_POINTS;
+        }
+
+        // Re-sum to shed the cancellation accumulated by the running totals.
+        value = 0;
+        error = 0;
+        for (int i = 0; i < heap.size; i++) {
+            value += heap.value[i];
+            error += heap.error[i];
+        }
+        return new Result(value, error, evaluations, error <= target(value));
+    }
+
+    /**
+     * Gauss–Kronrod integration with the subdivision spread over the common
+     * fork/join pool. Each subinterval is accepted once its error is below
+     * its share of the tolerance (proportional to its length), otherwise both
+     * halves are forked. Suited to expensive integrands.
+     *
+     * @param f Integrand; must be safe to call from several threads.
+     * @param a Lower limit.
+     * @param b Upper limit.
+     * @return The integral and its error estimate.
+     */
+    public Result parallelGaussKronrod(DoubleUnaryOperator f, double a, double b) {
+        double[] rule = new double[2];
+        kronrod(f, a, b, rule);
+        double tol = target(rule[0]);
+        if (rule[1] <= tol) {
+            return new Result(rule[0], rule[1], GK_POINTS, true);
+        }
+
+        // Limit the depth so that at most maxIntervals leaves can be created.
+        int depth = 31 - Integer.numberOfLeadingZeros(maxIntervals);
+        double[] sums = new KronrodTask(f, a, b, rule[0], rule[1], tol / Math.abs(b - a), depth).invoke();
+        return new Result(sums[0], sums[1], (long) sums[2] + GK_POINTS, sums[3] == 0);
+    }
+
+    private final class KronrodTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final DoubleUnaryOperator f;
+        private final double a, b, value, error, density;
+        private final int depth;
+
+        KronrodTask(DoubleUnaryOperator f, double a, double b, double value, double error, double density,
+                int depth) {
+            this.f = f;
+            this.a = a;
+            this.b = b;
+            this.value = value;
+            this.error = error;
+            this.density = density;
+            this.depth = depth;
+        }
+
+        /** @return { value, error, evaluations, failed } */
+        @Override
+        protected double[] compute() {
+            if (error <= density * Math.abs(b - a)) {
+                return new double[] { value, error, 0, 0 };
+            }
+            if (depth == 0) {
+                return new double[] { value, error, 0, 1 };
+            }
+
+            double mid = (a + b) / 2;
+            double[] left = new double[2], right = new double[2];
+            kronrod(f, a, mid, left);
+            kronrod(f, mid, b, right);
+
+            KronrodTask l = new KronrodTask(f, a, mid, left[0], left[1], density, depth - 1);
+            KronrodTask r = new KronrodTask(f, mid, b, right[0], right[1], density, depth - 1);
+            l.fork();
+            double[] rs = r.compute();
+            double[] ls = l.join();
+
+            return new double[] { ls[0] + rs[0], ls[1] + rs[1], ls[2] + rs[2] + 2 * GK_POINTS,
+                    Math.max(ls[3], rs[3]) };
+        }
+    }
+
+    /**
+     * Gauss–Kronrod integration with batched evaluation. Every round the 15
+     * nodes of all unresolved subintervals are written into one double[] and
+     * f is called once for the whole batch. Intervals meeting their share of
+     * the tolerance are accepted, the rest are bisected for the next round.
+     *
+     * @param f Batch integrand.
+     * @param a Lower limit.
+     * @param b Upper limit.
+     * @return The integral and its error estimate.
+     */
+    public Result gaussKronrod(BatchFunction f, double a, double b) {
+        double[] lo = { a };
+        double[] hi = { b };
+        int active = 1;
+        int intervals = 1;
+
+        double[] x = new double[GK_POINTS];
+        double[] fx = new double[GK_POINTS];
+        double[] rule = new double[2];
+        double value = 0, error = 0, tol = Double.NaN;
+        long evaluations = 0;
+        boolean converged = true;
+
+        while (active > 0) {
+            int n = active * GK_POINTS;
+            if (x.length < n) {
+                x = new double[n];
+                fx = new double[n];
+            }
+            for (int k = 0; k < active; k++) {
+                kronrodNodes(lo[k], hi[k], x, k * GK_POINTS);
+            }
+            f.apply(x, fx, n);
+            evaluations += n;
+
+            double[] nextLo = new double[2 * active];
+            double[] nextHi = new double[2 * active];
+            int next = 0;
+
+            for (int k = 0; k < active; k++) {
+                kronrodSum(lo[k], hi[k], fx, k * GK_POINTS, rule);
+                if (Double.isNaN(tol)) {
+                    tol = target(rule[0]) / Math.abs(b - a);
+                }
+
+                boolean split = rule[1] > tol * Math.abs(hi[k] - lo[k]);
+                if (split && intervals < maxIntervals) {
+                    double mid = (lo[k] + hi[k]) / 2;
+                    nextLo[next] = lo[k];
+                    nextHi[next++] = mid;
+                    nextLo[next] = mid;
+                    nextHi[next++] = hi[k];
+                    intervals++;
+                } else {
+                    converged &= !split;
+                    value += rule[0];
+                    error += rule[1];
+                }
+            }
+
+            lo = nextLo;
+            hi = nextHi;
+            active = next;
+        }
+
+        return new Result(value, error, evaluations, converged);
+    }
+
+    /**
+     * Tanh-sinh (double exponential) quadrature. The substitution
+     * x = c + d tanh(π/2 sinh t) clusters nodes at both ends with doubly
+     * exponentially decaying weights, so integrable singularities at a or b
+     * (such as 1/√x or log x) converge quickly. f is never evaluated at the
+     * end points themselves. Nodes closer to an end point than its ulp are
+     * dropped, so singularities at a non-zero end point are resolved to about
+     * √ulp(b) rather than to full precision.
+     *
+     * @param f Integrand.
+     * @param a Lower limit.
+     * @param b Upper limit.
+     * @return The integral; the error is estimated from the last halving of
+     *         the step.
+     */
+    public Result tanhSinh(DoubleUnaryOperator f, double a, double b) {
+        double c = (a + b) / 2, d = (b - a) / 2;
+        double h = 1;
+        long evaluations = 1;
+
+        // Level 0 with step h = 1 over t = 0, ±1, ±2, ...
+        double sum = Math.PI / 2 * f.applyAsDouble(c);
+        double[] acc = { 0, 0 };
+        tanhSinhTerms(f, c, d, 1, 1, acc);
+        sum += acc[0];
+        evaluations += (long) acc[1];
+        double estimate = d * h * sum;
+        double error = Double.POSITIVE_INFINITY;
+
+        for (int level = 1; level <= TANH_SINH_LEVELS; level++) {
+            h /= 2;
+            // Only the new odd multiples of h are evaluated.
+            acc[0] = 0;
+            acc[1] = 0;
+            tanhSinhTerms(f, c, d, h, 2 * h, acc);
+            sum += acc[0];
+            evaluations += (long) acc[1];
+
+            double next = d * h * sum;
+            error = Math.abs(next - estimate);
+            estimate = next;
+            if (level >= 3 && error <= target(estimate)) {
+                return new Result(estimate, error, evaluations, true);
+            }
+        }
+        return new Result(estimate, error, evaluations, false);
+    }
+
+    /** Adds the weighted values at t = start, start + step, ... on both sides. */
+    private static void tanhSinhTerms(DoubleUnaryOperator f, double c, double d, double start, double step,
+            double[] acc) {
+        for (double t = start;; t += step) {
+            double u = Math.PI / 2 * Math.sinh(t);
+            double cu = Math.cosh(u);
+            double w = Math.PI / 2 * Math.cosh(t) / (cu * cu);
+
+            // 1 - tanh(u) computed without cancellation
+            double complement = 2 / (Math.exp(2 * u) + 1);
+            double dx = d * complement;
+            double left = c - d + dx, right = c + d - dx;
+
+            // Near an end point the node can round onto it; skip that side.
+            boolean useLeft = left != c - d, useRight = right != c + d;
+            if (w == 0 || !(useLeft || useRight)) {
+                break;
+            }
+            if (useLeft) {
+                acc[0] += w * f.applyAsDouble(left);
+                acc[1]++;
+            }
+            if (useRight) {
+                acc[0] += w * f.applyAsDouble(right);
+                acc[1]++;
+            }
+        }
+    }
+
+    /** Evaluates G7 and K15 on [a, b]: rule[0] = K15, rule[1] = |K15 - G7|. */
+    private static void kronrod(DoubleUnaryOperator f, double a, double b, double[] rule) {
+        double c = (a + b) / 2, h = (b - a) / 2;
+        double fc = f.applyAsDouble(c);
+        double kronrod = WGK[7] * fc, gauss = WG[3] * fc;
+
+        for (int j = 0; j < 7; j++) {
+            double dx = h * XGK[j];
+            double sum = f.applyAsDouble(c - dx) + f.applyAsDouble(c + dx);
+            kronrod += WGK[j] * sum;
+            if (j % 2 == 1) {
+                gauss += WG[j / 2] * sum;
+            }
+        }
+
+        rule[0] = kronrod * h;
+        rule[1] = Math.abs((kronrod - gauss) * h);
+    }
+
+    /** Writes the 15 Kronrod nodes of [a, b] to x[offset..offset+15). */
+    private static void kronrodNodes(double a, double b, double[] x, int offset) {
+        double c = (a + b) / 2, h = (b - a) / 2;
+        for (int j = 0; j < 7; j++) {
+            x[offset + 2 * j] = c - h * XGK[j];
+            x[offset + 2 * j + 1] = c + h * XGK[j];
+        }
+        x[offset + 14] = c;
+    }
+
+    /** Same as kronrod() but from values laid out by kronrodNodes(). */
+    private static void kronrodSum(double a, double b, double[] fx, int offset, double[] rule) {
+        double h = (b - a) / 2;
+        double fc = fx[offset + 14];
+        double kronrod = WGK[7] * fc, gauss = WG[3] * fc;
+
+        for (int j = 0; j < 7; j++) {
+            double sum = fx[offset + 2 * j] + fx[offset + 2 * j + 1];
+            kronrod += WGK[j] * sum;
+            if (j % 2 == 1) {
+                gauss += WG[j / 2] * sum;
+            }
+        }
+
+        rule[0] = kronrod * h;
+        rule[1] = Math.abs((kronrod - gauss) * h);
+    }
+
+    /** Binary max-heap of subintervals keyed by error estimate. */
+    private static final class IntervalHeap {
+        double[] lo, hi, value, error;
+        int size;
+
+        IntervalHeap(int capacity) {
+            lo = new double[capacity];
+            hi = new double[capacity];
+            value = new double[capacity];
+            error = new double[capacity];
+        }
+
+        void push(double a, double b, double v, double e) {
+            if (size == lo.length) {
+                int capacity = size * 2;
+                lo = Arrays.copyOf(lo, capacity);
+                hi = Arrays.copyOf(hi, capacity);
+                value = Arrays.copyOf(value, capacity);
+                error = Arrays.copyOf(error, capacity);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (error[parent] >= e) {
+                    break;
+                }
+                move(parent, i);
+                i = parent;
+            }
+            set(i, a, b, v, e);
+        }
+
+        void pop() {
+            size--;
+            double a = lo[size], b = hi[size], v = value[size], e = error[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && error[child + 1] > error[child]) {
+                    child++;
+                }
+                if (error[child] <= e) {
+                    break;
+                }
+                move(child, i);
+                i = child;
+            }
+            if (size > 0) {
+                set(i, a, b, v, e);
+            }
+        }
+
+        private void move(int from, int to) {
+            set(to, lo[from], hi[from], value[from], error[from]);
+        }
+
+        private void set(int i, double a, double b, double v, double e) {
+            lo[i] = a;
+            hi[i] = b;
+            value[i] = v;
+            error[i] = e;
+        }
+    }
+}
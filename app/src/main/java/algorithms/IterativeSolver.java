@@ -0,0 +1,356 @@
+package algorithms;
+
+/**
+ * Krylov subspace solvers for large sparse systems Ax = b.
+ *
+ * Conjugate gradient handles symmetric positive definite matrices (e.g.
+ * discretized diffusion); BiCGSTAB handles general non-symmetric ones (e.g.
+ * diffusion with advection). Both support Jacobi (diagonal) preconditioning
+ * and stop when the relative residual ||b - Ax|| / ||b|| drops below the
+ * tolerance.
+ *
+ * Vector operations run on the common fork/join pool for large systems. Dot
+ * products are summed over fixed blocks, so results do not depend on the
+ * number of threads.
+ */
+public class IterativeSolver {
+    /** Preconditioner M applied as z = M⁻¹r. */
+    public enum Preconditioner {
+        NONE, JACOBI
+    }
+
+    /** Vector block size for parallel loops and partial sums. */
+    private static final int CHUNK = 1 << 15;
+
+    private final double tolerance;
+    private final int maxIterations;
+    private final Preconditioner preconditioner;
+
+    /**
+     * Creates a Jacobi preconditioned solver with relative tolerance 1e-10
+     * and at most 10000 iterations.
+     */
+    public IterativeSolver() {
+        this(1e-10, 10000, Preconditioner.JACOBI);
+    }
+
+    /**
+     * @param tolerance      Relative residual at which to stop.
+     * @param maxIterations  Iteration limit.
+     * @param preconditioner Preconditioner to apply.
+     */
+    public IterativeSolver(double tolerance, int maxIterations, Preconditioner preconditioner) {
+        if (!(tolerance > 0) || maxIterations <= 0) {
+            throw new IllegalArgumentException("tolerance and maxIterations must be positive");
+        }
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+        this.preconditioner = preconditioner;
+    }
+
+    /**
+     * Outcome of a solve.
+     */
+    public static class Result {
+        private final double[] x;
+        private final int iterations;
+        private final double[] residuals;
+        private final boolean converged;
+
+        Result(double[] x, int iterations, double[] residuals, boolean converged) {
+            this.x = x;
+            this.iterations = iterations;
+            this.residuals = residuals;
+            this.converged = converged;
+        }
+
+        /**
+         * @return The solution (or last iterate when not converged).
+         */
+        public double[] getSolution() {
+            return x;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        /**
+         * @return Relative residual norms, index 0 being the initial guess.
+         */
+        public double[] getResidualHistory() {
+            return residuals;
+        }
+
+        /**
+         * @return The final relative residual.
+         */
+        public double getResidual() {
+            return residuals[residuals.length - 1];
+        }
+
+        public boolean isConverged() {
+            return converged;
+        }
+    }
+
+    /**
+     * Preconditioned conjugate gradient from x0 = 0.
+     *
+     * @param a Symmetric positive definite matrix.
+     * @param b Right hand side.
+     * @return The result.
+     */
+    public Result conjugateGradient(SparseMatrix a, double[] b) {
+        return conjugateGradient(a, b, new double[b.length]);
+    }
+
+    /**
+     * Preconditioned conjugate gradient.
+     *
+     * @param a  Symmetric positive definite matrix.
+     * @param b  Right hand side.
+     * @param x0 Initial guess; not modified.
+     * @return The result.
+     */
+    public Result conjugateGradient(SparseMatrix a, double[] b, double[] x0) {
+        int n = checkSystem(a, b, x0);
+        double[] inv = inverseDiagonal(a);
+
+        double[] x = x0.clone();
+        double[] r = new double[n];
+        double[] z = new double[n];
+        double[] p = new double[n];
+        double[] ap = new double[n];
+        double[] history = new double[maxIterations + 1];
+
+        double bNorm = norm(b);
+        if (bNorm == 0) {
+            bNorm = 1;
+        }
+
+        // r = b - Ax
+        a.multiply(x, r);
+        axpby(1, b, -1, r, r);
+        history[0] = norm(r) / bNorm;
+        if (history[0] <= tolerance) {
+            return new Result(x, 0, trim(history, 1), true);
+        }
+
+        precondition(inv, r, z);
+        System.arraycopy(z, 0, p, 0, n);
+        double rz = dot(r, z);
+
+        int k = 0;
+        boolean converged = false;
+        while (k < maxIterations) {
+            a.multiply(p, ap);
+            double alpha = rz / dot(p, ap);
+
+            axpby(1, x, alpha, p, x);
+            axpby(1, r, -alpha, ap, r);
+
+            k++;
+            history[k] = norm(r) / bNorm;
+            if (history[k] <= tolerance) {
+                converged = true;
+                break;
+            }
+
+            precondition(inv, r, z);
+            double rzNew = dot(r, z);
+            double beta = rzNew / rz;
+            rz = rzNew;
+
+            // p = z + beta p
+            axpby(1, z, beta, p, p);
+        }
+
+        return new Result(x, k, trim(history, k + 1), converged);
+    }
+
+    /**
+     * Right preconditioned BiCGSTAB from x0 = 0.
+     *
+     * @param a Square matrix.
+     * @param b Right hand side.
+     * @return The result.
+     */
+    public Result biCGSTAB(SparseMatrix a, double[] b) {
+        return biCGSTAB(a, b, new double[b.length]);
+    }
+
+    /**
+     * Right preconditioned BiCGSTAB (van der Vorst, 1992).
+     *
+     * @param a  Square matrix.
+     * @param b  Right hand side.
+     * @param x0 Initial guess; not modified.
+     * @return The result.
+     */
+    public Result biCGSTAB(SparseMatrix a, double[] b, double[] x0) {
+        int n = checkSystem(a, b, x0);
+        double[] inv = inverseDiagonal(a);
+
+        double[] x = x0.clone();
+        double[] r = new double[n];
+        double[] rHat = new double[n];
+        double[] p = new double[n];
+        double[] v = new double[n];
+        double[] y = new double[n];
+        double[] s = new double[n];
+        double[] t = new double[n];
+        double[] zs = new double[n];
+        double[] history = new double[maxIterations + 1];
+
+        double bNorm = norm(b);
+        if (bNorm == 0) {
+            bNorm = 1;
+        }
+
+        a.multiply(x, r);
+        axpby(1, b, -1, r, r);
+        System.arraycopy(r, 0, rHat, 0, n);
+        history[0] = norm(r) / bNorm;
+        if (history[0] <= tolerance) {
+            return new Result(x, 0, trim(history, 1), true);
+        }
+
+        double rho = 1, alpha = 1, omega = 1;
+        int k = 0;
+        boolean converged = false;
+
+        while (k < maxIterations) {
+            double rhoNew = dot(rHat, r);
+            if (rhoNew == 0 || omega == 0) {
+                // Breakdown: the shadow residual became orthogonal to r.
+                break;
+            }
+
+            // p = r + beta (p - omega v)
+            double beta = (rhoNew / rho) * (alpha / omega);
+            rho = rhoNew;
+            axpby(1, p, -omega, v, p);
+            axpby(1, r, beta, p, p);
+
+            precondition(inv, p, y);
+            a.multiply(y, v);
+            alpha = rho / dot(rHat, v);
+
+            // s = r - alpha v
+            axpby(1, r, -alpha, v, s);
+            k++;
+
+            double sNorm = norm(s) / bNorm;
+            if (sNorm <= tolerance) {
+                axpby(1, x, alpha, y, x);
+                history[k] = sNorm;
+                converged = true;
+                break;
+            }
+
+            precondition(inv, s, zs);
+            a.multiply(zs, t);
+            double tt = dot(t, t);
+            omega = tt == 0 ? 0 : dot(t, s) / tt;
+
+            // x += alpha y + omega z, r = s - omega t
+            axpby(1, x, alpha, y, x);
+            axpby(1, x, omega, zs, x);
+            axpby(1, s, -omega, t, r);
+
+            history[k] = norm(r) / bNorm;
+            if (history[k] <= tolerance) {
+                converged = true;
+                break;
+            }
+        }
+
+        return new Result(x, k, trim(history, k + 1), converged);
+    }
+
+    private int checkSystem(SparseMatrix a, double[] b, double[] x0) {
+        if (a.rows() != a.cols()) {
+            throw new IllegalArgumentException("matrix must be square");
+        }
+        if (b.length != a.rows() || x0.length != a.rows()) {
+            throw new IllegalArgumentException("vector lengths must match the matrix dimensions");
+        }
+        return b.length;
+    }
+
+    /** @return 1 / diag(A), or null when no preconditioner is used. */
+    private double[] inverseDiagonal(SparseMatrix a) {
+        if (preconditioner == Preconditioner.NONE) {
+            return null;
+        }
+        double[] d = a.diagonal();
+        for (int i = 0; i < d.length; i++) {
+            if (d[i] == 0) {
+                throw new IllegalArgumentException("Jacobi preconditioning needs a non-zero diagonal (row " + i + ")");
+            }
+            d[i] = 1 / d[i];
+        }
+        return d;
+    }
+
+    private static void precondition(double[] inv, double[] r, double[] z) {
+        if (inv == null) {
+            System.arraycopy(r, 0, z, 0, r.length);
+            return;
+        }
+        Parallel.forRange(0, r.length, CHUNK, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                z[i] = inv[i] * r[i];
+            }
+        });
+    }
+
+    /** out = alpha x + beta y; out may alias x or y. */
+    private static void axpby(double alpha, double[] x, double beta, double[] y, double[] out) {
+        Parallel.forRange(0, x.length, CHUNK, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = alpha * x[i] + beta * y[i];
+            }
+        });
+    }
+
+    /** Dot product summed over fixed blocks, independent of thread count. */
+    static double dot(double[] x, double[] y) {
+        int blocks = (x.length + CHUNK - 1) / CHUNK;
+        if (blocks <= 1) {
+            return dot(x, y, 0, x.length);
+        }
+
+        double[] partial = new double[blocks];
+        Parallel.forRange(0, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                partial[b] = dot(x, y, b * CHUNK, Math.min(x.length, (b + 1) * CHUNK));
+            }
+        });
+
+        double sum = 0;
+        for (double v : partial) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    private static double dot(double[] x, double[] y, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += x[i] * y[i];
+        }
+        return sum;
+    }
+
+    private static double norm(double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+
+    private static double[] trim(double[] history, int length) {
+        double[] out = new double[length];
+        System.arraycopy(history, 0, out, 0, length);
+        return out;
+    }
+}
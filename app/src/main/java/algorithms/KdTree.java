@@ -0,0 +1,499 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Static 2-D KD-tree for nearest neighbour, k nearest neighbour, rectangle
+ * and radius queries.
+ *
+ * The tree is implicit: the points are permuted so that the node of an
+ * index range [lo, hi) is its middle element, split on x at even depths and
+ * on y at odd depths, with the left subtree in [lo, mid) and the right in
+ * [mid + 1, hi). Ranges of at most {@value #LEAF} points are leaves scanned
+ * linearly. Coordinates live in flat double[] arrays, so there are no node
+ * objects. Construction partitions each range around its median with
+ * quickselect, O(n log n) expected, and builds the two halves in parallel.
+ *
+ * Queries return indices into the arrays (or list) the tree was built
+ * from. The tree is immutable after construction and may be queried from
+ * any number of threads; the batch queries split the queries across cores.
+ */
+public class KdTree {
+    private static final int LEAF = 8;
+
+    // Points in tree order and their original indices
+    private final double[] px, py;
+    private final int[] ids;
+
+    /** Best candidate of a nearest neighbour search. */
+    private static final class Best {
+        double distance;
+        int node;
+    }
+
+    /**
+     * @param x X coordinates.
+     * @param y Y coordinates, same length; NaN is not allowed.
+     */
+    public KdTree(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        int n = x.length;
+        this.px = x.clone();
+        this.py = y.clone();
+        this.ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(px[i]) || Double.isNaN(py[i])) {
+                throw new IllegalArgumentException("coordinates must not be NaN");
+            }
+            ids[i] = i;
+        }
+        if (n > Parallel.GRAIN && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            new BuildAction(0, n, 0).invoke();
+        } else {
+            build(0, n, 0);
+        }
+    }
+
+    /**
+     * @param series Points; index i is series.x(i), series.y(i).
+     */
+    public KdTree(PointSeries series) {
+        this(series.toXArray(), series.toYArray());
+    }
+
+    /**
+     * @param points Points; results index into this list.
+     * @return The tree.
+     */
+    public static KdTree of(List<Point> points) {
+        double[] x = new double[points.size()], y = new double[points.size()];
+        int i = 0;
+        for (Point p : points) {
+            x[i] = p.x;
+            y[i++] = p.y;
+        }
+        return new KdTree(x, y);
+    }
+
+    public int size() {
+        return px.length;
+    }
+
+    private void build(int lo, int hi, int depth) {
+        while (hi - lo > LEAF) {
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi, mid, (depth & 1) == 0 ? px : py);
+            build(lo, mid, depth + 1);
+            lo = mid + 1;
+            depth++;
+        }
+    }
+
+    private final class BuildAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi, depth;
+
+        BuildAction(int lo, int hi, int depth) {
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= Parallel.GRAIN) {
+                build(lo, hi, depth);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi, mid, (depth & 1) == 0 ? px : py);
+            invokeAll(new BuildAction(lo, mid, depth + 1), new BuildAction(mid + 1, hi, depth + 1));
+        }
+    }
+
+    /**
+     * Quickselect: moves the k-th smallest key of [lo, hi) to k, with
+     * smaller or equal keys before it and greater or equal keys after it.
+     */
+    private void select(int lo, int hi, int k, double[] key) {
+        hi--;
+        while (hi > lo) {
+            int mid = (lo + hi) >>> 1;
+            double a = key[lo], b = key[mid], c = key[hi];
+            double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (key[i] < pivot) {
+                    i++;
+                }
+                while (key[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        double t = px[i];
+        px[i] = px[j];
+        px[j] = t;
+        t = py[i];
+        py[i] = py[j];
+        py[j] = t;
+        int id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+    }
+
+    /**
+     * @return Index of the point nearest to (x, y), -1 if the tree is empty.
+     */
+    public int nearest(double x, double y) {
+        return nearest(x, y, new Best());
+    }
+
+    private int nearest(double x, double y, Best best) {
+        best.distance = Double.POSITIVE_INFINITY;
+        best.node = -1;
+        nearest(0, px.length, 0, x, y, best);
+        return best.node < 0 ? -1 : ids[best.node];
+    }
+
+    private void nearest(int lo, int hi, int depth, double x, double y, Best best) {
+        if (hi - lo <= LEAF) {
+            for (int i = lo; i < hi; i++) {
+                double dx = x - px[i], dy = y - py[i], d = dx * dx + dy * dy;
+                if (d < best.distance) {
+                    best.distance = d;
+                    best.node = i;
+                }
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double dx = x - px[mid], dy = y - py[mid], d = dx * dx + dy * dy;
+        if (d < best.distance) {
+            best.distance = d;
+            best.node = mid;
+        }
+        double diff = (depth & 1) == 0 ? dx : dy;
+        if (diff < 0) {
+            nearest(lo, mid, depth + 1, x, y, best);
+            if (diff * diff < best.distance) {
+                nearest(mid + 1, hi, depth + 1, x, y, best);
+            }
+        } else {
+            nearest(mid + 1, hi, depth + 1, x, y, best);
+            if (diff * diff < best.distance) {
+                nearest(lo, mid, depth + 1, x, y, best);
+            }
+        }
+    }
+
+    /**
+     * Nearest neighbour of every query, in parallel for long batches.
+     *
+     * @param x   Query x coordinates.
+     * @param y   Query y coordinates.
+     * @param out Destination for the indices, at least x.length long.
+     */
+    public void nearest(double[] x, double[] y, int[] out) {
+        if (y.length != x.length || out.length < x.length) {
+            throw new IllegalArgumentException("x, y and out must hold the same number of queries");
+        }
+        Parallel.forRange(0, x.length, 1024, (from, to) -> {
+            Best best = new Best();
+            for (int i = from; i < to; i++) {
+                out[i] = nearest(x[i], y[i], best);
+            }
+        });
+    }
+
+    /**
+     * The k nearest neighbours of (x, y), closest first. The output arrays
+     * double as the search heap, so nothing else is allocated.
+     *
+     * @param x         Query x.
+     * @param y         Query y.
+     * @param k         Neighbours wanted.
+     * @param indices   Destination for the indices, at least k long.
+     * @param distances Destination for the Euclidean distances, at least k
+     *                  long.
+     * @return Number of neighbours found, min(k, size()).
+     */
+    public int nearest(double x, double y, int k, int[] indices, double[] distances) {
+        return nearest(x, y, k, indices, distances, 0);
+    }
+
+    private int nearest(double x, double y, int k, int[] indices, double[] distances, int offset) {
+        if (k < 0 || indices.length < offset + k || distances.length < offset + k) {
+            throw new IllegalArgumentException("indices and distances must hold k results");
+        }
+        int count = k == 0 ? 0 : search(0, px.length, 0, x, y, k, indices, distances, offset, 0);
+
+        // Heap sort the max-heap into ascending order
+        for (int end = count - 1; end > 0; end--) {
+            swapHeap(indices, distances, offset, offset + end);
+            siftDown(indices, distances, offset, 0, end);
+        }
+        for (int i = offset; i < offset + count; i++) {
+            indices[i] = ids[indices[i]];
+            distances[i] = Math.sqrt(distances[i]);
+        }
+        return count;
+    }
+
+    /**
+     * k nearest neighbour search keeping a max-heap of squared distances
+     * and node positions in indices/distances[offset, offset + count).
+     *
+     * @return The new heap size.
+     */
+    private int search(int lo, int hi, int depth, double x, double y, int k, int[] indices, double[] distances,
+            int offset, int count) {
+        if (hi - lo <= LEAF) {
+            for (int i = lo; i < hi; i++) {
+                count = offer(i, x, y, k, indices, distances, offset, count);
+            }
+            return count;
+        }
+        int mid = (lo + hi) >>> 1;
+        count = offer(mid, x, y, k, indices, distances, offset, count);
+        double diff = (depth & 1) == 0 ? x - px[mid] : y - py[mid];
+        int nearLo = diff < 0 ? lo : mid + 1, nearHi = diff < 0 ? mid : hi;
+        int farLo = diff < 0 ? mid + 1 : lo, farHi = diff < 0 ? hi : mid;
+        count = search(nearLo, nearHi, depth + 1, x, y, k, indices, distances, offset, count);
+        if (count < k || diff * diff < distances[offset]) {
+            count = search(farLo, farHi, depth + 1, x, y, k, indices, distances, offset, count);
+        }
+        return count;
+    }
+
+    private int offer(int node, double x, double y, int k, int[] indices, double[] distances, int offset,
+            int count) {
+        double dx = x - px[node], dy = y - py[node], d = dx * dx + dy * dy;
+        if (count < k) {
+            // Sift up
+            int i = count;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (distances[offset + parent] >= d) {
+                    break;
+                }
+                indices[offset + i] = indices[offset + parent];
+                distances[offset + i] = distances[offset + parent];
+                i = parent;
+            }
+            indices[offset + i] = node;
+            distances[offset + i] = d;
+            return count + 1;
+        }
+        if (d < distances[offset]) {
+            indices[offset] = node;
+            distances[offset] = d;
+            siftDown(indices, distances, offset, 0, count);
+        }
+        return count;
+    }
+
+    private static void siftDown(int[] indices, double[] distances, int offset, int i, int size) {
+        while (true) {
+            int largest = i, left = 2 * i + 1, right = left + 1;
+            if (left < size && distances[offset + left] > distances[offset + largest]) {
+                largest = left;
+            }
+            if (right < size && distances[offset + right] > distances[offset + largest]) {
+                largest = right;
+            }
+            if (largest == i) {
+                return;
+            }
+            swapHeap(indices, distances, offset + i, offset + largest);
+            i = largest;
+        }
+    }
+
+    private static void swapHeap(int[] indices, double[] distances, int a, int b) {
+        int t = indices[a];
+        indices[a] = indices[b];
+        indices[b] = t;
+        double d = distances[a];
+        distances[a] = distances[b];
+        distances[b] = d;
+    }
+
+    /**
+     * k nearest neighbours of every query, in parallel for long batches.
+     * The neighbours of query i are at [i * k, i * k + k) of the outputs;
+     * when the tree has fewer than k points the rest are -1 and NaN.
+     *
+     * @param x         Query x coordinates.
+     * @param y         Query y coordinates.
+     * @param k         Neighbours per query.
+     * @param indices   Destination, at least x.length * k long.
+     * @param distances Destination, at least x.length * k long.
+     */
+    public void nearest(double[] x, double[] y, int k, int[] indices, double[] distances) {
+        if (y.length != x.length || (long) x.length * k > Math.min(indices.length, distances.length)) {
+            throw new IllegalArgumentException("outputs must hold k results per query");
+        }
+        Parallel.forRange(0, x.length, 256, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                int found = nearest(x[i], y[i], k, indices, distances, i * k);
+                for (int j = found; j < k; j++) {
+                    indices[i * k + j] = -1;
+                    distances[i * k + j] = Double.NaN;
+                }
+            }
+        });
+    }
+
+    /**
+     * Visits every point in the closed rectangle [minX, maxX] x [minY, maxY].
+     *
+     * @param visitor Receives the index of each point, in no particular
+     *                order.
+     */
+    public void range(double minX, double minY, double maxX, double maxY, IntConsumer visitor) {
+        range(0, px.length, 0, minX, minY, maxX, maxY, visitor);
+    }
+
+    private void range(int lo, int hi, int depth, double minX, double minY, double maxX, double maxY,
+            IntConsumer visitor) {
+        if (hi - lo <= LEAF) {
+            for (int i = lo; i < hi; i++) {
+                if (px[i] >= minX && px[i] <= maxX && py[i] >= minY && py[i] <= maxY) {
+                    visitor.accept(ids[i]);
+                }
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double x = px[mid], y = py[mid];
+        if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+            visitor.accept(ids[mid]);
+        }
+        double split = (depth & 1) == 0 ? x : y;
+        if (((depth & 1) == 0 ? minX : minY) <= split) {
+            range(lo, mid, depth + 1, minX, minY, maxX, maxY, visitor);
+        }
+        if (((depth & 1) == 0 ? maxX : maxY) >= split) {
+            range(mid + 1, hi, depth + 1, minX, minY, maxX, maxY, visitor);
+        }
+    }
+
+    /**
+     * @return Indices of the points in the closed rectangle, ascending.
+     */
+    public int[] range(double minX, double minY, double maxX, double maxY) {
+        Collector collector = new Collector();
+        range(minX, minY, maxX, maxY, collector);
+        return collector.sorted();
+    }
+
+    /**
+     * Visits every point within distance radius of (x, y), inclusive.
+     *
+     * @param visitor Receives the index of each point, in no particular
+     *                order.
+     */
+    public void radius(double x, double y, double radius, IntConsumer visitor) {
+        if (radius >= 0) {
+            radius(0, px.length, 0, x, y, radius * radius, visitor);
+        }
+    }
+
+    private void radius(int lo, int hi, int depth, double x, double y, double r2, IntConsumer visitor) {
+        if (hi - lo <= LEAF) {
+            for (int i = lo; i < hi; i++) {
+                double dx = x - px[i], dy = y - py[i];
+                if (dx * dx + dy * dy <= r2) {
+                    visitor.accept(ids[i]);
+                }
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double dx = x - px[mid], dy = y - py[mid];
+        if (dx * dx + dy * dy <= r2) {
+            visitor.accept(ids[mid]);
+        }
+        double diff = (depth & 1) == 0 ? dx : dy;
+        if (diff <= 0 || diff * diff <= r2) {
+            radius(lo, mid, depth + 1, x, y, r2, visitor);
+        }
+        if (diff >= 0 || diff * diff <= r2) {
+            radius(mid + 1, hi, depth + 1, x, y, r2, visitor);
+        }
+    }
+
+    /**
+     * @return Indices of the points within radius of (x, y), ascending.
+     */
+    public int[] radius(double x, double y, double radius) {
+        Collector collector = new Collector();
+        radius(x, y, radius, collector);
+        return collector.sorted();
+    }
+
+    /**
+     * Number of points within radius of each query, in parallel for long
+     * batches.
+     *
+     * @param x      Query x coordinates.
+     * @param y      Query y coordinates.
+     * @param radius Search radius.
+     * @param out    Destination for the counts.
+     */
+    public void radiusCount(double[] x, double[] y, double radius, int[] out) {
+        if (y.length != x.length || out.length < x.length) {
+            throw new IllegalArgumentException("x, y and out must hold the same number of queries");
+        }
+        Parallel.forRange(0, x.length, 256, (from, to) -> {
+            int[] count = new int[1];
+            IntConsumer counter = i -> count[0]++;
+            for (int i = from; i < to; i++) {
+                count[0] = 0;
+                radius(x[i], y[i], radius, counter);
+                out[i] = count[0];
+            }
+        });
+    }
+
+    /** Growable int buffer for the array returning queries. */
+    private static final class Collector implements IntConsumer {
+        int[] items = new int[16];
+        int size;
+
+        @Override
+        public void accept(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, 2 * size);
+            }
+            items[size++] = value;
+        }
+
+        int[] sorted() {
+            int[] result = Arrays.copyOf(items, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
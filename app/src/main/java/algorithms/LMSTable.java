@@ -0,0 +1,382 @@
+package algorithms;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LMS growth reference (e.g. CDC or WHO BMI-for-age) for z-scores and
+ * percentiles.
+ *
+ * A measurement X at a given age and sex has
+ *
+ * z = ((X / M)^L - 1) / (L S), or ln(X / M) / S when L = 0,
+ *
+ * where L (Box-Cox power), M (median) and S (coefficient of variation) are
+ * interpolated linearly between the tabulated ages. Both sexes must be
+ * tabulated on the same uniform age grid, so a lookup is index arithmetic:
+ * i = (age - first) / step. The grid may be preceded by one row at a
+ * different spacing, as in the CDC files whose ages run 24, 24.5, 25.5, ...,
+ * 240.5 months. The parameters are stored interleaved in a
+ * single double[] for locality, and the batch methods run over primitive
+ * columns without allocating, in parallel for long columns.
+ *
+ * Sex is coded as in the CDC files: {@link #MALE} = 1, {@link #FEMALE} = 2.
+ * Ages outside the table give NaN.
+ */
+public class LMSTable {
+    public static final int MALE = 1, FEMALE = 2;
+
+    // lead is the age of the extra leading row, NaN if there is none
+    private final double lead, first, step;
+    private final int ages;
+    // lms[((sex - 1) * ages + i) * 3 + {0, 1, 2}] = L, M, S at age index i
+    private final double[] lms;
+
+    /**
+     * @param firstAge First tabulated age.
+     * @param step     Age step between rows.
+     * @param maleL    L by age for boys.
+     * @param maleM    M by age for boys.
+     * @param maleS    S by age for boys.
+     * @param femaleL  L by age for girls.
+     * @param femaleM  M by age for girls.
+     * @param femaleS  S by age for girls.
+     */
+    public LMSTable(double firstAge, double step, double[] maleL, double[] maleM, double[] maleS, double[] femaleL,
+            double[] femaleM, double[] femaleS) {
+        this(Double.NaN, firstAge, step, maleL, maleM, maleS, femaleL, femaleM, femaleS);
+    }
+
+    /**
+     * Table whose first row is at leadAge, followed by the uniform grid
+     * firstAge, firstAge + step, ..., e.g. leadAge = 24, firstAge = 24.5 and
+     * step = 1 for the CDC files.
+     *
+     * @param leadAge  Age of the first row, below firstAge; NaN for none.
+     * @param firstAge Age of the second row, the start of the uniform grid.
+     * @param step     Age step between the rows of the grid.
+     * @param maleL    L by age for boys, starting with the leading row.
+     * @param maleM    M by age for boys.
+     * @param maleS    S by age for boys.
+     * @param femaleL  L by age for girls.
+     * @param femaleM  M by age for girls.
+     * @param femaleS  S by age for girls.
+     */
+    public LMSTable(double leadAge, double firstAge, double step, double[] maleL, double[] maleM, double[] maleS,
+            double[] femaleL, double[] femaleM, double[] femaleS) {
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("step must be positive");
+        }
+        if (!Double.isNaN(leadAge) && !(leadAge < firstAge)) {
+            throw new IllegalArgumentException("the leading age must be below the first age");
+        }
+        int n = maleL.length;
+        for (double[] column : new double[][] { maleM, maleS, femaleL, femaleM, femaleS }) {
+            if (column.length != n) {
+                throw new IllegalArgumentException("all columns must have the same length");
+            }
+        }
+        if (n < 2) {
+            throw new IllegalArgumentException("at least 2 ages are required");
+        }
+        this.lead = leadAge;
+        this.first = firstAge;
+        this.step = step;
+        this.ages = n;
+        this.lms = new double[2 * n * 3];
+        for (int i = 0; i < n; i++) {
+            set(MALE, i, maleL[i], maleM[i], maleS[i]);
+            set(FEMALE, i, femaleL[i], femaleM[i], femaleS[i]);
+        }
+    }
+
+    private void set(int sex, int i, double l, double m, double s) {
+        if (!(m > 0) || !(s > 0)) {
+            throw new IllegalArgumentException("M and S must be positive");
+        }
+        int o = ((sex - 1) * ages + i) * 3;
+        lms[o] = l;
+        lms[o + 1] = m;
+        lms[o + 2] = s;
+    }
+
+    /**
+     * Reads a delimited table with a header row and the columns sex, age,
+     * L, M, S (further columns are ignored), such as the CDC bmiagerev file.
+     * Rows of each sex must be on the same uniform age grid, optionally
+     * preceded by one row at a different spacing (the CDC 24 month row).
+     *
+     * @param file The table.
+     * @return The reference.
+     * @throws IOException If the file cannot be read.
+     */
+    public static LMSTable read(Path file) throws IOException {
+        List<double[]> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length < 5) {
+                    throw new IllegalArgumentException("expected sex, age, L, M, S in: " + line);
+                }
+                double[] row = new double[5];
+                for (int j = 0; j < 5; j++) {
+                    row[j] = Double.parseDouble(fields[j].trim().replace("\"", ""));
+                }
+                rows.add(row);
+            }
+        }
+
+        double[][] columns = new double[6][];
+        double leadAge = Double.NaN, firstAge = Double.NaN, step = Double.NaN;
+        for (int sex = MALE; sex <= FEMALE; sex++) {
+            List<double[]> own = new ArrayList<>();
+            for (double[] row : rows) {
+                if (row[0] == sex) {
+                    own.add(row);
+                }
+            }
+            own.sort((a, b) -> Double.compare(a[1], b[1]));
+            if (own.size() < 2) {
+                throw new IllegalArgumentException("sex " + sex + " needs at least 2 rows");
+            }
+
+            // A first gap that differs from the second marks a leading row
+            int g = own.size() > 2 && !close(own.get(1)[1] - own.get(0)[1], own.get(2)[1] - own.get(1)[1]) ? 1 : 0;
+            double start = own.get(g)[1], delta = own.get(g + 1)[1] - start;
+            for (int i = g; i < own.size(); i++) {
+                if (!close(own.get(i)[1], start + (i - g) * delta)) {
+                    throw new IllegalArgumentException("ages must be on a uniform grid");
+                }
+            }
+            double leading = g == 1 ? own.get(0)[1] : Double.NaN;
+            if (sex == MALE) {
+                leadAge = leading;
+                firstAge = start;
+                step = delta;
+            } else if (Double.compare(leading, leadAge) != 0 || start != firstAge || !close(delta, step)
+                    || own.size() != columns[0].length) {
+                throw new IllegalArgumentException("both sexes must share the same age grid");
+            }
+
+            int base = (sex - 1) * 3;
+            for (int c = 0; c < 3; c++) {
+                columns[base + c] = new double[own.size()];
+                for (int i = 0; i < own.size(); i++) {
+                    columns[base + c][i] = own.get(i)[2 + c];
+                }
+            }
+        }
+        return new LMSTable(leadAge, firstAge, step, columns[0], columns[1], columns[2], columns[3], columns[4],
+                columns[5]);
+    }
+
+    private static boolean close(double a, double b) {
+        return Math.abs(a - b) <= 1e-9 * Math.max(1, Math.abs(b));
+    }
+
+    /**
+     * Fractional row index of an age; out of [0, ages - 1] (or NaN) outside
+     * the table.
+     */
+    private double position(double age) {
+        if (Double.isNaN(lead)) {
+            return (age - first) / step;
+        }
+        if (age < first) {
+            return (age - lead) / (first - lead);
+        }
+        return 1 + (age - first) / step;
+    }
+
+    /**
+     * Interpolated L, M and S.
+     *
+     * @param sex Sex code.
+     * @param age Age in the table's unit.
+     * @param out Destination for L, M, S (length 3).
+     * @return false (and out untouched) outside the table.
+     */
+    public boolean lms(int sex, double age, double[] out) {
+        checkSex(sex);
+        double position = position(age);
+        if (!(position >= 0 && position <= ages - 1)) {
+            return false;
+        }
+        int i = Math.min((int) position, ages - 2);
+        double frac = position - i;
+        int o = ((sex - 1) * ages + i) * 3;
+        for (int c = 0; c < 3; c++) {
+            out[c] = lms[o + c] + frac * (lms[o + 3 + c] - lms[o + c]);
+        }
+        return true;
+    }
+
+    /**
+     * @param sex   Sex code.
+     * @param age   Age in the table's unit.
+     * @param value Measurement, e.g. BMI.
+     * @return The z-score, NaN outside the table.
+     */
+    public double zScore(int sex, double age, double value) {
+        checkSex(sex);
+        return z(sex, age, value);
+    }
+
+    /**
+     * @return The percentile (0-100) of a measurement, NaN outside the table.
+     */
+    public double percentile(int sex, double age, double value) {
+        return 100 * normalCdf(zScore(sex, age, value));
+    }
+
+    /**
+     * Measurement at a z-score, M (1 + L S z)^(1/L) or M e^(S z) when
+     * L = 0, e.g. for drawing centile curves.
+     *
+     * @return The value, NaN outside the table.
+     */
+    public double value(int sex, double age, double z) {
+        checkSex(sex);
+        double position = position(age);
+        if (!(position >= 0 && position <= ages - 1)) {
+            return Double.NaN;
+        }
+        int i = Math.min((int) position, ages - 2);
+        double frac = position - i;
+        int o = ((sex - 1) * ages + i) * 3;
+        double l = lms[o] + frac * (lms[o + 3] - lms[o]);
+        double m = lms[o + 1] + frac * (lms[o + 4] - lms[o + 1]);
+        double s = lms[o + 2] + frac * (lms[o + 5] - lms[o + 2]);
+        return Math.abs(l) < 1e-12 ? m * Math.exp(s * z) : m * Math.pow(1 + l * s * z, 1 / l);
+    }
+
+    /** z-score without allocation; sex has been validated. */
+    private double z(int sex, double age, double value) {
+        double position = position(age);
+        if (!(position >= 0 && position <= ages - 1)) {
+            return Double.NaN;
+        }
+        int i = Math.min((int) position, ages - 2);
+        double frac = position - i;
+        int o = ((sex - 1) * ages + i) * 3;
+        double l = lms[o] + frac * (lms[o + 3] - lms[o]);
+        double m = lms[o + 1] + frac * (lms[o + 4] - lms[o + 1]);
+        double s = lms[o + 2] + frac * (lms[o + 5] - lms[o + 2]);
+        return Math.abs(l) < 1e-12 ? Math.log(value / m) / s : (Math.pow(value / m, l) - 1) / (l * s);
+    }
+
+    /**
+     * z-scores of whole columns, out[i] = zScore(sex[i], age[i], value[i]).
+     */
+    public void zScores(int[] sex, double[] age, double[] value, double[] out) {
+        checkColumns(out.length, sex.length, age.length, value.length);
+        Parallel.forRange(0, out.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                checkSex(sex[i]);
+                out[i] = z(sex[i], age[i], value[i]);
+            }
+        });
+    }
+
+    /**
+     * BMI-for-age z-scores from weight and height columns, computing the BMI
+     * as Medical.bmi does.
+     *
+     * @param sex Sex codes.
+     * @param age Ages in the table's unit.
+     * @param wt  Weights in kilograms.
+     * @param ht  Heights in centimeters.
+     * @param out Destination for the z-scores.
+     */
+    public void bmiZScores(int[] sex, double[] age, double[] wt, double[] ht, double[] out) {
+        checkColumns(out.length, sex.length, age.length, wt.length, ht.length);
+        Parallel.forRange(0, out.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                checkSex(sex[i]);
+                double m = ht[i] / 100;
+                out[i] = z(sex[i], age[i], wt[i] / (m * m));
+            }
+        });
+    }
+
+    /**
+     * Converts z-scores to percentiles (0-100), in place if z == out.
+     */
+    public static void percentiles(double[] z, double[] out) {
+        checkColumns(out.length, z.length);
+        Parallel.forRange(0, out.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = 100 * normalCdf(z[i]);
+            }
+        });
+    }
+
+    /**
+     * Standard normal cumulative distribution function, to about 1e-15
+     * absolute and 1e-9 relative in the tails (Hart's rational approximation
+     * as given by West, 2005).
+     *
+     * @param z The z-score.
+     * @return P(Z &lt;= z).
+     */
+    public static double normalCdf(double z) {
+        if (Double.isNaN(z)) {
+            return Double.NaN;
+        }
+        double x = Math.abs(z);
+        double tail;
+        if (x > 37) {
+            tail = 0;
+        } else {
+            double e = Math.exp(-x * x / 2);
+            if (x < 7.07106781186547) {
+                double num = 3.52624965998911e-02 * x + 0.700383064443688;
+                num = num * x + 6.37396220353165;
+                num = num * x + 33.912866078383;
+                num = num * x + 112.079291497871;
+                num = num * x + 221.213596169931;
+                num = num * x + 220.206867912376;
+                double den = 8.83883476483184e-02 * x + 1.75566716318264;
+                den = den * x + 16.064177579207;
+                den = den * x + 86.7807322029461;
+                den = den * x + 296.564248779674;
+                den = den * x + 637.333633378831;
+                den = den * x + 793.826512519948;
+                den = den * x + 440.413735824752;
+                tail = e * num / den;
+            } else {
+                double b = x + 0.65;
+                b = x + 4 / b;
+                b = x + 3 / b;
+                b = x + 2 / b;
+                b = x + 1 / b;
+                tail = e / b / 2.506628274631;
+            }
+        }
+        return z > 0 ? 1 - tail : tail;
+    }
+
+    private static void checkSex(int sex) {
+        if (sex != MALE && sex != FEMALE) {
+            throw new IllegalArgumentException("sex must be MALE (1) or FEMALE (2)");
+        }
+    }
+
+    private static void checkColumns(int length, int... columns) {
+        for (int column : columns) {
+            if (column < length) {
+                throw new IllegalArgumentException("columns must be at least as long as out");
+            }
+        }
+    }
+}
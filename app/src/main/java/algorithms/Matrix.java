@@ -0,0 +1,621 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Dense real matrix stored row-major in a single contiguous double[], so
+ * element (i, j) lives at data[i * cols + j].
+ *
+ * Multiplication is cache-blocked and spread over the common fork/join pool
+ * by blocks of rows. Factorizations are available through {@link #lu()} and
+ * {@link #cholesky()}.
+ */
+public class Matrix {
+    /** Tile edge for blocked kernels; 3 tiles of 64x64 doubles fit in L2. */
+    static final int BLOCK = 64;
+
+    /** Below this many multiply-adds the kernels run on the calling thread. */
+    private static final long PARALLEL_WORK = 1L << 18;
+
+    private final int rows, cols;
+    private final double[] data;
+
+    /**
+     * Creates a zero matrix.
+     *
+     * @param rows Number of rows.
+     * @param cols Number of columns.
+     */
+    public Matrix(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("matrix dimensions must be positive");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.data = new double[rows * cols];
+    }
+
+    /**
+     * Creates a matrix from row-major data. The array is copied.
+     *
+     * @param rows Number of rows.
+     * @param cols Number of columns.
+     * @param data rows * cols values in row-major order.
+     */
+    public Matrix(int rows, int cols, double[] data) {
+        this(rows, cols);
+        if (data.length != rows * cols) {
+            throw new IllegalArgumentException("data must hold rows * cols values");
+        }
+        System.arraycopy(data, 0, this.data, 0, data.length);
+    }
+
+    /**
+     * Creates a matrix from a rectangular 2D array.
+     *
+     * @param values values[i][j] is element (i, j).
+     * @return The matrix.
+     */
+    public static Matrix of(double[][] values) {
+        Matrix m = new Matrix(values.length, values[0].length);
+        for (int i = 0; i < m.rows; i++) {
+            if (values[i].length != m.cols) {
+                throw new IllegalArgumentException("all rows must have the same length");
+            }
+            System.arraycopy(values[i], 0, m.data, i * m.cols, m.cols);
+        }
+        return m;
+    }
+
+    /**
+     * @param n Order of the matrix.
+     * @return The n x n identity matrix.
+     */
+    public static Matrix identity(int n) {
+        Matrix m = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            m.data[i * n + i] = 1;
+        }
+        return m;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public double get(int i, int j) {
+        return data[index(i, j)];
+    }
+
+    public void set(int i, int j, double value) {
+        data[index(i, j)] = value;
+    }
+
+    private int index(int i, int j) {
+        if (i < 0 || i >= rows || j < 0 || j >= cols) {
+            throw new IndexOutOfBoundsException("(" + i + ", " + j + ") outside " + rows + "x" + cols);
+        }
+        return i * cols + j;
+    }
+
+    /**
+     * @return A copy of the row-major data.
+     */
+    public double[] toArray() {
+        return data.clone();
+    }
+
+    /**
+     * @return A copy of the matrix as a 2D array.
+     */
+    public double[][] toArray2D() {
+        double[][] values = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            values[i] = Arrays.copyOfRange(data, i * cols, (i + 1) * cols);
+        }
+        return values;
+    }
+
+    /**
+     * @return this + b
+     */
+    public Matrix plus(Matrix b) {
+        checkSameShape(b);
+        Matrix c = new Matrix(rows, cols);
+        for (int i = 0; i < data.length; i++) {
+            c.data[i] = data[i] + b.data[i];
+        }
+        return c;
+    }
+
+    /**
+     * @return this - b
+     */
+    public Matrix minus(Matrix b) {
+        checkSameShape(b);
+        Matrix c = new Matrix(rows, cols);
+        for (int i = 0; i < data.length; i++) {
+            c.data[i] = data[i] - b.data[i];
+        }
+        return c;
+    }
+
+    /**
+     * @return alpha * this
+     */
+    public Matrix scale(double alpha) {
+        Matrix c = new Matrix(rows, cols);
+        for (int i = 0; i < data.length; i++) {
+            c.data[i] = alpha * data[i];
+        }
+        return c;
+    }
+
+    /**
+     * Matrix-vector product.
+     *
+     * @param v Vector of length cols.
+     * @return this * v
+     */
+    public double[] multiply(double[] v) {
+        if (v.length != cols) {
+            throw new IllegalArgumentException("vector length must equal the number of columns");
+        }
+        double[] out = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            double sum = 0;
+            for (int j = 0, off = i * cols; j < cols; j++) {
+                sum += data[off + j] * v[j];
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    /**
+     * Matrix product C = this * b.
+     *
+     * The loops are tiled in BLOCK x BLOCK pieces over k and j, and the
+     * innermost loop runs along contiguous rows of b and c (i-k-j order) so
+     * the JIT can vectorize it. Blocks of rows of c are computed in parallel.
+     *
+     * @param b Matrix with b.rows() == cols().
+     * @return The product.
+     */
+    public Matrix multiply(Matrix b) {
+        if (cols != b.rows) {
+            throw new IllegalArgumentException("inner dimensions must agree: " + rows + "x" + cols + " * "
+                    + b.rows + "x" + b.cols);
+        }
+
+        Matrix c = new Matrix(rows, b.cols);
+        int rowBlocks = (rows + BLOCK - 1) / BLOCK;
+        long work = (long) rows * cols * b.cols;
+
+        if (work < PARALLEL_WORK) {
+            multiplyBlock(b, c, 0, rows);
+        } else {
+            Parallel.forRange(0, rowBlocks, 1,
+                    (from, to) -> multiplyBlock(b, c, from * BLOCK, Math.min(rows, to * BLOCK)));
+        }
+        return c;
+    }
+
+    private void multiplyBlock(Matrix b, Matrix c, int rowFrom, int rowTo) {
+        int n = b.cols;
+        double[] a = data, bd = b.data, cd = c.data;
+
+        for (int kk = 0; kk < cols; kk += BLOCK) {
+            int kEnd = Math.min(kk + BLOCK, cols);
+            for (int jj = 0; jj < n; jj += BLOCK) {
+                int jEnd = Math.min(jj + BLOCK, n);
+                for (int i = rowFrom; i < rowTo; i++) {
+                    int aRow = i * cols, cRow = i * n;
+                    for (int k = kk; k < kEnd; k++) {
+                        double aik = a[aRow + k];
+                        int bRow = k * n;
+                        for (int j = jj; j < jEnd; j++) {
+                            cd[cRow + j] += aik * bd[bRow + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Transpose, copying BLOCK x BLOCK tiles so that both the reads and the
+     * writes stay within a few cache lines.
+     *
+     * @return The transposed matrix.
+     */
+    public Matrix transpose() {
+        Matrix t = new Matrix(cols, rows);
+        int rowBlocks = (rows + BLOCK - 1) / BLOCK;
+
+        Parallel.RangeTask task = (from, to) -> {
+            for (int ii = from * BLOCK; ii < Math.min(rows, to * BLOCK); ii += BLOCK) {
+                int iEnd = Math.min(ii + BLOCK, rows);
+                for (int jj = 0; jj < cols; jj += BLOCK) {
+                    int jEnd = Math.min(jj + BLOCK, cols);
+                    for (int i = ii; i < iEnd; i++) {
+                        for (int j = jj; j < jEnd; j++) {
+                            t.data[j * rows + i] = data[i * cols + j];
+                        }
+                    }
+                }
+            }
+        };
+
+        if ((long) rows * cols < PARALLEL_WORK) {
+            task.run(0, rowBlocks);
+        } else {
+            Parallel.forRange(0, rowBlocks, 1, task);
+        }
+        return t;
+    }
+
+    /**
+     * LU factorization with partial pivoting, PA = LU.
+     *
+     * @return The factorization.
+     */
+    public LU lu() {
+        checkSquare();
+        return new LU(this);
+    }
+
+    /**
+     * Cholesky factorization A = LLᵀ of a symmetric positive definite matrix.
+     *
+     * @return The factorization.
+     * @throws IllegalArgumentException if the matrix is not positive definite.
+     */
+    public Cholesky cholesky() {
+        checkSquare();
+        return new Cholesky(this);
+    }
+
+    /**
+     * Solves this * x = b by LU factorization.
+     *
+     * @param b Right hand side.
+     * @return x
+     */
+    public double[] solve(double[] b) {
+        return lu().solve(b);
+    }
+
+    /**
+     * @return The inverse of this matrix.
+     */
+    public Matrix inverse() {
+        return lu().inverse();
+    }
+
+    /**
+     * @return The determinant of this matrix.
+     */
+    public double determinant() {
+        return lu().determinant();
+    }
+
+    private void checkSquare() {
+        if (rows != cols) {
+            throw new IllegalArgumentException("matrix must be square");
+        }
+    }
+
+    private void checkSameShape(Matrix b) {
+        if (rows != b.rows || cols != b.cols) {
+            throw new IllegalArgumentException("matrix dimensions must agree");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Matrix))
+            return false;
+        Matrix m = (Matrix) o;
+        return rows == m.rows && cols == m.cols && Arrays.equals(data, m.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + cols) + Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            sb.append(i == 0 ? "[" : " ");
+            for (int j = 0; j < cols; j++) {
+                sb.append(String.format("%10.4f", data[i * cols + j]));
+            }
+            sb.append(i == rows - 1 ? "]" : "\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * LU factorization with partial pivoting. L (unit lower) and U are packed
+     * into one row-major array.
+     */
+    public static class LU {
+        private final int n;
+        private final double[] lu;
+        private final int[] pivot;
+        private final int sign;
+        private final boolean singular;
+
+        private LU(Matrix a) {
+            n = a.rows;
+            lu = a.data.clone();
+            pivot = new int[n];
+            for (int i = 0; i < n; i++) {
+                pivot[i] = i;
+            }
+
+            int s = 1;
+            boolean sing = false;
+
+            for (int k = 0; k < n; k++) {
+                // Find the pivot row
+                int p = k;
+                double max = Math.abs(lu[k * n + k]);
+                for (int i = k + 1; i < n; i++) {
+                    double v = Math.abs(lu[i * n + k]);
+                    if (v > max) {
+                        max = v;
+                        p = i;
+                    }
+                }
+
+                if (max == 0) {
+                    sing = true;
+                    continue;
+                }
+
+                if (p != k) {
+                    swapRows(p, k);
+                    int t = pivot[p];
+                    pivot[p] = pivot[k];
+                    pivot[k] = t;
+                    s = -s;
+                }
+
+                // Rank-1 update of the trailing sub-matrix, one row per task.
+                final int kk = k;
+                final double pivotValue = lu[k * n + k];
+                Parallel.RangeTask update = (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        int row = i * n, top = kk * n;
+                        double l = lu[row + kk] /= pivotValue;
+                        for (int j = kk + 1; j < n; j++) {
+                            lu[row + j] -= l * lu[top + j];
+                        }
+                    }
+                };
+
+                long work = (long) (n - k - 1) * (n - k - 1);
+                if (work < PARALLEL_WORK) {
+                    update.run(k + 1, n);
+                } else {
+                    Parallel.forRange(k + 1, n, Math.max(8, BLOCK / 4), update);
+                }
+            }
+
+            sign = s;
+            singular = sing;
+        }
+
+        private void swapRows(int a, int b) {
+            for (int j = 0; j < n; j++) {
+                double t = lu[a * n + j];
+                lu[a * n + j] = lu[b * n + j];
+                lu[b * n + j] = t;
+            }
+        }
+
+        /**
+         * @return true if a zero pivot was found.
+         */
+        public boolean isSingular() {
+            return singular;
+        }
+
+        /**
+         * @return det(A) = sign(P) * Π Uii
+         */
+        public double determinant() {
+            if (singular) {
+                return 0;
+            }
+            double det = sign;
+            for (int i = 0; i < n; i++) {
+                det *= lu[i * n + i];
+            }
+            return det;
+        }
+
+        /**
+         * Solves Ax = b by forward and back substitution.
+         *
+         * @param b Right hand side of length n.
+         * @return x
+         * @throws ArithmeticException if A is singular.
+         */
+        public double[] solve(double[] b) {
+            if (b.length != n) {
+                throw new IllegalArgumentException("right hand side must have length " + n);
+            }
+            checkSingular();
+
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = b[pivot[i]];
+            }
+            substitute(x);
+            return x;
+        }
+
+        /**
+         * Solves AX = B column by column.
+         *
+         * @param b Right hand sides, n rows.
+         * @return X
+         */
+        public Matrix solve(Matrix b) {
+            if (b.rows != n) {
+                throw new IllegalArgumentException("right hand side must have " + n + " rows");
+            }
+            checkSingular();
+
+            Matrix x = new Matrix(n, b.cols);
+            Parallel.forRange(0, b.cols, Math.max(1, (int) (PARALLEL_WORK / ((long) n * n))), (from, to) -> {
+                double[] col = new double[n];
+                for (int j = from; j < to; j++) {
+                    for (int i = 0; i < n; i++) {
+                        col[i] = b.data[pivot[i] * b.cols + j];
+                    }
+                    substitute(col);
+                    for (int i = 0; i < n; i++) {
+                        x.data[i * b.cols + j] = col[i];
+                    }
+                }
+            });
+            return x;
+        }
+
+        /**
+         * @return A⁻¹
+         */
+        public Matrix inverse() {
+            return solve(identity(n));
+        }
+
+        /** Solves LUx = y in place, y already permuted. */
+        private void substitute(double[] x) {
+            for (int i = 1; i < n; i++) {
+                double sum = x[i];
+                for (int j = 0, row = i * n; j < i; j++) {
+                    sum -= lu[row + j] * x[j];
+                }
+                x[i] = sum;
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                double sum = x[i];
+                for (int j = i + 1, row = i * n; j < n; j++) {
+                    sum -= lu[row + j] * x[j];
+                }
+                x[i] = sum / lu[i * n + i];
+            }
+        }
+
+        private void checkSingular() {
+            if (singular) {
+                throw new ArithmeticException("matrix is singular");
+            }
+        }
+    }
+
+    /**
+     * Cholesky factorization A = LLᵀ, L lower triangular stored row-major.
+     */
+    public static class Cholesky {
+        private final int n;
+        private final double[] l;
+
+        private Cholesky(Matrix a) {
+            n = a.rows;
+            l = new double[n * n];
+
+            for (int j = 0; j < n; j++) {
+                int rowJ = j * n;
+                double d = a.data[rowJ + j];
+                for (int k = 0; k < j; k++) {
+                    d -= l[rowJ + k] * l[rowJ + k];
+                }
+                if (!(d > 0)) {
+                    throw new IllegalArgumentException("matrix is not symmetric positive definite");
+                }
+                double ljj = Math.sqrt(d);
+                l[rowJ + j] = ljj;
+
+                // Column j below the diagonal; each row is an independent dot
+                // product of two contiguous row prefixes.
+                final int jj = j;
+                Parallel.RangeTask column = (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        int rowI = i * n;
+                        double s = a.data[rowI + jj];
+                        for (int k = 0; k < jj; k++) {
+                            s -= l[rowI + k] * l[rowJ + k];
+                        }
+                        l[rowI + jj] = s / ljj;
+                    }
+                };
+
+                if ((long) (n - j - 1) * j < PARALLEL_WORK) {
+                    column.run(j + 1, n);
+                } else {
+                    Parallel.forRange(j + 1, n, Math.max(8, BLOCK / 4), column);
+                }
+            }
+        }
+
+        /**
+         * @return The lower triangular factor L.
+         */
+        public Matrix getL() {
+            return new Matrix(n, n, l);
+        }
+
+        /**
+         * @return det(A) = Π Lii²
+         */
+        public double determinant() {
+            double det = 1;
+            for (int i = 0; i < n; i++) {
+                det *= l[i * n + i];
+            }
+            return det * det;
+        }
+
+        /**
+         * Solves Ax = b with Ly = b then Lᵀx = y.
+         *
+         * @param b Right hand side of length n.
+         * @return x
+         */
+        public double[] solve(double[] b) {
+            if (b.length != n) {
+                throw new IllegalArgumentException("right hand side must have length " + n);
+            }
+
+            double[] x = b.clone();
+            for (int i = 0; i < n; i++) {
+                double sum = x[i];
+                for (int k = 0, row = i * n; k < i; k++) {
+                    sum -= l[row + k] * x[k];
+                }
+                x[i] = sum / l[i * n + i];
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                double sum = x[i];
+                for (int k = i + 1; k < n; k++) {
+                    sum -= l[k * n + i] * x[k];
+                }
+                x[i] = sum / l[i * n + i];
+            }
+            return x;
+        }
+    }
+}
@@ -26,7 +26,43 @@ public class Medical {
      * @return BMI
      */
     public double bmi(final double wt, final double ht) {
-        return wt / Math.pow(ht / 100, 2);
+        double m = ht / 100;
+        return wt / (m * m);
+    }
+
+    /**
+     * Calculates the Mean arterial pressure for whole columns of readings,
+     * out[i] = MAP(sbp[i], dbp[i]). Large columns are split across cores.
+     * 
+     * @param sbp Systolic blood pressures
+     * @param dbp Diastolic blood pressures
+     * @param out Destination for the Mean Arterial Pressures
+     */
+    public void MAP(final double[] sbp, final double[] dbp, final double[] out) {
+        checkColumns(out.length, sbp, dbp);
+        Parallel.forRange(0, out.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = (dbp[i] + (1.0 / 3.0 * (sbp[i] - dbp[i])));
+            }
+        });
+    }
+
+    /**
+     * Calculate the body mass index for whole columns of measurements,
+     * out[i] = bmi(wt[i], ht[i]). Large columns are split across cores.
+     * 
+     * @param wt  Weights in kilograms
+     * @param ht  Heights in centimeters
+     * @param out Destination for the BMIs
+     */
+    public void bmi(final double[] wt, final double[] ht, final double[] out) {
+        checkColumns(out.length, wt, ht);
+        Parallel.forRange(0, out.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double m = ht[i] / 100;
+                out[i] = wt[i] / (m * m);
+            }
+        });
     }
 
     /**
@@ -64,6 +100,36 @@ public class Medical {
         return sum + h * innersum;
     }
 
+    /**
+     * Calculates the area under a curve by Trapezoid rule, like
+     * {@link #AUC(List)}, reading the samples straight from the series'
+     * arrays. Results are identical to the List based method for 2 or more
+     * samples.
+     * 
+     * @param series (x, y) samples; x must be equally spaced.
+     * @return Area under the curve.
+     * @throws IllegalArgumentException If the series has fewer than 2
+     *                                  samples.
+     */
+    public double AUC(PointSeries series) {
+        if (series.size() < 2) {
+            throw new IllegalArgumentException("at least 2 points are required");
+        }
+
+        double[] x = series.x, y = series.y;
+        int first = series.offset, last = first + series.size() - 1;
+
+        double h = x[first + 1] - x[first];
+        double sum = (h / 2) * (y[first] + y[last]);
+
+        double innersum = 0;
+        for (int i = first + 1; i < last; i++) {
+            innersum += y[i];
+        }
+
+        return sum + h * innersum;
+    }
+
     /**
      * Calculates the drip rate(drops/min) required to infuse volume,
      * v in mL over a time, t(hour) given the drip factor, df(gtt/mL).
@@ -89,4 +155,48 @@ public class Medical {
     int dropsPerSecond(double volume, double dropFactor, double duration) {
         return (int) Math.ceil((volume / (duration * 3600)) * dropFactor);
     }
+
+    /**
+     * Calculates drip rates (drops/min) for whole columns of infusions,
+     * out[i] = dropsPerMinute(volume[i], dropFactor[i], duration[i]).
+     * 
+     * @param volume     Total volumes to be infused in mls
+     * @param dropFactor drop factors (gtt/min)
+     * @param duration   durations in hours
+     * @param out        Destination for the drops/min
+     */
+    public void dropsPerMinute(double[] volume, double[] dropFactor, double[] duration, int[] out) {
+        checkColumns(out.length, volume, dropFactor, duration);
+        Parallel.forRange(0, out.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = (int) ((volume[i] / (duration[i] * 60)) * dropFactor[i]);
+            }
+        });
+    }
+
+    /**
+     * Calculates drip rates (drops/sec) for whole columns of infusions,
+     * out[i] = dropsPerSecond(volume[i], dropFactor[i], duration[i]).
+     * 
+     * @param volume     Total volumes to be infused in mls
+     * @param dropFactor drop factors (gtt/min)
+     * @param duration   durations in hours
+     * @param out        Destination for the drops/sec
+     */
+    public void dropsPerSecond(double[] volume, double[] dropFactor, double[] duration, int[] out) {
+        checkColumns(out.length, volume, dropFactor, duration);
+        Parallel.forRange(0, out.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = (int) Math.ceil((volume[i] / (duration[i] * 3600)) * dropFactor[i]);
+            }
+        });
+    }
+
+    private static void checkColumns(int length, double[]... columns) {
+        for (double[] column : columns) {
+            if (column.length != length) {
+                throw new IllegalArgumentException("all columns must have the same length");
+            }
+        }
+    }
 }
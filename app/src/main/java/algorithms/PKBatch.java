@@ -0,0 +1,230 @@
+package algorithms;
+
+import java.util.List;
+
+import algorithms.PKModel.Dose;
+
+/**
+ * Simulates one dosing regimen for many patients in a single call.
+ *
+ * Patients share the structure of a template {@link PKModel} and may have
+ * their own clearance (or Vmax), central volume and absorption rate given as
+ * primitive columns. Linear models use the closed form per patient.
+ * Saturable models are integrated in blocks of patients whose states are
+ * packed into one double[] and advanced together by a single
+ * {@link DormandPrince} instance,
+ * so the per-step overhead is shared across the block. Patients (or blocks)
+ * are spread over the common fork/join pool.
+ *
+ * Results are written row-major: out[p * times.length + k] is the
+ * concentration of patient p at times[k].
+ */
+public class PKBatch {
+    /** Patients integrated together in one packed ODE state. */
+    static final int BLOCK = 32;
+
+    private final PKModel model;
+    private final int patients;
+    private double[] cl, v1, ka, vmax;
+
+    /**
+     * @param model    Template model; supplies every parameter that has no
+     *                 per-patient column.
+     * @param patients Number of patients.
+     */
+    public PKBatch(PKModel model, int patients) {
+        if (patients <= 0) {
+            throw new IllegalArgumentException("patients must be positive");
+        }
+        this.model = model;
+        this.patients = patients;
+    }
+
+    /**
+     * Per-patient clearances. Ignored for saturable elimination, see
+     * {@link #maxRate(double[])}.
+     *
+     * @return this
+     */
+    public PKBatch clearance(double[] cl) {
+        this.cl = column(cl);
+        return this;
+    }
+
+    /**
+     * Per-patient Vmax of saturable elimination. Ignored for linear models.
+     *
+     * @return this
+     */
+    public PKBatch maxRate(double[] vmax) {
+        this.vmax = column(vmax);
+        return this;
+    }
+
+    /**
+     * Per-patient central volumes.
+     *
+     * @return this
+     */
+    public PKBatch volume(double[] v1) {
+        this.v1 = column(v1);
+        return this;
+    }
+
+    /**
+     * Per-patient absorption rate constants.
+     *
+     * @return this
+     */
+    public PKBatch absorptionRate(double[] ka) {
+        this.ka = column(ka);
+        return this;
+    }
+
+    private double[] column(double[] values) {
+        if (values != null && values.length != patients) {
+            throw new IllegalArgumentException("parameter columns must have one value per patient");
+        }
+        return values;
+    }
+
+    public int getPatients() {
+        return patients;
+    }
+
+    /**
+     * Concentrations of every patient at the given times.
+     *
+     * @param doses Regimen given to every patient.
+     * @param times Output times in increasing order.
+     * @param out   Destination of length patients * times.length.
+     */
+    public void simulate(Dose[] doses, double[] times, double[] out) {
+        int n = times.length;
+        if (out.length < (long) patients * n) {
+            throw new IllegalArgumentException("out must hold patients * times.length values");
+        }
+
+        if (model.hasClosedForm()) {
+            Parallel.forRange(0, patients, Math.max(1, Parallel.GRAIN / Math.max(1, n * doses.length)),
+                    (from, to) -> {
+                        for (int p = from; p < to; p++) {
+                            PKModel m = patientModel(p);
+                            for (int k = 0; k < n; k++) {
+                                out[p * n + k] = m.concentration(times[k], doses);
+                            }
+                        }
+                    });
+            return;
+        }
+
+        int blocks = (patients + BLOCK - 1) / BLOCK;
+        Parallel.forRange(0, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                int first = b * BLOCK, last = Math.min(patients, first + BLOCK);
+                DormandPrince solver = new DormandPrince(PKModel.STATES * (last - first), 1e-12, 1e-9);
+                integrateBlock(model, cl, v1, ka, vmax, first, last, doses, times, out, solver);
+            }
+        });
+    }
+
+    /**
+     * Concentration-time curve of one patient from simulate() output,
+     * ready for Medical.AUC.
+     */
+    public static List<Point> toPoints(double[] times, double[] out, int patient) {
+        int n = times.length;
+        double[] c = new double[n];
+        System.arraycopy(out, patient * n, c, 0, n);
+        return PKModel.toPoints(times, c);
+    }
+
+    private PKModel patientModel(int p) {
+        if (cl == null && v1 == null && ka == null) {
+            return model;
+        }
+        PKModel m = model.twoCompartment
+                ? PKModel.twoCompartment(value(cl, p, model.cl), value(v1, p, model.v1), model.q, model.v2)
+                : PKModel.oneCompartment(value(cl, p, model.cl), value(v1, p, model.v1));
+        double absorption = value(ka, p, model.ka);
+        return absorption > 0 ? m.withAbsorption(absorption, model.f) : m;
+    }
+
+    private static double value(double[] column, int p, double typical) {
+        return column == null ? typical : column[p];
+    }
+
+    /**
+     * Integrates patients [first, last) together. Their states are packed
+     * as consecutive (depot, central, peripheral) triples in one array. The
+     * dose events are shared, so the block is integrated piecewise between
+     * events and each output time.
+     */
+    static void integrateBlock(PKModel model, double[] cl, double[] v1, double[] ka, double[] vmax, int first,
+            int last, Dose[] doses, double[] times, double[] out, DormandPrince solver) {
+        int size = last - first;
+        int states = PKModel.STATES;
+        if (solver.getDimension() != states * size) {
+            throw new IllegalArgumentException("solver must have dimension " + states * size);
+        }
+
+        // Parameters of the block as primitive arrays
+        double[] bcl = new double[size], bv1 = new double[size], bka = new double[size], bvmax = new double[size];
+        for (int j = 0; j < size; j++) {
+            bcl[j] = value(cl, first + j, model.cl);
+            bv1[j] = value(v1, first + j, model.v1);
+            bka[j] = value(ka, first + j, model.ka);
+            bvmax[j] = value(vmax, first + j, model.vmax);
+        }
+
+        double q = model.twoCompartment ? model.q : 0;
+        double v2 = model.v2, km = model.km;
+        boolean saturable = model.saturable;
+        double[] rate = new double[1];
+
+        DormandPrince.OdeSystem system = (t, y, dydt) -> {
+            for (int j = 0, o = 0; j < size; j++, o += states) {
+                double depot = y[o + PKModel.DEPOT];
+                double c = y[o + PKModel.CENTRAL] / bv1[j];
+                double elimination = saturable ? bvmax[j] * c / (km + c) : bcl[j] * c;
+                double absorbed = bka[j] * depot;
+                double transfer = q == 0 ? 0 : q * c - q * y[o + PKModel.PERIPHERAL] / v2;
+
+                dydt[o + PKModel.DEPOT] = -absorbed;
+                dydt[o + PKModel.CENTRAL] = absorbed - elimination - transfer + rate[0];
+                dydt[o + PKModel.PERIPHERAL] = transfer;
+            }
+        };
+
+        double[] events = PKModel.eventTimes(doses);
+        double[] y = new double[states * size];
+        int n = times.length;
+        double t = Math.min(events.length > 0 ? events[0] : 0, n > 0 ? times[0] : 0);
+        int e = 0;
+        solver.reset();
+
+        for (int k = 0; k < n; k++) {
+            if (k > 0 && times[k] < times[k - 1]) {
+                throw new IllegalArgumentException("output times must be increasing");
+            }
+
+            // Step through every dose event up to and including times[k].
+            while (e < events.length && events[e] <= times[k]) {
+                solver.integrate(system, t, y, events[e]);
+                t = events[e];
+                for (int j = 0; j < size; j++) {
+                    model.addDoses(doses, t, bka[j], y, j * states);
+                }
+                rate[0] = PKModel.infusionRate(doses, t);
+                solver.reset();
+                e++;
+            }
+
+            solver.integrate(system, t, y, times[k]);
+            t = times[k];
+            for (int j = 0; j < size; j++) {
+                out[(first + j) * n + k] = y[j * states + PKModel.CENTRAL] / bv1[j];
+            }
+        }
+    }
+}
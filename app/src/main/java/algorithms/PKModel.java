@@ -0,0 +1,371 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One- and two-compartment pharmacokinetic models with IV bolus, IV infusion
+ * and first-order oral dosing.
+ *
+ * With linear (clearance) elimination the unit impulse response of the
+ * central compartment is a sum of exponentials Σ Ai e^(-λi t), so every dose
+ * type has a closed form and multiple doses superpose. Saturable
+ * (Michaelis–Menten) elimination has no closed form and is integrated with
+ * {@link DormandPrince}.
+ *
+ * Amounts and volumes must use consistent units; concentrations are
+ * amount / volume and times share the unit of the rate constants.
+ * Instances are immutable.
+ */
+public class PKModel {
+    /** State layout for the ODE form: amounts in each compartment. */
+    static final int DEPOT = 0, CENTRAL = 1, PERIPHERAL = 2, STATES = 3;
+
+    final double cl, v1, q, v2, ka, f, vmax, km;
+    final boolean twoCompartment, saturable;
+
+    // Unit impulse response of the central concentration: Σ A[i] e^(-L[i] t)
+    private final double[] A, L;
+
+    private PKModel(double cl, double v1, double q, double v2, double ka, double f, double vmax, double km,
+            boolean twoCompartment, boolean saturable) {
+        if (!(v1 > 0) || (twoCompartment && !(v2 > 0))) {
+            throw new IllegalArgumentException("volumes must be positive");
+        }
+        if (cl < 0 || q < 0 || ka < 0 || f < 0) {
+            throw new IllegalArgumentException("rate parameters must be non-negative");
+        }
+        this.cl = cl;
+        this.v1 = v1;
+        this.q = q;
+        this.v2 = v2;
+        this.ka = ka;
+        this.f = f;
+        this.vmax = vmax;
+        this.km = km;
+        this.twoCompartment = twoCompartment;
+        this.saturable = saturable;
+
+        double k10 = cl / v1;
+        if (!twoCompartment) {
+            A = new double[] { 1 / v1 };
+            L = new double[] { k10 };
+        } else {
+            // α and β are the roots of λ² - (k10+k12+k21)λ + k10 k21 = 0
+            double k12 = q / v1, k21 = q / v2;
+            double sum = k10 + k12 + k21;
+            double root = Math.sqrt(sum * sum - 4 * k10 * k21);
+            double alpha = (sum + root) / 2;
+            double beta = k10 * k21 / alpha;
+            A = new double[] { (alpha - k21) / (v1 * (alpha - beta)), (k21 - beta) / (v1 * (alpha - beta)) };
+            L = new double[] { alpha, beta };
+        }
+    }
+
+    /**
+     * @param cl Clearance (volume/time).
+     * @param v  Volume of distribution.
+     * @return A one-compartment model with IV dosing only.
+     */
+    public static PKModel oneCompartment(double cl, double v) {
+        return new PKModel(cl, v, 0, 0, 0, 1, 0, 0, false, false);
+    }
+
+    /**
+     * @param cl Clearance from the central compartment.
+     * @param v1 Central volume.
+     * @param q  Inter-compartmental clearance.
+     * @param v2 Peripheral volume.
+     * @return A two-compartment model with IV dosing only.
+     */
+    public static PKModel twoCompartment(double cl, double v1, double q, double v2) {
+        return new PKModel(cl, v1, q, v2, 0, 1, 0, 0, true, false);
+    }
+
+    /**
+     * Adds first-order absorption from a depot compartment, needed for oral
+     * doses.
+     *
+     * @param ka              Absorption rate constant.
+     * @param bioavailability Fraction F of an oral dose reaching the
+     *                        circulation.
+     * @return A new model.
+     */
+    public PKModel withAbsorption(double ka, double bioavailability) {
+        return new PKModel(cl, v1, q, v2, ka, bioavailability, vmax, km, twoCompartment, saturable);
+    }
+
+    /**
+     * Replaces linear clearance with Michaelis–Menten elimination
+     * Vmax C / (Km + C). Such models are always integrated numerically.
+     *
+     * @param vmax Maximum elimination rate (amount/time).
+     * @param km   Concentration at half the maximum rate.
+     * @return A new model.
+     */
+    public PKModel withSaturableElimination(double vmax, double km) {
+        if (!(vmax >= 0) || !(km > 0)) {
+            throw new IllegalArgumentException("vmax must be non-negative and km positive");
+        }
+        return new PKModel(0, v1, q, v2, ka, f, vmax, km, twoCompartment, true);
+    }
+
+    /**
+     * @return true unless elimination is saturable.
+     */
+    public boolean hasClosedForm() {
+        return !saturable;
+    }
+
+    /**
+     * A single administration.
+     */
+    public static class Dose {
+        /** Route of administration. */
+        public enum Route {
+            BOLUS, INFUSION, ORAL
+        }
+
+        final Route route;
+        final double time, amount, duration;
+
+        private Dose(Route route, double time, double amount, double duration) {
+            if (!(amount >= 0) || !(duration >= 0)) {
+                throw new IllegalArgumentException("amount and duration must be non-negative");
+            }
+            this.route = route;
+            this.time = time;
+            this.amount = amount;
+            this.duration = duration;
+        }
+
+        public static Dose bolus(double time, double amount) {
+            return new Dose(Route.BOLUS, time, amount, 0);
+        }
+
+        /**
+         * Zero order infusion of amount over duration starting at time.
+         */
+        public static Dose infusion(double time, double amount, double duration) {
+            if (!(duration > 0)) {
+                throw new IllegalArgumentException("infusion duration must be positive");
+            }
+            return new Dose(Route.INFUSION, time, amount, duration);
+        }
+
+        public static Dose oral(double time, double amount) {
+            return new Dose(Route.ORAL, time, amount, 0);
+        }
+
+        public Route getRoute() {
+            return route;
+        }
+
+        public double getTime() {
+            return time;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public double getDuration() {
+            return duration;
+        }
+    }
+
+    /**
+     * Closed form central concentration at time t after the given doses.
+     *
+     * @param t     Time.
+     * @param doses Doses (any order).
+     * @return The concentration.
+     */
+    public double concentration(double t, Dose... doses) {
+        if (saturable) {
+            throw new IllegalStateException("saturable elimination has no closed form; use concentrations()");
+        }
+        double c = 0;
+        for (Dose dose : doses) {
+            c += response(dose, t);
+        }
+        return c;
+    }
+
+    private double response(Dose dose, double time) {
+        double t = time - dose.time;
+        if (t <= 0 && !(t == 0 && dose.route == Dose.Route.BOLUS)) {
+            return 0;
+        }
+
+        double c = 0;
+        switch (dose.route) {
+        case BOLUS:
+            for (int i = 0; i < A.length; i++) {
+                c += A[i] * Math.exp(-L[i] * t);
+            }
+            return dose.amount * c;
+
+        case INFUSION: {
+            // Integral of the impulse response over the infusion window
+            double rate = dose.amount / dose.duration;
+            double tau = Math.min(t, dose.duration);
+            for (int i = 0; i < A.length; i++) {
+                c += L[i] == 0 ? A[i] * tau
+                        : A[i] / L[i] * (Math.exp(-L[i] * (t - tau)) - Math.exp(-L[i] * t));
+            }
+            return rate * c;
+        }
+
+        case ORAL:
+            checkAbsorption(ka);
+            // Convolution of ka e^(-ka t) with the impulse response
+            for (int i = 0; i < A.length; i++) {
+                double d = ka - L[i];
+                c += Math.abs(d) < 1e-12 * ka ? A[i] * ka * t * Math.exp(-ka * t)
+                        : A[i] * ka / d * (Math.exp(-L[i] * t) - Math.exp(-ka * t));
+            }
+            return f * dose.amount * c;
+
+        default:
+            throw new IllegalArgumentException("unknown route " + dose.route);
+        }
+    }
+
+    private static void checkAbsorption(double ka) {
+        if (!(ka > 0)) {
+            throw new IllegalStateException("oral doses need an absorption rate; see withAbsorption()");
+        }
+    }
+
+    /**
+     * Central concentrations at the given times. Uses the closed form when
+     * it exists, otherwise integrates the compartment equations.
+     *
+     * @param doses Doses.
+     * @param times Output times.
+     * @param out   Destination, at least times.length long.
+     */
+    public void concentrations(Dose[] doses, double[] times, double[] out) {
+        if (saturable) {
+            integrate(doses, times, out, new DormandPrince(STATES, 1e-12, 1e-9));
+            return;
+        }
+        for (int k = 0; k < times.length; k++) {
+            out[k] = concentration(times[k], doses);
+        }
+    }
+
+    /**
+     * Central concentrations at the given times from the compartment
+     * equations, solved with Dormand–Prince between dose events.
+     *
+     * @param doses  Doses.
+     * @param times  Output times in increasing order.
+     * @param out    Destination, at least times.length long.
+     * @param solver A 3-dimensional integrator; reused for its work arrays.
+     */
+    public void integrate(Dose[] doses, double[] times, double[] out, DormandPrince solver) {
+        PKBatch.integrateBlock(this, null, null, null, null, 0, 1, doses, times, out, solver);
+    }
+
+    /**
+     * Concentrations after one unit of the given dose's route (and infusion
+     * duration) given at time 0, sampled at t = k dt. Linear models scale
+     * and superpose this response; see {@link DosingRegimen}.
+     *
+     * @param dose Template dose; its time and amount are ignored.
+     * @param dt   Sampling interval.
+     * @param n    Number of samples.
+     * @return The sampled unit response.
+     */
+    public double[] unitResponse(Dose dose, double dt, int n) {
+        if (saturable) {
+            throw new IllegalStateException("saturable elimination does not superpose");
+        }
+        Dose unit = new Dose(dose.route, 0, 1, dose.duration);
+        double[] out = new double[n];
+        for (int k = 0; k < n; k++) {
+            out[k] = response(unit, k * dt);
+        }
+        return out;
+    }
+
+    /** Sorted distinct times at which the state or the input rate jumps. */
+    static double[] eventTimes(Dose[] doses) {
+        double[] events = new double[2 * doses.length];
+        int n = 0;
+        for (Dose dose : doses) {
+            events[n++] = dose.time;
+            if (dose.route == Dose.Route.INFUSION) {
+                events[n++] = dose.time + dose.duration;
+            }
+        }
+        Arrays.sort(events, 0, n);
+
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || events[i] != events[distinct - 1]) {
+                events[distinct++] = events[i];
+            }
+        }
+        return Arrays.copyOf(events, distinct);
+    }
+
+    /** Total infusion rate running during [t, next event). */
+    static double infusionRate(Dose[] doses, double t) {
+        double rate = 0;
+        for (Dose dose : doses) {
+            if (dose.route == Dose.Route.INFUSION && dose.time <= t && t < dose.time + dose.duration) {
+                rate += dose.amount / dose.duration;
+            }
+        }
+        return rate;
+    }
+
+    /**
+     * Adds the bolus and oral doses given at t to the state at offset, for a
+     * patient whose absorption rate is ka.
+     */
+    void addDoses(Dose[] doses, double t, double ka, double[] y, int offset) {
+        for (Dose dose : doses) {
+            if (dose.time == t) {
+                if (dose.route == Dose.Route.BOLUS) {
+                    y[offset + CENTRAL] += dose.amount;
+                } else if (dose.route == Dose.Route.ORAL) {
+                    checkAbsorption(ka);
+                    y[offset + DEPOT] += f * dose.amount;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pairs output times with concentrations, ready for Medical.AUC.
+     *
+     * @param times          Sample times.
+     * @param concentrations Concentrations.
+     * @return List of (time, concentration) points.
+     */
+    public static List<Point> toPoints(double[] times, double[] concentrations) {
+        List<Point> points = new ArrayList<>(times.length);
+        for (int k = 0; k < times.length; k++) {
+            points.add(new Point(times[k], concentrations[k]));
+        }
+        return points;
+    }
+
+    /**
+     * Concentration-time curve for the given doses, ready for Medical.AUC.
+     *
+     * @param doses Doses.
+     * @param times Output times.
+     * @return List of (time, concentration) points.
+     */
+    public List<Point> curve(Dose[] doses, double[] times) {
+        double[] c = new double[times.length];
+        concentrations(doses, times, c);
+        return toPoints(times, c);
+    }
+}
@@ -0,0 +1,72 @@
+package algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join helpers shared by the bulk, array oriented algorithms.
+ * Work is split into contiguous index ranges and run on the common pool.
+ */
+final class Parallel {
+    /** Ranges shorter than this are processed on the calling thread. */
+    static final int GRAIN = 1 << 14;
+
+    private Parallel() {
+    }
+
+    /**
+     * Body of a parallel loop over the half open index range [from, to).
+     */
+    interface RangeTask {
+        void run(int from, int to);
+    }
+
+    /**
+     * Runs task over [from, to), splitting the range in halves until pieces
+     * are at most grain long.
+     *
+     * @param from  First index (inclusive).
+     * @param to    Last index (exclusive).
+     * @param grain Largest range processed sequentially.
+     * @param task  The loop body.
+     */
+    static void forRange(int from, int to, int grain, RangeTask task) {
+        if (to - from <= grain || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            task.run(from, to);
+            return;
+        }
+        new RangeAction(from, to, Math.max(1, grain), task).invoke();
+    }
+
+    /**
+     * Same as {@link #forRange(int, int, int, RangeTask)} with the default
+     * grain.
+     */
+    static void forRange(int from, int to, RangeTask task) {
+        forRange(from, to, GRAIN, task);
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to, grain;
+        private final RangeTask task;
+
+        RangeAction(int from, int to, int grain, RangeTask task) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                task.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, mid, grain, task), new RangeAction(mid, to, grain, task));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package algorithms;
 
+import java.util.List;
+
 /**
  * Represents a generic 1-D point with coordinates(x,y)
  */
@@ -11,4 +13,22 @@ public class Point {
         this.x = x;
         this.y = y;
     }
+
+    /** @return The x coordinates of points, in order. */
+    static double[] xs(List<Point> points) {
+        double[] x = new double[points.size()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = points.get(i).x;
+        }
+        return x;
+    }
+
+    /** @return The y coordinates of points, in order. */
+    static double[] ys(List<Point> points) {
+        double[] y = new double[points.size()];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = points.get(i).y;
+        }
+        return y;
+    }
 }
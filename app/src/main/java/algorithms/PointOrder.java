@@ -0,0 +1,93 @@
+package algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel stable merge sort of point indices by x, then y, over primitive
+ * coordinate arrays, shared by the geometry algorithms. Halves longer than
+ * Parallel.GRAIN are sorted on the common pool.
+ */
+final class PointOrder {
+    private static final int INSERTION = 32;
+
+    private final double[] x, y;
+    private final int[] a, tmp;
+    private final boolean parallel;
+
+    private PointOrder(double[] x, double[] y, int[] a, int n) {
+        this.x = x;
+        this.y = y;
+        this.a = a;
+        this.tmp = new int[n];
+        this.parallel = n > Parallel.GRAIN && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Sorts indices[0, n) by (x[i], y[i]).
+     */
+    static void sort(double[] x, double[] y, int[] indices, int n) {
+        PointOrder order = new PointOrder(x, y, indices, n);
+        if (order.parallel) {
+            order.new SortAction(0, n).invoke();
+        } else {
+            order.sort(0, n);
+        }
+    }
+
+    private boolean less(int i, int j) {
+        return x[i] < x[j] || (x[i] == x[j] && y[i] < y[j]);
+    }
+
+    private void sort(int lo, int hi) {
+        if (hi - lo <= INSERTION) {
+            for (int i = lo + 1; i < hi; i++) {
+                int v = a[i], j = i - 1;
+                while (j >= lo && less(v, a[j])) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (parallel && hi - lo > Parallel.GRAIN) {
+            RecursiveAction.invokeAll(new SortAction(lo, mid), new SortAction(mid, hi));
+        } else {
+            sort(lo, mid);
+            sort(mid, hi);
+        }
+        merge(lo, mid, hi);
+    }
+
+    private void merge(int lo, int mid, int hi) {
+        if (!less(a[mid], a[mid - 1])) {
+            return;
+        }
+        System.arraycopy(a, lo, tmp, lo, mid - lo);
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            a[k++] = less(a[j], tmp[i]) ? a[j++] : tmp[i++];
+        }
+        while (i < mid) {
+            a[k++] = tmp[i++];
+        }
+    }
+
+    private final class SortAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi;
+
+        SortAction(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            sort(lo, hi);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package algorithms;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A sequence of (x, y) samples stored in two parallel double[] arrays.
+ *
+ * A List&lt;Point&gt; costs a reference plus a Point object (header and two
+ * doubles) per sample, roughly 40 bytes; a PointSeries costs 16 bytes and
+ * is scanned without indirection.
+ *
+ * Samples can only be appended, never changed, so {@link #view} can share
+ * the backing arrays without copying: a view keeps seeing the same values
+ * even if its parent later grows into new arrays. Views are fixed in size.
+ */
+public final class PointSeries {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Package-private for zero-copy access by the numeric routines
+    double[] x, y;
+    int offset, size;
+    private final boolean view;
+
+    public PointSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Initial number of samples that fit without growing.
+     */
+    public PointSeries(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be non-negative");
+        }
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.view = false;
+    }
+
+    private PointSeries(double[] x, double[] y, int offset, int size, boolean view) {
+        this.x = x;
+        this.y = y;
+        this.offset = offset;
+        this.size = size;
+        this.view = view;
+    }
+
+    /**
+     * Wraps existing arrays without copying. Later appends copy them first.
+     *
+     * @param x x values.
+     * @param y y values, same length as x.
+     * @return A series over the arrays.
+     */
+    public static PointSeries wrap(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        return new PointSeries(x, y, 0, x.length, false);
+    }
+
+    /**
+     * Copies a list of points.
+     *
+     * @param points List of (x, y) points.
+     * @return A new series.
+     */
+    public static PointSeries of(List<Point> points) {
+        int n = points.size();
+        PointSeries series = new PointSeries(n);
+        int i = 0;
+        for (Point p : points) {
+            series.x[i] = p.x;
+            series.y[i] = p.y;
+            i++;
+        }
+        series.size = n;
+        return series;
+    }
+
+    /**
+     * Appends a sample, growing the arrays by half when full.
+     *
+     * @param x x value.
+     * @param y y value.
+     */
+    public void add(double x, double y) {
+        if (view) {
+            throw new UnsupportedOperationException("views cannot grow");
+        }
+        if (size == this.x.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+        }
+        this.x[size] = x;
+        this.y[size] = y;
+        size++;
+    }
+
+    public void add(Point p) {
+        add(p.x, p.y);
+    }
+
+    /**
+     * Appends n samples from parallel arrays.
+     */
+    public void addAll(double[] x, double[] y, int from, int n) {
+        if (view) {
+            throw new UnsupportedOperationException("views cannot grow");
+        }
+        if (size + n > this.x.length) {
+            int capacity = Math.max(size + n, size + (size >> 1));
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+        }
+        System.arraycopy(x, from, this.x, size, n);
+        System.arraycopy(y, from, this.y, size, n);
+        size += n;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double x(int i) {
+        checkIndex(i);
+        return x[offset + i];
+    }
+
+    public double y(int i) {
+        checkIndex(i);
+        return y[offset + i];
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("index " + i + " out of range for size " + size);
+        }
+    }
+
+    /**
+     * @return true if x never decreases.
+     */
+    public boolean isSortedByX() {
+        for (int i = offset + 1; i < offset + size; i++) {
+            if (x[i] < x[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if x strictly increases, as interpolation requires.
+     */
+    public boolean isStrictlyIncreasing() {
+        for (int i = offset + 1; i < offset + size; i++) {
+            if (!(x[i] > x[i - 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Samples [from, to) sharing this series' arrays.
+     *
+     * @param from First index (inclusive).
+     * @param to   Last index (exclusive).
+     * @return A fixed size view.
+     */
+    public PointSeries view(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("view [" + from + ", " + to + ") out of range for size " + size);
+        }
+        return new PointSeries(x, y, offset + from, to - from, true);
+    }
+
+    /**
+     * Shrinks the arrays to the number of samples.
+     */
+    public void trimToSize() {
+        if (!view && x.length > size) {
+            x = Arrays.copyOf(x, size);
+            y = Arrays.copyOf(y, size);
+        }
+    }
+
+    public double[] toXArray() {
+        return Arrays.copyOfRange(x, offset, offset + size);
+    }
+
+    public double[] toYArray() {
+        return Arrays.copyOfRange(y, offset, offset + size);
+    }
+
+    /**
+     * @return The samples as a new mutable list of points.
+     */
+    public List<Point> toList() {
+        List<Point> points = new ArrayList<>(size);
+        for (int i = offset; i < offset + size; i++) {
+            points.add(new Point(x[i], y[i]));
+        }
+        return points;
+    }
+
+    /**
+     * A read-only List over the current samples that creates each Point on
+     * access, for code that still takes List&lt;Point&gt;.
+     *
+     * @return A list backed by the series' arrays.
+     */
+    public List<Point> asList() {
+        double[] xs = x, ys = y;
+        int base = offset, n = size;
+        return new AbstractList<Point>() {
+            @Override
+            public Point get(int i) {
+                if (i < 0 || i >= n) {
+                    throw new IndexOutOfBoundsException("index " + i + " out of range for size " + n);
+                }
+                return new Point(xs[base + i], ys[base + i]);
+            }
+
+            @Override
+            public int size() {
+                return n;
+            }
+        };
+    }
+}
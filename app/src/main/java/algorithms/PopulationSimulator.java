@@ -0,0 +1,223 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import algorithms.PKModel.Dose;
+
+/**
+ * Monte Carlo simulation of a population with log-normal between-subject
+ * variability in clearance and central volume:
+ *
+ * CLi = CL e^(ωCL ηi), Vi = V e^(ωV ξi) with ηi, ξi ~ N(0, 1).
+ *
+ * For saturable elimination the clearance variability applies to Vmax,
+ * Vmaxi = Vmax e^(ωCL ηi), and the reported clearance is the one at low
+ * concentrations, CLi = Vmaxi / Km.
+ *
+ * Each virtual patient's curve is simulated with {@link PKBatch}, its AUC is
+ * computed with the same trapezoid rule as Medical.AUC, and the curves and
+ * AUCs are summarised as percentiles across patients.
+ *
+ * Patients are drawn in fixed blocks; the generator of every block is split
+ * from the seed in block order before any work is distributed. A given seed
+ * therefore yields identical results on any number of threads.
+ */
+public class PopulationSimulator {
+    /** Patients whose parameters come from one split generator. */
+    static final int BLOCK = 1024;
+
+    private final PKModel model;
+    private final double omegaCL, omegaV;
+
+    /**
+     * @param model   Typical (median) patient.
+     * @param omegaCL Standard deviation of log clearance.
+     * @param omegaV  Standard deviation of log central volume.
+     */
+    public PopulationSimulator(PKModel model, double omegaCL, double omegaV) {
+        if (!(omegaCL >= 0) || !(omegaV >= 0)) {
+            throw new IllegalArgumentException("omegas must be non-negative");
+        }
+        this.model = model;
+        this.omegaCL = omegaCL;
+        this.omegaV = omegaV;
+    }
+
+    /**
+     * Simulates a population.
+     *
+     * @param doses    Regimen given to every patient.
+     * @param times    Sample times, equally spaced as Medical.AUC assumes.
+     * @param patients Number of virtual patients.
+     * @param seed     Random seed.
+     * @return The simulated population.
+     */
+    public Result simulate(Dose[] doses, double[] times, int patients, long seed) {
+        if (patients <= 0) {
+            throw new IllegalArgumentException("patients must be positive");
+        }
+        if (times.length < 2) {
+            throw new IllegalArgumentException("at least 2 sample times are required");
+        }
+        int n = times.length;
+        if ((long) patients * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("patients * times.length must fit in one array, got "
+                    + (long) patients * n);
+        }
+
+        int blocks = (patients + BLOCK - 1) / BLOCK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[blocks];
+        for (int b = 0; b < blocks; b++) {
+            generators[b] = root.split();
+        }
+
+        double[] cl = new double[patients], v = new double[patients];
+        double[] vmax = model.saturable ? new double[patients] : null;
+        Parallel.forRange(0, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                draw(generators[b], b * BLOCK, Math.min(patients, (b + 1) * BLOCK), cl, v, vmax);
+            }
+        });
+
+        double[] conc = new double[patients * n];
+        new PKBatch(model, patients).clearance(cl).volume(v).maxRate(vmax).simulate(doses, times, conc);
+
+        double h = times[1] - times[0];
+        double[] auc = new double[patients];
+        Parallel.forRange(0, patients, Math.max(1, Parallel.GRAIN / n), (from, to) -> {
+            for (int p = from; p < to; p++) {
+                auc[p] = trapezoid(conc, p * n, n, h);
+            }
+        });
+
+        return new Result(times, cl, v, auc, conc);
+    }
+
+    private void draw(SplittableRandom random, int from, int to, double[] cl, double[] v, double[] vmax) {
+        for (int p = from; p < to; p++) {
+            // Marsaglia polar method: two independent standard normals
+            double u, w, s;
+            do {
+                u = 2 * random.nextDouble() - 1;
+                w = 2 * random.nextDouble() - 1;
+                s = u * u + w * w;
+            } while (s >= 1 || s == 0);
+            double scale = Math.sqrt(-2 * Math.log(s) / s);
+
+            double factor = Math.exp(omegaCL * u * scale);
+            if (vmax != null) {
+                vmax[p] = model.vmax * factor;
+                cl[p] = vmax[p] / model.km;
+            } else {
+                cl[p] = model.cl * factor;
+            }
+            v[p] = model.v1 * Math.exp(omegaV * w * scale);
+        }
+    }
+
+    /** Medical.AUC on y[offset .. offset + n), in the same operation order. */
+    private static double trapezoid(double[] y, int offset, int n, double h) {
+        double sum = (h / 2) * (y[offset] + y[offset + n - 1]);
+        double innersum = 0;
+        for (int i = 1; i < n - 1; i++) {
+            innersum += y[offset + i];
+        }
+        return sum + h * innersum;
+    }
+
+    /**
+     * Parameters and AUCs of every patient, with concentrations sorted across
+     * patients at each sample time for percentile queries.
+     */
+    public static class Result {
+        private final double[] times, cl, v, auc, sortedAUC;
+        // sorted[k * patients + i]: i-th smallest concentration at times[k]
+        private final double[] sorted;
+        private final int patients;
+
+        private Result(double[] times, double[] cl, double[] v, double[] auc, double[] conc) {
+            this.times = times.clone();
+            this.cl = cl;
+            this.v = v;
+            this.auc = auc;
+            this.patients = cl.length;
+            this.sortedAUC = auc.clone();
+            Arrays.sort(sortedAUC);
+
+            // Transpose into per-time columns and sort each one.
+            int n = times.length;
+            sorted = new double[conc.length];
+            Parallel.forRange(0, n, Math.max(1, Parallel.GRAIN / patients), (from, to) -> {
+                for (int k = from; k < to; k++) {
+                    int base = k * patients;
+                    for (int p = 0; p < patients; p++) {
+                        sorted[base + p] = conc[p * n + k];
+                    }
+                    Arrays.sort(sorted, base, base + patients);
+                }
+            });
+        }
+
+        public int getPatients() {
+            return patients;
+        }
+
+        public double[] getTimes() {
+            return times.clone();
+        }
+
+        public double[] getClearances() {
+            return cl.clone();
+        }
+
+        public double[] getVolumes() {
+            return v.clone();
+        }
+
+        /**
+         * @return AUC of every patient, in patient order.
+         */
+        public double[] getAUCs() {
+            return auc.clone();
+        }
+
+        /**
+         * @param percentile In [0, 100].
+         * @return The AUC percentile across patients.
+         */
+        public double aucPercentile(double percentile) {
+            return percentile(sortedAUC, 0, patients, percentile);
+        }
+
+        /**
+         * @param percentile In [0, 100].
+         * @return The concentration percentile across patients at each
+         *         sample time.
+         */
+        public double[] band(double percentile) {
+            double[] out = new double[times.length];
+            for (int k = 0; k < out.length; k++) {
+                out[k] = percentile(sorted, k * patients, patients, percentile);
+            }
+            return out;
+        }
+
+        /**
+         * Linear interpolation between closest ranks of a sorted range.
+         */
+        private static double percentile(double[] values, int offset, int n, double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("percentile must be in [0, 100]");
+            }
+            double rank = percentile / 100 * (n - 1);
+            int i = (int) rank;
+            if (i >= n - 1) {
+                return values[offset + n - 1];
+            }
+            double frac = rank - i;
+            return values[offset + i] + frac * (values[offset + i + 1] - values[offset + i]);
+        }
+    }
+}
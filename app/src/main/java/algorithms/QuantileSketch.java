@@ -0,0 +1,412 @@
+package algorithms;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * KLL quantile sketch (Karnin, Lang and Liberty, 2016) for percentiles of
+ * very large streams, e.g. BMI or MAP over a whole cohort, in bounded memory.
+ *
+ * Items live in a stack of compactors. Level h holds items of weight 2^h;
+ * when the sketch is full, the lowest over-full level is sorted and every
+ * other item, starting at a random offset, is promoted to the level above.
+ * Capacities shrink by 2/3 per level below the top, so about 3k items are
+ * retained however many are added. The rank error is roughly 1.7 / k
+ * (about 1% at the default k = 200) with high probability.
+ *
+ * Sketches built on separate threads or jobs {@link #merge} cheaply, and
+ * {@link #toBytes} / {@link #fromBytes} store them compactly. NaN values are
+ * ignored. Instances are not thread-safe; use one per thread and merge.
+ */
+public class QuantileSketch {
+    /** Default accuracy parameter. */
+    public static final int DEFAULT_K = 200;
+
+    private static final int MIN_WIDTH = 8;
+    private static final int MAGIC = 0x4B4C4C31; // "KLL1"
+
+    private final int k;
+    private final SplittableRandom random;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int retained, totalCapacity;
+    private long n;
+    private double min = Double.NaN, max = Double.NaN;
+
+    // Sorted view for queries, rebuilt after updates
+    private double[] sortedValues;
+    private long[] cumulative;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * @param k Accuracy parameter, at least 8; memory and accuracy grow
+     *          linearly with it.
+     */
+    public QuantileSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    /**
+     * @param k    Accuracy parameter, at least 8.
+     * @param seed Seed of the compaction coin flips, for reproducible results.
+     */
+    public QuantileSketch(int k, long seed) {
+        this(k, new SplittableRandom(seed));
+    }
+
+    private QuantileSketch(int k, SplittableRandom random) {
+        if (k < MIN_WIDTH || k > 1 << 16) {
+            throw new IllegalArgumentException("k must be in [" + MIN_WIDTH + ", 65536]");
+        }
+        this.k = k;
+        this.random = random;
+        levels[0] = new double[capacity(0, 1)];
+        totalCapacity = capacity(0, 1);
+    }
+
+    /**
+     * Sketches an array, in parallel for long inputs. The array is cut into
+     * fixed blocks whose sketches are merged in order, so the result depends
+     * only on the values and the seed.
+     *
+     * @param values Values to add.
+     * @param k      Accuracy parameter.
+     * @param seed   Seed of the compaction coin flips.
+     * @return The sketch.
+     */
+    public static QuantileSketch of(double[] values, int k, long seed) {
+        int blocks = Math.max(1, (values.length + Parallel.GRAIN - 1) / Parallel.GRAIN);
+        QuantileSketch[] parts = new QuantileSketch[blocks];
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int b = 0; b < blocks; b++) {
+            parts[b] = new QuantileSketch(k, root.split());
+        }
+        Parallel.forRange(0, blocks, 1, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                int start = b * Parallel.GRAIN;
+                parts[b].update(values, start, Math.min(values.length, start + Parallel.GRAIN) - start);
+            }
+        });
+        for (int b = 1; b < blocks; b++) {
+            parts[0].merge(parts[b]);
+        }
+        return parts[0];
+    }
+
+    private int capacity(int level, int numLevels) {
+        int depth = numLevels - level - 1;
+        return Math.max(MIN_WIDTH, (int) Math.ceil(k * Math.pow(2.0 / 3.0, depth)));
+    }
+
+    /** Adds an empty top level and updates the capacity total. */
+    private void addLevel() {
+        int h = levels.length;
+        levels = Arrays.copyOf(levels, h + 1);
+        sizes = Arrays.copyOf(sizes, h + 1);
+        levels[h] = new double[MIN_WIDTH];
+        totalCapacity = 0;
+        for (int i = 0; i <= h; i++) {
+            totalCapacity += capacity(i, h + 1);
+        }
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value; NaN is ignored.
+     */
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (n == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        n++;
+        append(0, value);
+        sortedValues = null;
+        if (retained > totalCapacity) {
+            compress();
+        }
+    }
+
+    /**
+     * Adds count values starting at from.
+     */
+    public void update(double[] values, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            update(values[i]);
+        }
+    }
+
+    private void append(int level, double value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], Math.max(MIN_WIDTH, 2 * sizes[level]));
+        }
+        levels[level][sizes[level]++] = value;
+        retained++;
+    }
+
+    private void compress() {
+        while (retained > totalCapacity) {
+            int h = 0;
+            while (sizes[h] < capacity(h, levels.length)) {
+                h++;
+            }
+            compact(h);
+        }
+    }
+
+    /** Promotes every other item of level h to level h + 1. */
+    private void compact(int h) {
+        if (h + 1 == levels.length) {
+            addLevel();
+        }
+
+        double[] items = levels[h];
+        int size = sizes[h];
+        // With an odd count, one item stays behind so weights stay exact.
+        int keep = size & 1;
+        Arrays.sort(items, keep, size);
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = keep + offset; i < size; i += 2) {
+            append(h + 1, items[i]);
+        }
+        retained -= size - keep;
+        sizes[h] = keep;
+    }
+
+    /**
+     * Merges other into this sketch; other is unchanged.
+     *
+     * @param other A sketch with the same k.
+     * @return this
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("sketches must have the same k");
+        }
+        if (other.n == 0) {
+            return this;
+        }
+        while (levels.length < other.levels.length) {
+            addLevel();
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        min = n == 0 ? other.min : Math.min(min, other.min);
+        max = n == 0 ? other.max : Math.max(max, other.max);
+        n += other.n;
+        sortedValues = null;
+        compress();
+        return this;
+    }
+
+    /**
+     * @return Number of values added, including merged sketches.
+     */
+    public long getN() {
+        return n;
+    }
+
+    /**
+     * @return Items currently retained, which bounds the memory use.
+     */
+    public int getRetained() {
+        return retained;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /** @return Smallest value added, NaN when empty. */
+    public double getMin() {
+        return min;
+    }
+
+    /** @return Largest value added, NaN when empty. */
+    public double getMax() {
+        return max;
+    }
+
+    private void sortView() {
+        if (sortedValues != null) {
+            return;
+        }
+        int total = retained;
+        double[] values = new double[total];
+        long[] weights = new long[total];
+        int i = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int j = 0; j < sizes[h]; j++) {
+                values[i] = levels[h][j];
+                weights[i++] = 1L << h;
+            }
+        }
+
+        // Sort values and weights together by value
+        Integer[] order = new Integer[total];
+        for (int j = 0; j < total; j++) {
+            order[j] = j;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        sortedValues = new double[total];
+        cumulative = new long[total];
+        long sum = 0;
+        for (int j = 0; j < total; j++) {
+            sortedValues[j] = values[order[j]];
+            sum += weights[order[j]];
+            cumulative[j] = sum;
+        }
+    }
+
+    /**
+     * Approximate quantile: the smallest retained value whose estimated rank
+     * reaches q * n. 0 and 1 return the exact minimum and maximum.
+     *
+     * @param q Fraction in [0, 1].
+     * @return The estimated quantile, NaN when empty.
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("q must be in [0, 1]");
+        }
+        if (n == 0) {
+            return Double.NaN;
+        }
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        sortView();
+        double target = q * n;
+        int lo = 0, hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] >= target) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return sortedValues[lo];
+    }
+
+    /**
+     * @param percentiles Percentiles in [0, 100].
+     * @return The estimated value at each percentile.
+     */
+    public double[] percentiles(double... percentiles) {
+        double[] out = new double[percentiles.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = quantile(percentiles[i] / 100);
+        }
+        return out;
+    }
+
+    /**
+     * Approximate normalized rank: the fraction of values &lt;= value.
+     *
+     * @param value The value.
+     * @return Fraction in [0, 1], NaN when empty.
+     */
+    public double rank(double value) {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        sortView();
+        int lo = 0, hi = sortedValues.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedValues[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo == 0 ? 0 : (double) cumulative[lo - 1] / n;
+    }
+
+    /**
+     * Serializes the sketch: a little-endian header (magic, k, n, min, max,
+     * level count) followed by each level's size and items.
+     *
+     * @return The bytes.
+     */
+    public byte[] toBytes() {
+        ByteBuffer buf = ByteBuffer.allocate(4 + 4 + 8 + 8 + 8 + 4 + 4 * levels.length + 8 * retained)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(k).putLong(n).putDouble(min).putDouble(max).putInt(levels.length);
+        for (int h = 0; h < levels.length; h++) {
+            buf.putInt(sizes[h]);
+            for (int i = 0; i < sizes[h]; i++) {
+                buf.putDouble(levels[h][i]);
+            }
+        }
+        return buf.array();
+    }
+
+    /**
+     * Reads a sketch written by {@link #toBytes}.
+     *
+     * @param bytes The serialized sketch.
+     * @return The sketch; further compactions use a fresh random source.
+     */
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (buf.getInt() != MAGIC) {
+                throw new IllegalArgumentException("not a serialized quantile sketch");
+            }
+            QuantileSketch sketch = new QuantileSketch(buf.getInt());
+            sketch.n = buf.getLong();
+            sketch.min = buf.getDouble();
+            sketch.max = buf.getDouble();
+            int numLevels = buf.getInt();
+            if (numLevels <= 0 || numLevels > 64) {
+                throw new IllegalArgumentException("corrupt sketch: " + numLevels + " levels");
+            }
+            while (sketch.levels.length < numLevels) {
+                sketch.addLevel();
+            }
+            sketch.retained = 0;
+            long weight = 0;
+            for (int h = 0; h < numLevels; h++) {
+                int size = buf.getInt();
+                if (size < 0 || size > buf.remaining() / 8) {
+                    throw new IllegalArgumentException("corrupt sketch: level " + h + " size " + size);
+                }
+                sketch.levels[h] = new double[Math.max(MIN_WIDTH, size)];
+                for (int i = 0; i < size; i++) {
+                    sketch.levels[h][i] = buf.getDouble();
+                }
+                sketch.sizes[h] = size;
+                sketch.retained += size;
+                weight += (long) size << h;
+            }
+            if (weight != sketch.n || buf.hasRemaining()) {
+                throw new IllegalArgumentException("corrupt sketch: weights do not match n");
+            }
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("truncated sketch", e);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package algorithms;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Sliding-window statistics of one vital sign channel (e.g. MAP or heart
+ * rate) over several window lengths at once, such as 1, 5 and 15 minutes.
+ *
+ * One writer thread pushes timestamped samples into a fixed ring buffer.
+ * Each window keeps a sliding Welford mean and variance and monotonic
+ * deques of sample indices for its minimum and maximum, so a push costs
+ * O(1) amortized per window. After every push the window aggregates are
+ * published under a sequence lock: readers on any number of threads copy a
+ * consistent snapshot without locking and retry only if a push overlapped.
+ *
+ * The ring holds at most capacity samples; when a window would need more,
+ * its oldest samples are dropped early. Size the capacity for the longest
+ * window at the highest sample rate.
+ */
+public class RollingVitals {
+    private static final VarHandle SEQUENCE;
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(RollingVitals.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final Medical MEDICAL = new Medical();
+
+    // Published values per window: count, mean, variance, min, max, time
+    private static final int FIELDS = 6;
+
+    private final double[] durations;
+    private final int capacity;
+    private final double[] times, values;
+    private long pushed;
+
+    // Per window state, owned by the writer
+    private final long[] heads;
+    private final double[] counts, means, m2s;
+    // Deques are rings of span = capacity + 1 slots, empty when first == last
+    private final long[][] minDeque, maxDeque;
+    private final int[] minFirst, minLast, maxFirst, maxLast;
+    private final int span;
+
+    // Even when stable, odd while the writer publishes
+    @SuppressWarnings("unused")
+    private volatile long sequence;
+    private final double[] published;
+
+    /**
+     * A copy of one window's aggregates, reusable across reads.
+     */
+    public static class Stats {
+        private long count;
+        private double mean, variance, min, max, time;
+
+        public long getCount() {
+            return count;
+        }
+
+        /** @return Mean, NaN for an empty window. */
+        public double getMean() {
+            return mean;
+        }
+
+        /** @return Sample variance (n - 1), NaN with fewer than 2 samples. */
+        public double getVariance() {
+            return variance;
+        }
+
+        public double getStandardDeviation() {
+            return Math.sqrt(variance);
+        }
+
+        /** @return Minimum, NaN for an empty window. */
+        public double getMin() {
+            return min;
+        }
+
+        /** @return Maximum, NaN for an empty window. */
+        public double getMax() {
+            return max;
+        }
+
+        /** @return Time the snapshot was taken at (latest push or advance). */
+        public double getTime() {
+            return time;
+        }
+    }
+
+    /**
+     * @param capacity  Samples retained.
+     * @param durations Window lengths in the time unit of the samples.
+     */
+    public RollingVitals(int capacity, double... durations) {
+        if (capacity <= 0 || durations.length == 0) {
+            throw new IllegalArgumentException("capacity and at least one window are required");
+        }
+        for (double d : durations) {
+            if (!(d > 0)) {
+                throw new IllegalArgumentException("window durations must be positive");
+            }
+        }
+        this.capacity = capacity;
+        this.durations = durations.clone();
+        this.times = new double[capacity];
+        this.values = new double[capacity];
+
+        int w = durations.length;
+        heads = new long[w];
+        counts = new double[w];
+        means = new double[w];
+        m2s = new double[w];
+        span = capacity + 1;
+        minDeque = new long[w][span];
+        maxDeque = new long[w][span];
+        minFirst = new int[w];
+        minLast = new int[w];
+        maxFirst = new int[w];
+        maxLast = new int[w];
+        published = new double[w * FIELDS];
+        for (int i = 0; i < w; i++) {
+            publish(i, Double.NaN);
+        }
+    }
+
+    public int getWindows() {
+        return durations.length;
+    }
+
+    /**
+     * Adds a sample. Only one thread may push.
+     *
+     * @param time  Sample time, not before the previous sample.
+     * @param value The reading.
+     */
+    public void push(double time, double value) {
+        if (pushed > 0 && time < times[(int) ((pushed - 1) % capacity)]) {
+            throw new IllegalArgumentException("samples must be pushed in time order");
+        }
+
+        // Drop the sample about to be overwritten from every window
+        if (pushed >= capacity) {
+            long oldest = pushed - capacity;
+            for (int w = 0; w < durations.length; w++) {
+                if (heads[w] == oldest) {
+                    evict(w);
+                }
+            }
+        }
+
+        long index = pushed;
+        int slot = (int) (index % capacity);
+        times[slot] = time;
+        values[slot] = value;
+        pushed++;
+
+        for (int w = 0; w < durations.length; w++) {
+            // Welford update
+            counts[w]++;
+            double delta = value - means[w];
+            means[w] += delta / counts[w];
+            m2s[w] += delta * (value - means[w]);
+
+            // Monotonic deques: drop entries the new value dominates
+            long[] q = minDeque[w];
+            while (minLast[w] != minFirst[w] && values[slot(q[(minLast[w] - 1 + span) % span])] >= value) {
+                minLast[w] = (minLast[w] - 1 + span) % span;
+            }
+            q[minLast[w]] = index;
+            minLast[w] = (minLast[w] + 1) % span;
+
+            q = maxDeque[w];
+            while (maxLast[w] != maxFirst[w] && values[slot(q[(maxLast[w] - 1 + span) % span])] <= value) {
+                maxLast[w] = (maxLast[w] - 1 + span) % span;
+            }
+            q[maxLast[w]] = index;
+            maxLast[w] = (maxLast[w] + 1) % span;
+        }
+
+        expire(time);
+    }
+
+    /**
+     * Pushes the MAP of a pressure reading, computed with Medical.MAP.
+     *
+     * @param time Reading time.
+     * @param sbp  Systolic blood pressure.
+     * @param dbp  Diastolic blood pressure.
+     */
+    public void pushPressure(double time, double sbp, double dbp) {
+        push(time, MEDICAL.MAP(sbp, dbp));
+    }
+
+    /**
+     * Moves the windows forward to time without a new sample, expiring old
+     * samples. Only the pushing thread may call this.
+     *
+     * @param time Current time.
+     */
+    public void advance(double time) {
+        expire(time);
+    }
+
+    private void expire(double now) {
+        for (int w = 0; w < durations.length; w++) {
+            double cutoff = now - durations[w];
+            while (heads[w] < pushed && times[slot(heads[w])] <= cutoff) {
+                evict(w);
+            }
+        }
+
+        // Publish under the sequence lock
+        long s = sequence;
+        SEQUENCE.setOpaque(this, s + 1);
+        VarHandle.storeStoreFence();
+        for (int w = 0; w < durations.length; w++) {
+            publish(w, now);
+        }
+        SEQUENCE.setRelease(this, s + 2);
+    }
+
+    private void evict(int w) {
+        long index = heads[w]++;
+        double value = values[slot(index)];
+
+        // Reverse Welford update
+        counts[w]--;
+        if (counts[w] == 0) {
+            means[w] = 0;
+            m2s[w] = 0;
+        } else {
+            double delta = value - means[w];
+            means[w] -= delta / counts[w];
+            m2s[w] -= delta * (value - means[w]);
+        }
+
+        if (minFirst[w] != minLast[w] && minDeque[w][minFirst[w]] == index) {
+            minFirst[w] = (minFirst[w] + 1) % span;
+        }
+        if (maxFirst[w] != maxLast[w] && maxDeque[w][maxFirst[w]] == index) {
+            maxFirst[w] = (maxFirst[w] + 1) % span;
+        }
+    }
+
+    private void publish(int w, double time) {
+        int o = w * FIELDS;
+        double n = counts[w];
+        boolean empty = n == 0;
+        published[o] = n;
+        published[o + 1] = empty ? Double.NaN : means[w];
+        published[o + 2] = n < 2 ? Double.NaN : Math.max(0, m2s[w]) / (n - 1);
+        published[o + 3] = empty ? Double.NaN : values[slot(minDeque[w][minFirst[w]])];
+        published[o + 4] = empty ? Double.NaN : values[slot(maxDeque[w][maxFirst[w]])];
+        published[o + 5] = time;
+    }
+
+    private int slot(long index) {
+        return (int) (index % capacity);
+    }
+
+    /**
+     * Copies a consistent snapshot of one window. Safe from any thread.
+     *
+     * @param window Index into the durations given at construction.
+     * @param into   Destination.
+     * @return into
+     */
+    public Stats read(int window, Stats into) {
+        if (window < 0 || window >= durations.length) {
+            throw new IndexOutOfBoundsException("no window " + window);
+        }
+        int o = window * FIELDS;
+        while (true) {
+            long before = (long) SEQUENCE.getAcquire(this);
+            if ((before & 1) == 0) {
+                double count = published[o], mean = published[o + 1], variance = published[o + 2];
+                double min = published[o + 3], max = published[o + 4], time = published[o + 5];
+                VarHandle.loadLoadFence();
+                if ((long) SEQUENCE.getVolatile(this) == before) {
+                    into.count = (long) count;
+                    into.mean = mean;
+                    into.variance = variance;
+                    into.min = min;
+                    into.max = max;
+                    into.time = time;
+                    return into;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * @param window Index into the durations given at construction.
+     * @return A new snapshot of the window.
+     */
+    public Stats read(int window) {
+        return read(window, new Stats());
+    }
+}
@@ -0,0 +1,458 @@
+package algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streams (x, y) samples from large files without building them on the heap.
+ *
+ * Two formats are read, both through FileChannel.map in windows so files
+ * may exceed 2 GB:
+ * <ul>
+ * <li>CSV (or any single-byte delimited text), taking two columns by
+ * index. Numbers are parsed straight from the mapped bytes.</li>
+ * <li>Raw binary: consecutive little-endian (x, y) double pairs, 16 bytes
+ * per sample.</li>
+ * </ul>
+ *
+ * Samples are delivered in chunks through a {@link ChunkConsumer} whose
+ * arrays are reused, so a whole file can be fed into an
+ * {@link AUCAccumulator} or a {@link Resampler} in constant memory. Only
+ * when a whole series is wanted do readCsv/readBinary build a
+ * {@link PointSeries}.
+ */
+public class SeriesLoader {
+    /**
+     * Receives consecutive samples. The arrays are reused for the next chunk
+     * and must not be kept.
+     */
+    public interface ChunkConsumer {
+        void accept(double[] x, double[] y, int n);
+    }
+
+    private static final int RECORD_BYTES = 16;
+    private static final long TWO_53 = 1L << 53;
+    private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private byte delimiter = ',';
+    private int skipLines, xColumn, yColumn = 1;
+    private int chunkSize = 8192;
+    // Bytes mapped at a time; package-private so tests can force small windows
+    int window = 1 << 26;
+
+    /**
+     * @param delimiter Field separator for text files (default ',').
+     * @return this
+     */
+    public SeriesLoader delimiter(char delimiter) {
+        if (delimiter > 127 || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("delimiter must be a single byte ASCII character");
+        }
+        this.delimiter = (byte) delimiter;
+        return this;
+    }
+
+    /**
+     * @param lines Leading lines to ignore, e.g. 1 for a header row.
+     * @return this
+     */
+    public SeriesLoader skipLines(int lines) {
+        if (lines < 0) {
+            throw new IllegalArgumentException("lines must be non-negative");
+        }
+        this.skipLines = lines;
+        return this;
+    }
+
+    /**
+     * @param x Zero based column of the x values (default 0).
+     * @param y Zero based column of the y values (default 1).
+     * @return this
+     */
+    public SeriesLoader columns(int x, int y) {
+        if (x < 0 || y < 0) {
+            throw new IllegalArgumentException("columns must be non-negative");
+        }
+        this.xColumn = x;
+        this.yColumn = y;
+        return this;
+    }
+
+    /**
+     * @param size Samples per chunk handed to the consumer (default 8192).
+     * @return this
+     */
+    public SeriesLoader chunkSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("chunk size must be positive");
+        }
+        this.chunkSize = size;
+        return this;
+    }
+
+    /**
+     * Streams two columns of a delimited text file. Blank lines are skipped;
+     * "\r\n" line endings, spaces around fields and double quoted fields
+     * are accepted.
+     *
+     * @param file     The file.
+     * @param consumer Receives the samples in file order.
+     * @return Number of samples read.
+     * @throws IOException           If the file cannot be read or a line is
+     *                               longer than the mapping window.
+     * @throws NumberFormatException If a field is missing or not a number.
+     */
+    public long streamCsv(Path file, ChunkConsumer consumer) throws IOException {
+        double[] cx = new double[chunkSize], cy = new double[chunkSize];
+        int filled = 0;
+        long line = 0, count = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long pos = 0;
+            while (pos < size) {
+                int len = (int) Math.min(window, size - pos);
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, pos, len);
+
+                // Only parse up to the last complete line unless at the end.
+                int end = len;
+                if (pos + len < size) {
+                    end = len - 1;
+                    while (end >= 0 && buf.get(end) != '\n') {
+                        end--;
+                    }
+                    if (end < 0) {
+                        throw new IOException("line longer than " + window + " bytes at offset " + pos);
+                    }
+                    end++;
+                }
+
+                int start = 0;
+                while (start < end) {
+                    int stop = start;
+                    while (stop < end && buf.get(stop) != '\n') {
+                        stop++;
+                    }
+                    int next = stop + 1;
+                    if (stop > start && buf.get(stop - 1) == '\r') {
+                        stop--;
+                    }
+
+                    line++;
+                    if (line > skipLines && !isBlank(buf, start, stop)) {
+                        cx[filled] = field(buf, start, stop, xColumn, line);
+                        cy[filled] = field(buf, start, stop, yColumn, line);
+                        if (++filled == chunkSize) {
+                            consumer.accept(cx, cy, filled);
+                            count += filled;
+                            filled = 0;
+                        }
+                    }
+                    start = next;
+                }
+                pos += end;
+            }
+        }
+
+        if (filled > 0) {
+            consumer.accept(cx, cy, filled);
+            count += filled;
+        }
+        return count;
+    }
+
+    /**
+     * Reads two columns of a delimited text file into a series.
+     */
+    public PointSeries readCsv(Path file) throws IOException {
+        PointSeries series = new PointSeries();
+        streamCsv(file, (x, y, n) -> series.addAll(x, y, 0, n));
+        series.trimToSize();
+        return series;
+    }
+
+    /**
+     * Streams a file of little-endian (x, y) double pairs.
+     *
+     * @param file     The file; its length must be a multiple of 16 bytes.
+     * @param consumer Receives the samples in file order.
+     * @return Number of samples read.
+     * @throws IOException If the file cannot be read or is truncated.
+     */
+    public long streamBinary(Path file, ChunkConsumer consumer) throws IOException {
+        double[] cx = new double[chunkSize], cy = new double[chunkSize];
+        double[] pairs = new double[2 * chunkSize];
+        long windowBytes = Math.max(RECORD_BYTES, window & -RECORD_BYTES);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % RECORD_BYTES != 0) {
+                throw new IOException("file length " + size + " is not a multiple of " + RECORD_BYTES);
+            }
+
+            for (long pos = 0; pos < size; pos += windowBytes) {
+                long len = Math.min(windowBytes, size - pos);
+                DoubleBuffer doubles = channel.map(FileChannel.MapMode.READ_ONLY, pos, len)
+                        .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+
+                while (doubles.hasRemaining()) {
+                    int n = Math.min(chunkSize, doubles.remaining() / 2);
+                    doubles.get(pairs, 0, 2 * n);
+                    for (int i = 0; i < n; i++) {
+                        cx[i] = pairs[2 * i];
+                        cy[i] = pairs[2 * i + 1];
+                    }
+                    consumer.accept(cx, cy, n);
+                }
+            }
+            return size / RECORD_BYTES;
+        }
+    }
+
+    /**
+     * Reads a file of little-endian (x, y) double pairs into a series.
+     */
+    public PointSeries readBinary(Path file) throws IOException {
+        PointSeries series = new PointSeries();
+        streamBinary(file, (x, y, n) -> series.addAll(x, y, 0, n));
+        series.trimToSize();
+        return series;
+    }
+
+    /**
+     * Writes a series in the binary format read by {@link #streamBinary}.
+     *
+     * @param file   Destination, replaced if it exists.
+     * @param series The samples.
+     */
+    public static void writeBinary(Path file, PointSeries series) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * 4096).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = series.offset; i < series.offset + series.size; i++) {
+                if (!buf.hasRemaining()) {
+                    writeFully(channel, buf);
+                }
+                buf.putDouble(series.x[i]).putDouble(series.y[i]);
+            }
+            writeFully(channel, buf);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+        buf.clear();
+    }
+
+    private static boolean isBlank(ByteBuffer buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = buf.get(i);
+            if (b != ' ' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double field(ByteBuffer buf, int from, int to, int column, long line) {
+        int start = from;
+        for (int c = 0; c < column; c++) {
+            while (start < to && buf.get(start) != delimiter) {
+                start++;
+            }
+            if (start == to) {
+                throw new NumberFormatException("line " + line + ": missing column " + column);
+            }
+            start++;
+        }
+        int stop = start;
+        while (stop < to && buf.get(stop) != delimiter) {
+            stop++;
+        }
+        try {
+            return parseDouble(buf, start, stop);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("line " + line + ", column " + column + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the ASCII number in buf[from, to) without allocating.
+     *
+     * Decimal inputs with at most 18 significant digits whose value is
+     * m * 10^e with m &lt;= 2^53 and |e| &lt;= 22 are exact after one
+     * multiplication or division of two exact doubles, so the result is
+     * correctly rounded (Clinger's fast path). Anything else, including NaN
+     * and Infinity, falls back to Double.parseDouble.
+     *
+     * @param buf  Bytes to parse (absolute indexing; position is ignored).
+     * @param from First byte (inclusive).
+     * @param to   Last byte (exclusive).
+     * @return The value.
+     * @throws NumberFormatException If the bytes are not a number.
+     */
+    static double parseDouble(ByteBuffer buf, int from, int to) {
+        // Trim spaces and one pair of double quotes
+        while (from < to && (buf.get(from) == ' ' || buf.get(from) == '\t')) {
+            from++;
+        }
+        while (to > from && (buf.get(to - 1) == ' ' || buf.get(to - 1) == '\t')) {
+            to--;
+        }
+        if (to - from >= 2 && buf.get(from) == '"' && buf.get(to - 1) == '"') {
+            from++;
+            to--;
+        }
+
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buf.get(i) == '-' || buf.get(i) == '+')) {
+            negative = buf.get(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0, exponent = 0;
+        boolean any = false, exact = true;
+
+        while (i < to && isDigit(buf.get(i))) {
+            int d = buf.get(i++) - '0';
+            any = true;
+            if (digits < 18) {
+                mantissa = mantissa * 10 + d;
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                exponent++;
+                exact &= d == 0;
+            }
+        }
+        if (i < to && buf.get(i) == '.') {
+            i++;
+            while (i < to && isDigit(buf.get(i))) {
+                int d = buf.get(i++) - '0';
+                any = true;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + d;
+                    exponent--;
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else {
+                    exact &= d == 0;
+                }
+            }
+        }
+        if (any && i < to && (buf.get(i) == 'e' || buf.get(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (buf.get(i) == '-' || buf.get(i) == '+')) {
+                negativeExponent = buf.get(i) == '-';
+                i++;
+            }
+            int e = 0;
+            boolean exponentDigits = false;
+            while (i < to && isDigit(buf.get(i))) {
+                e = Math.min(e * 10 + buf.get(i++) - '0', 100_000);
+                exponentDigits = true;
+            }
+            if (!exponentDigits) {
+                any = false;
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+
+        if (any && i == to && exact && mantissa <= TWO_53 && Math.abs(exponent) <= 22) {
+            double value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+            return negative ? -value : value;
+        }
+        return slowParse(buf, from, to);
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static double slowParse(ByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buf.get(from + i);
+        }
+        // Double.parseDouble trims whitespace itself; reject empty fields.
+        String text = new String(bytes, StandardCharsets.US_ASCII);
+        if (text.isEmpty()) {
+            throw new NumberFormatException("empty field");
+        }
+        return Double.parseDouble(text);
+    }
+
+    /**
+     * Linear interpolation of a streamed series at fixed query points, for
+     * resampling recordings too large to load.
+     *
+     * Samples must arrive in increasing x order. Queries outside the
+     * streamed range are NaN.
+     */
+    public static class Resampler implements ChunkConsumer {
+        private final double[] queries, values;
+        private int next;
+        private boolean started;
+        private double lastX, lastY;
+
+        /**
+         * @param queries Query x values in increasing order.
+         */
+        public Resampler(double[] queries) {
+            for (int i = 1; i < queries.length; i++) {
+                if (!(queries[i] > queries[i - 1])) {
+                    throw new IllegalArgumentException("queries must be strictly increasing");
+                }
+            }
+            this.queries = queries.clone();
+            this.values = new double[queries.length];
+            Arrays.fill(values, Double.NaN);
+        }
+
+        @Override
+        public void accept(double[] x, double[] y, int n) {
+            for (int i = 0; i < n; i++) {
+                if (started && x[i] < lastX) {
+                    throw new IllegalArgumentException("samples must be in increasing x order");
+                }
+                while (next < queries.length && queries[next] <= x[i]) {
+                    double q = queries[next];
+                    if (q == x[i]) {
+                        values[next] = y[i];
+                    } else if (started) {
+                        values[next] = lastY + (y[i] - lastY) * (q - lastX) / (x[i] - lastX);
+                    }
+                    next++;
+                }
+                started = true;
+                lastX = x[i];
+                lastY = y[i];
+            }
+        }
+
+        /**
+         * @return Interpolated values so far, NaN for queries not yet
+         *         reached or before the first sample.
+         */
+        public double[] getValues() {
+            return values.clone();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sparse matrix in compressed sparse row (CSR) format.
+ *
+ * The non-zeros of row i are values[rowPtr[i] .. rowPtr[i+1]) with their
+ * column indices in colIdx, sorted by column. Matrices are assembled with a
+ * {@link Builder}, which accepts entries in any order and sums duplicates,
+ * as is usual when assembling finite difference or finite element systems.
+ */
+public class SparseMatrix {
+    private final int rows, cols;
+    private final int[] rowPtr;
+    private final int[] colIdx;
+    private final double[] values;
+
+    private SparseMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    /**
+     * Copies the non-zero entries of a dense matrix.
+     *
+     * @param m Dense matrix.
+     * @return The sparse matrix.
+     */
+    public static SparseMatrix fromDense(Matrix m) {
+        Builder builder = new Builder(m.rows(), m.cols());
+        for (int i = 0; i < m.rows(); i++) {
+            for (int j = 0; j < m.cols(); j++) {
+                double v = m.get(i, j);
+                if (v != 0) {
+                    builder.add(i, j, v);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * @return The number of stored entries.
+     */
+    public int nnz() {
+        return rowPtr[rows];
+    }
+
+    /**
+     * Returns element (i, j) by bisection within row i.
+     *
+     * @param i Row.
+     * @param j Column.
+     * @return The element, 0 if it is not stored.
+     */
+    public double get(int i, int j) {
+        if (i < 0 || i >= rows || j < 0 || j >= cols) {
+            throw new IndexOutOfBoundsException("(" + i + ", " + j + ") outside " + rows + "x" + cols);
+        }
+        int k = Arrays.binarySearch(colIdx, rowPtr[i], rowPtr[i + 1], j);
+        return k >= 0 ? values[k] : 0;
+    }
+
+    /**
+     * @return The main diagonal (zeros where nothing is stored).
+     */
+    public double[] diagonal() {
+        double[] d = new double[Math.min(rows, cols)];
+        for (int i = 0; i < d.length; i++) {
+            d[i] = get(i, i);
+        }
+        return d;
+    }
+
+    /**
+     * Sparse matrix-vector product y = Ax. Rows are split across the common
+     * fork/join pool in blocks holding roughly the same number of non-zeros.
+     *
+     * @param x Vector of length cols.
+     * @param y Destination of length rows.
+     */
+    public void multiply(double[] x, double[] y) {
+        if (x.length != cols || y.length != rows) {
+            throw new IllegalArgumentException("vector lengths must match the matrix dimensions");
+        }
+
+        long nnz = Math.max(1, nnz());
+        int grain = (int) Math.max(256, (long) Parallel.GRAIN * rows / nnz);
+
+        Parallel.forRange(0, rows, grain, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double sum = 0;
+                for (int k = rowPtr[i], end = rowPtr[i + 1]; k < end; k++) {
+                    sum += values[k] * x[colIdx[k]];
+                }
+                y[i] = sum;
+            }
+        });
+    }
+
+    /**
+     * @param x Vector of length cols.
+     * @return Ax
+     */
+    public double[] multiply(double[] x) {
+        double[] y = new double[rows];
+        multiply(x, y);
+        return y;
+    }
+
+    /**
+     * @return A dense copy of this matrix.
+     */
+    public Matrix toDense() {
+        Matrix m = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                m.set(i, colIdx[k], values[k]);
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Assembles a {@link SparseMatrix} from (row, column, value) triplets.
+     * Entries may be added in any order; duplicates are summed.
+     */
+    public static class Builder {
+        private final int rows, cols;
+        private int[] ri = new int[16];
+        private int[] ci = new int[16];
+        private double[] vs = new double[16];
+        private int size;
+
+        /**
+         * @param rows Number of rows.
+         * @param cols Number of columns.
+         */
+        public Builder(int rows, int cols) {
+            if (rows <= 0 || cols <= 0) {
+                throw new IllegalArgumentException("matrix dimensions must be positive");
+            }
+            this.rows = rows;
+            this.cols = cols;
+        }
+
+        /**
+         * Adds value to element (i, j).
+         *
+         * @return this builder
+         */
+        public Builder add(int i, int j, double value) {
+            if (i < 0 || i >= rows || j < 0 || j >= cols) {
+                throw new IndexOutOfBoundsException("(" + i + ", " + j + ") outside " + rows + "x" + cols);
+            }
+            if (size == ri.length) {
+                int capacity = size * 2;
+                ri = Arrays.copyOf(ri, capacity);
+                ci = Arrays.copyOf(ci, capacity);
+                vs = Arrays.copyOf(vs, capacity);
+            }
+            ri[size] = i;
+            ci[size] = j;
+            vs[size] = value;
+            size++;
+            return this;
+        }
+
+        /**
+         * Compresses the triplets: a counting sort by row, then a sort by
+         * column within each row, then duplicates are merged.
+         *
+         * @return The CSR matrix.
+         */
+        public SparseMatrix build() {
+            int[] rowPtr = new int[rows + 1];
+            for (int k = 0; k < size; k++) {
+                rowPtr[ri[k] + 1]++;
+            }
+            for (int i = 0; i < rows; i++) {
+                rowPtr[i + 1] += rowPtr[i];
+            }
+
+            int[] next = Arrays.copyOf(rowPtr, rows);
+            int[] col = new int[size];
+            double[] val = new double[size];
+            for (int k = 0; k < size; k++) {
+                int dst = next[ri[k]]++;
+                col[dst] = ci[k];
+                val[dst] = vs[k];
+            }
+
+            // Sort each row by column and sum duplicates, compacting in place.
+            int out = 0;
+            int start = 0;
+            for (int i = 0; i < rows; i++) {
+                int end = rowPtr[i + 1];
+                if (end - start > 32) {
+                    sortLongRow(col, val, start, end);
+                } else {
+                    for (int a = start + 1; a < end; a++) {
+                        int c = col[a];
+                        double v = val[a];
+                        int b = a - 1;
+                        while (b >= start && col[b] > c) {
+                            col[b + 1] = col[b];
+                            val[b + 1] = val[b];
+                            b--;
+                        }
+                        col[b + 1] = c;
+                        val[b + 1] = v;
+                    }
+                }
+
+                int rowStart = out;
+                for (int k = start; k < end; k++) {
+                    if (out > rowStart && col[out - 1] == col[k]) {
+                        val[out - 1] += val[k];
+                    } else {
+                        col[out] = col[k];
+                        val[out] = val[k];
+                        out++;
+                    }
+                }
+                start = end;
+                rowPtr[i + 1] = out;
+            }
+
+            return new SparseMatrix(rows, cols, rowPtr, Arrays.copyOf(col, out), Arrays.copyOf(val, out));
+        }
+
+        /** Sorts a long row by packing (column, position) into sortable longs. */
+        private static void sortLongRow(int[] col, double[] val, int start, int end) {
+            long[] keys = new long[end - start];
+            for (int a = start; a < end; a++) {
+                keys[a - start] = ((long) col[a] << 32) | (a - start);
+            }
+            Arrays.sort(keys);
+
+            double[] tmp = Arrays.copyOfRange(val, start, end);
+            for (int a = start; a < end; a++) {
+                long key = keys[a - start];
+                col[a] = (int) (key >>> 32);
+                val[a] = tmp[(int) key];
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Power spectral density by Welch's method, e.g. for heart-rate variability
+ * from a resampled RR series or for pressure and ECG waveforms.
+ *
+ * The signal is cut into segments of a power of two length that overlap by
+ * a fixed number of samples. Each segment has its mean removed, is
+ * multiplied by a window and transformed with {@link FFT}; the squared
+ * magnitudes are averaged over segments and scaled to a one-sided density
+ * in units² per Hz, so that the PSD summed over bins times the bin width
+ * approximates the signal variance.
+ *
+ * An instance estimates a stream: {@link #update} accepts chunks of any
+ * length, processes every segment as soon as it is complete and keeps the
+ * running sum, so the estimate can be read at any time. Work buffers are
+ * allocated once. Instances are not thread-safe. {@link #welch} estimates a
+ * whole array in parallel.
+ */
+public class WelchPSD {
+    /**
+     * Segment windows, in the periodic (DFT-even) form used for spectral
+     * analysis.
+     */
+    public enum Window {
+        RECTANGULAR, HANN, HAMMING, BLACKMAN;
+
+        /**
+         * @param n Window length.
+         * @return The n coefficients.
+         */
+        public double[] coefficients(int n) {
+            double[] w = new double[n];
+            for (int i = 0; i < n; i++) {
+                double phase = 2 * Math.PI * i / n;
+                switch (this) {
+                case HANN:
+                    w[i] = 0.5 - 0.5 * Math.cos(phase);
+                    break;
+                case HAMMING:
+                    w[i] = 0.54 - 0.46 * Math.cos(phase);
+                    break;
+                case BLACKMAN:
+                    w[i] = 0.42 - 0.5 * Math.cos(phase) + 0.08 * Math.cos(2 * phase);
+                    break;
+                default:
+                    w[i] = 1;
+                }
+            }
+            return w;
+        }
+    }
+
+    // Segments per parallel block in welch()
+    private static final int BLOCK = 64;
+
+    private final double sampleRate;
+    private final int segment, hop;
+    private final FFT fft;
+    private final double[] window;
+    private final double scale;
+
+    // Streaming state: pending samples, FFT work arrays, power sums per bin
+    private final double[] buffer, re, im, sum;
+    private int buffered;
+    private long segments;
+
+    /**
+     * @param sampleRate Samples per second.
+     * @param segment    Segment length, a power of two.
+     * @param overlap    Samples shared by consecutive segments, in
+     *                   [0, segment); segment / 2 is usual.
+     * @param window     Segment window.
+     */
+    public WelchPSD(double sampleRate, int segment, int overlap, Window window) {
+        if (!(sampleRate > 0)) {
+            throw new IllegalArgumentException("sample rate must be positive");
+        }
+        if (overlap < 0 || overlap >= segment) {
+            throw new IllegalArgumentException("overlap must be in [0, segment)");
+        }
+        this.sampleRate = sampleRate;
+        this.segment = segment;
+        this.hop = segment - overlap;
+        this.fft = new FFT(segment);
+        this.window = window.coefficients(segment);
+        double power = 0;
+        for (double w : this.window) {
+            power += w * w;
+        }
+        this.scale = 1 / (sampleRate * power);
+
+        this.buffer = new double[segment];
+        this.re = new double[segment];
+        this.im = new double[segment];
+        this.sum = new double[segment / 2 + 1];
+    }
+
+    /**
+     * Adds the next samples of the stream.
+     *
+     * @param samples The signal.
+     * @param offset  Index of the first sample.
+     * @param length  Number of samples.
+     */
+    public void update(double[] samples, int offset, int length) {
+        int end = offset + length;
+        while (offset < end) {
+            int n = Math.min(end - offset, segment - buffered);
+            System.arraycopy(samples, offset, buffer, buffered, n);
+            buffered += n;
+            offset += n;
+            if (buffered == segment) {
+                accumulate(buffer, 0, sum, re, im);
+                segments++;
+                System.arraycopy(buffer, hop, buffer, 0, segment - hop);
+                buffered = segment - hop;
+            }
+        }
+    }
+
+    /**
+     * Adds the squared spectrum of x[from, from + segment) to sum, using re
+     * and im as work arrays.
+     */
+    private void accumulate(double[] x, int from, double[] sum, double[] re, double[] im) {
+        double mean = 0;
+        for (int i = 0; i < segment; i++) {
+            mean += x[from + i];
+        }
+        mean /= segment;
+        for (int i = 0; i < segment; i++) {
+            re[i] = (x[from + i] - mean) * window[i];
+        }
+        Arrays.fill(im, 0);
+        fft.forward(re, im);
+        for (int k = 0; k < sum.length; k++) {
+            sum[k] += re[k] * re[k] + im[k] * im[k];
+        }
+    }
+
+    /**
+     * Scales averaged power sums to a one-sided density.
+     */
+    private void density(double[] sum, long count, double[] out) {
+        for (int k = 0; k < sum.length; k++) {
+            boolean edge = k == 0 || k == segment / 2;
+            out[k] = sum[k] / count * scale * (edge ? 1 : 2);
+        }
+    }
+
+    /**
+     * Current estimate into out.
+     *
+     * @param out Destination of length getBins().
+     * @return out
+     */
+    public double[] psd(double[] out) {
+        if (out.length != sum.length) {
+            throw new IllegalArgumentException("out must have length " + sum.length);
+        }
+        if (segments == 0) {
+            throw new IllegalStateException("no complete segment yet");
+        }
+        density(sum, segments, out);
+        return out;
+    }
+
+    /**
+     * @return The current estimate, one value per frequency bin.
+     */
+    public double[] psd() {
+        return psd(new double[sum.length]);
+    }
+
+    /**
+     * @return Bin frequencies in Hz, k * sampleRate / segment.
+     */
+    public double[] frequencies() {
+        double[] f = new double[sum.length];
+        for (int k = 0; k < f.length; k++) {
+            f[k] = k * sampleRate / segment;
+        }
+        return f;
+    }
+
+    /**
+     * Forgets all segments and pending samples.
+     */
+    public void reset() {
+        Arrays.fill(sum, 0);
+        buffered = 0;
+        segments = 0;
+    }
+
+    /**
+     * @return Number of frequency bins, segment / 2 + 1.
+     */
+    public int getBins() {
+        return sum.length;
+    }
+
+    /**
+     * @return Segments averaged so far.
+     */
+    public long getSegments() {
+        return segments;
+    }
+
+    /**
+     * Estimates the PSD of a whole signal. Segments are processed in
+     * parallel in fixed blocks whose sums are added in order, so the result
+     * does not depend on the number of threads.
+     *
+     * @param x          The signal, at least one segment long.
+     * @param sampleRate Samples per second.
+     * @param segment    Segment length, a power of two.
+     * @param overlap    Samples shared by consecutive segments.
+     * @param window     Segment window.
+     * @return The density, one value per frequency bin.
+     */
+    public static double[] welch(double[] x, double sampleRate, int segment, int overlap, Window window) {
+        WelchPSD psd = new WelchPSD(sampleRate, segment, overlap, window);
+        if (x.length < segment) {
+            throw new IllegalArgumentException("signal is shorter than one segment");
+        }
+        int count = (x.length - segment) / psd.hop + 1;
+        int blocks = (count + BLOCK - 1) / BLOCK;
+        double[][] partial = new double[blocks][];
+        Parallel.forRange(0, blocks, 1, (from, to) -> {
+            double[] re = new double[segment], im = new double[segment];
+            for (int b = from; b < to; b++) {
+                partial[b] = new double[psd.sum.length];
+                for (int s = b * BLOCK, end = Math.min(count, s + BLOCK); s < end; s++) {
+                    psd.accumulate(x, s * psd.hop, partial[b], re, im);
+                }
+            }
+        });
+        for (double[] p : partial) {
+            for (int k = 0; k < p.length; k++) {
+                psd.sum[k] += p[k];
+            }
+        }
+        psd.segments = count;
+        return psd.psd();
+    }
+}
@@ -0,0 +1,85 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AUCAccumulatorTest {
+    final double episilon = 0.000001d;
+
+    @Test
+    void testMatchesMedicalAUCForUniformSpacing() {
+        List<Point> points = new ArrayList<>(5);
+        points.add(new Point(0.25, 0.2474));
+        points.add(new Point(0.26, 0.2571));
+        points.add(new Point(0.27, 0.2667));
+        points.add(new Point(0.28, 0.2764));
+        points.add(new Point(0.29, 0.2860));
+
+        var acc = new AUCAccumulator();
+        for (Point p : points) {
+            acc.add(p);
+        }
+
+        assertEquals(new Medical().AUC(points), acc.getAUC(), episilon);
+        assertEquals(5, acc.getCount());
+        assertEquals(0.2860, acc.getCmax());
+        assertEquals(0.29, acc.getTmax());
+    }
+
+    @Test
+    void testNonUniformSpacing() {
+        double t[] = { 0, 0.5, 1, 2, 4, 8, 12, 24 };
+        double c[] = { 0, 5.1, 8.2, 7.9, 6.0, 3.4, 1.9, 0.4 };
+
+        var acc = new AUCAccumulator();
+        acc.addAll(t, c, 0, t.length);
+
+        double auc = 0, aumc = 0;
+        for (int i = 1; i < t.length; i++) {
+            auc += (t[i] - t[i - 1]) * (c[i] + c[i - 1]) / 2;
+            aumc += (t[i] - t[i - 1]) * (t[i] * c[i] + t[i - 1] * c[i - 1]) / 2;
+        }
+
+        assertEquals(auc, acc.getAUC(), episilon);
+        assertEquals(aumc, acc.getAUMC(), episilon);
+        assertEquals(aumc / auc, acc.getMRT(), episilon);
+        assertEquals(8.2, acc.getCmax());
+        assertEquals(1, acc.getTmax());
+
+        assertThrows(IllegalArgumentException.class, () -> acc.add(20, 1));
+    }
+
+    @Test
+    void testMerge() {
+        int n = 1000;
+        var whole = new AUCAccumulator();
+        var parts = new AUCAccumulator[4];
+        for (int k = 0; k < parts.length; k++) {
+            parts[k] = new AUCAccumulator();
+        }
+
+        for (int i = 0; i < n; i++) {
+            double t = i * 0.1 + 0.01 * (i % 3);
+            double c = 10 * Math.exp(-0.2 * t) * (1 - Math.exp(-2 * t));
+            whole.add(t, c);
+            parts[i * parts.length / n].add(t, c);
+        }
+
+        var merged = new AUCAccumulator();
+        for (var part : parts) {
+            merged.merge(part);
+        }
+
+        assertEquals(whole.getAUC(), merged.getAUC(), 1e-12);
+        assertEquals(whole.getAUMC(), merged.getAUMC(), 1e-10);
+        assertEquals(whole.getCmax(), merged.getCmax());
+        assertEquals(whole.getTmax(), merged.getTmax());
+        assertEquals(n, merged.getCount());
+
+        assertThrows(IllegalArgumentException.class, () -> parts[1].merge(parts[0]));
+    }
+}
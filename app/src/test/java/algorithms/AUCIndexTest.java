@@ -0,0 +1,86 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+
+public class AUCIndexTest {
+    final double episilon = 0.000001d;
+
+    @Test
+    void testMatchesMedicalAUC() {
+        var series = new PointSeries();
+        for (int i = 0; i < 100; i++) {
+            series.add(i * 0.5, Math.exp(-0.1 * i));
+        }
+        var index = new AUCIndex(series);
+        assertEquals(new Medical().AUC(series), index.total(), 1e-12);
+
+        // Partial areas at sample boundaries match Medical.AUC over a view
+        assertEquals(new Medical().AUC(series.view(8, 41)), index.area(4, 20), 1e-12);
+        assertEquals(-index.area(4, 20), index.area(20, 4));
+        assertEquals(0, index.area(7, 7));
+    }
+
+    @Test
+    void testInterpolatedBoundaries() {
+        // y = 2x + 1 is integrated exactly by trapezoids
+        double x[] = { 0, 1, 1.5, 4, 7, 7, 10 };
+        double y[] = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = 2 * x[i] + 1;
+        }
+        var index = new AUCIndex(x, y);
+
+        for (double t1 = -1; t1 <= 11; t1 += 0.37) {
+            for (double t2 = t1; t2 <= 11; t2 += 0.53) {
+                double a = Math.min(Math.max(t1, 0), 10), b = Math.min(Math.max(t2, 0), 10);
+                assertEquals(b * b + b - a * a - a, index.area(t1, t2), 1e-12);
+            }
+        }
+        assertEquals(1.25 * 1.25 + 1.25, index.cumulative(1.25), 1e-12);
+        assertArrayEquals(new double[] { 2, 70, 38 }, index.intervals(new double[] { 0, 1, 8, 10 }), 1e-12);
+
+        // The index copies the arrays, so later writes do not affect it
+        x[6] = 20;
+        y[0] = 100;
+        assertEquals(110, index.total(), 1e-12);
+        assertEquals(1.25 * 1.25 + 1.25, index.cumulative(1.25), 1e-12);
+
+        // Series wrapping caller arrays are copied as well; the view is
+        // y = 2x + 1 on [1, 3]
+        double wx[] = { 0, 1, 2, 3 }, wy[] = { 1, 3, 5, 7 };
+        var wrapped = new AUCIndex(PointSeries.wrap(wx, wy).view(1, 4));
+        wx[3] = 30;
+        wy[1] = 100;
+        assertEquals(10, wrapped.total(), 1e-12);
+        assertEquals(2.5 * 2.5 + 2.5 - 2, wrapped.cumulative(2.5), 1e-12);
+
+        assertThrows(IllegalArgumentException.class, () -> new AUCIndex(new double[] { 0, 2, 1 }, new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> new AUCIndex(new double[] { 0 }, new double[1]));
+    }
+
+    @Test
+    void testParallelBuild() {
+        int n = 5 * AUCIndex.BLOCK + 123;
+        double x[] = new double[n], y[] = new double[n];
+        Random random = new Random(9);
+        for (int i = 1; i < n; i++) {
+            x[i] = x[i - 1] + 0.01 + random.nextDouble();
+            y[i] = random.nextDouble();
+        }
+        var index = new AUCIndex(x, y);
+
+        var acc = new AUCAccumulator();
+        acc.addAll(x, y, 0, n);
+        assertEquals(acc.getAUC(), index.total(), 1e-9 * acc.getAUC());
+
+        var part = new AUCAccumulator();
+        int from = AUCIndex.BLOCK - 5, to = 3 * AUCIndex.BLOCK + 7;
+        part.addAll(x, y, from, to - from + 1);
+        assertEquals(part.getAUC(), index.area(x[from], x[to]), 1e-9 * part.getAUC());
+    }
+}
@@ -94,4 +94,86 @@ public class AlgebraTest {
         val = linalg.NewtonForwardInterpolation(points, x);
         assertEquals(0.788003, val, episilon);
     }
+
+    @Test
+    void testNewtonInterpolationArrays() {
+        double x[] = { 45, 50, 55, 60 };
+        double y[] = { 0.7071, 0.7660, 0.8192, 0.8660 };
+
+        assertEquals(0.788003, linalg.NewtonForwardInterpolation(x, y, 52), episilon);
+
+        // y is left untouched by the in-place difference table
+        assertEquals(0.7071, y[0]);
+        assertEquals(0.8660, y[3]);
+
+        // Against the textbook formula on the full difference table
+        int n = 20;
+        x = new double[n];
+        y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 1 + 0.1 * i;
+            y[i] = Math.log(x[i]);
+        }
+        for (double at = 1.01; at < 2.9; at += 0.17) {
+            assertEquals(newtonReference(x, y, at, true), linalg.NewtonForwardInterpolation(x, y, at), 1e-12);
+            assertEquals(newtonReference(x, y, at, false), linalg.NewtonBackwardInterpolation(x, y, at), 1e-12);
+        }
+
+        // Exact on polynomial data, y = x^2 - 3x
+        n = 150;
+        x = new double[n];
+        y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i * 0.5;
+            y[i] = x[i] * x[i] - 3 * x[i];
+        }
+        assertEquals(10.25 * 10.25 - 3 * 10.25, linalg.NewtonForwardInterpolation(x, y, 10.25), 1e-9);
+        assertEquals(70.25 * 70.25 - 3 * 70.25, linalg.NewtonBackwardInterpolation(x, y, 70.25), 1e-9);
+    }
+
+    /**
+     * y0 + p Δy0 + p(p-1)/2! Δ²y0 + ... (or the backward form with ∇ⁱyn and
+     * p(p+1)...), with every difference taken from a full n x n table.
+     */
+    private static double newtonReference(double x[], double y[], double value, boolean forward) {
+        int n = y.length;
+        double table[][] = new double[n][];
+        table[0] = y.clone();
+        for (int i = 1; i < n; i++) {
+            table[i] = new double[n - i];
+            for (int j = 0; j < n - i; j++) {
+                table[i][j] = table[i - 1][j + 1] - table[i - 1][j];
+            }
+        }
+
+        double h = x[1] - x[0];
+        double p = forward ? (value - x[0]) / h : (value - x[n - 1]) / h;
+        double sum = forward ? y[0] : y[n - 1];
+        double numerator = 1, factorial = 1;
+        for (int i = 1; i < n; i++) {
+            numerator *= forward ? p - (i - 1) : p + (i - 1);
+            factorial *= i;
+            sum += numerator / factorial * (forward ? table[i][0] : table[i][n - 1 - i]);
+        }
+        return sum;
+    }
+
+    @Test
+    void testNewtonInterpolationLongTables() {
+        // Terms no longer overflow to Inf/Inf past 170 nodes
+        for (int n : new int[] { 300, 1000, 32768 }) {
+            double x[] = new double[n], y[] = new double[n], cubic[] = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = i;
+                y[i] = 2 * x[i] + 1;
+                cubic[i] = x[i] * x[i] * x[i] - 4 * x[i];
+            }
+
+            double at = n / 2 + 0.5;
+            assertEquals(2 * at + 1, linalg.NewtonForwardInterpolation(x, y, at));
+            assertEquals(2 * at + 1, linalg.NewtonBackwardInterpolation(x, y, at));
+            assertEquals(at * at * at - 4 * at, linalg.NewtonForwardInterpolation(x, cubic, at));
+            assertEquals(at * at * at - 4 * at, linalg.NewtonBackwardInterpolation(x, cubic, at));
+        }
+    }
 }
@@ -0,0 +1,146 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ArterialWaveformTest {
+    /** Pressure at phase [0, 1) of a beat: fast upstroke, exponential runoff. */
+    static double shape(double phase, double dbp, double sbp) {
+        double rise = 0.12;
+        if (phase < rise) {
+            double s = phase / rise;
+            return dbp + (sbp - dbp) * s * s * (3 - 2 * s);
+        }
+        double decay = Math.exp(-(phase - rise) / 0.3);
+        double end = Math.exp(-(1 - rise) / 0.3);
+        return dbp + (sbp - dbp) * (decay - end) / (1 - end);
+    }
+
+    /** Mean of shape over a beat, by fine midpoint rule. */
+    static double meanPressure(double dbp, double sbp) {
+        int steps = 200000;
+        double sum = 0;
+        for (int i = 0; i < steps; i++) {
+            sum += shape((i + 0.5) / steps, dbp, sbp);
+        }
+        return sum / steps;
+    }
+
+    /** Waveform with a heart rate drifting between 60 and 100 bpm. */
+    static double[] waveform(double rate, double seconds, double[] onsets) {
+        int n = (int) (rate * seconds);
+        double out[] = new double[n];
+        double t = 0, beatStart = 0, period = 1.0;
+        int beat = 0;
+        for (int i = 0; i < n; i++) {
+            t = i / rate;
+            while (t >= beatStart + period) {
+                beatStart += period;
+                beat++;
+                period = 60.0 / (80 + 20 * Math.sin(beat * 0.3));
+                if (onsets != null && beat < onsets.length) {
+                    onsets[beat] = beatStart;
+                }
+            }
+            out[i] = shape((t - beatStart) / period, 75, 125);
+        }
+        return out;
+    }
+
+    static List<double[]> run(double rate, double[] signal, int chunk) {
+        List<double[]> beats = new ArrayList<>();
+        var processor = new ArterialWaveform(rate, (start, end, sbp, dbp, map) -> beats
+                .add(new double[] { start, end, sbp, dbp, map }));
+        for (int i = 0; i < signal.length; i += chunk) {
+            processor.process(signal, i, Math.min(chunk, signal.length - i));
+        }
+        assertEquals(beats.size(), processor.getBeats());
+        assertEquals(signal.length, processor.getSamples());
+        return beats;
+    }
+
+    @Test
+    void testBeatsAndIntegratedMAP() {
+        for (double rate : new double[] { 125, 250, 1000 }) {
+            double onsets[] = new double[200];
+            double signal[] = waveform(rate, 60, onsets);
+            List<double[]> beats = run(rate, signal, 500);
+
+            // Every beat after the learning period is found
+            assertTrue(beats.size() >= 75, "rate " + rate + ": " + beats.size());
+            double mean = meanPressure(75, 125);
+            for (double beat[] : beats) {
+                double duration = beat[1] - beat[0];
+                assertTrue(duration > 0.55 && duration < 1.05);
+                assertEquals(125, beat[2], 1.5); // the sharp peak falls between samples
+                assertEquals(75, beat[3], 0.5);
+                assertEquals(mean, beat[4], 0.6);
+
+                // Onsets land on the generated beat boundaries
+                double nearest = Double.MAX_VALUE;
+                for (double onset : onsets) {
+                    nearest = Math.min(nearest, Math.abs(onset - beat[1]));
+                }
+                assertTrue(nearest <= 2 / rate + 1e-9);
+            }
+
+            // The integrated MAP is not the one-third rule for this shape
+            assertTrue(Math.abs(new Medical().MAP(125, 75) - mean) > 1);
+        }
+    }
+
+    @Test
+    void testChunkingDoesNotMatter() {
+        double signal[] = waveform(250, 20, null);
+        List<double[]> whole = run(250, signal, signal.length);
+        List<double[]> small = run(250, signal, 7);
+        assertEquals(whole.size(), small.size());
+        for (int i = 0; i < whole.size(); i++) {
+            assertArrayEquals(whole.get(i), small.get(i));
+        }
+    }
+
+    @Test
+    void testMonitor() throws InterruptedException {
+        int channels = 9, chunk = 125;
+        double signals[][] = new double[channels][];
+        List<List<double[]>> beats = new ArrayList<>();
+        var processors = new ArterialWaveform[channels];
+        for (int c = 0; c < channels; c++) {
+            signals[c] = waveform(125, 30, null);
+            for (int i = 0; i < signals[c].length; i++) {
+                signals[c][i] += c; // distinguish the channels
+            }
+            List<double[]> list = new ArrayList<>();
+            beats.add(list);
+            processors[c] = new ArterialWaveform(125,
+                    (start, end, sbp, dbp, map) -> list.add(new double[] { start, end, sbp, dbp, map }));
+        }
+
+        try (var monitor = new ArterialWaveform.Monitor(processors, 3)) {
+            double chunks[][] = new double[channels][chunk];
+            int lengths[] = new int[channels];
+            for (int i = 0; i < signals[0].length; i += chunk) {
+                for (int c = 0; c < channels; c++) {
+                    lengths[c] = Math.min(chunk, signals[c].length - i);
+                    System.arraycopy(signals[c], i, chunks[c], 0, lengths[c]);
+                }
+                monitor.process(chunks, lengths);
+            }
+        }
+
+        for (int c = 0; c < channels; c++) {
+            List<double[]> expected = run(125, signals[c], 1000);
+            assertEquals(expected.size(), beats.get(c).size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i), beats.get(c).get(i));
+            }
+            assertEquals(75 + c, beats.get(c).get(0)[3], 0.5);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BarycentricInterpolatorTest {
+    final double episilon = 0.000001d;
+
+    @Test
+    void testNonUniformNodes() {
+        // y = x^3 - 2x sampled irregularly
+        double x[] = { -1.3, 0.1, 0.45, 2.0, 3.7 };
+        double y[] = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = x[i] * x[i] * x[i] - 2 * x[i];
+        }
+
+        var interp = new BarycentricInterpolator(x, y);
+        assertEquals(5, interp.size());
+        assertEquals(1.5 * 1.5 * 1.5 - 3, interp.evaluate(1.5), episilon);
+        assertEquals(y[2], interp.evaluate(0.45));
+
+        double out[] = interp.evaluate(new double[] { -1, 0, 1 });
+        assertEquals(1, out[0], episilon);
+        assertEquals(0, out[1], episilon);
+        assertEquals(-1, out[2], episilon);
+    }
+
+    @Test
+    void testMatchesNewtonForUniformNodes() {
+        List<Point> points = new ArrayList<>(4);
+        points.add(new Point(45, 0.7071));
+        points.add(new Point(50, 0.7660));
+        points.add(new Point(55, 0.8192));
+        points.add(new Point(60, 0.8660));
+
+        var interp = new BarycentricInterpolator(points);
+        assertEquals(new Algebra().NewtonForwardInterpolation(points, 52), interp.evaluate(52), episilon);
+    }
+
+    @Test
+    void testAddNode() {
+        double x[] = { 0, 1, 3 };
+        double y[] = { 1, 2, 10 }; // y = x^2 + 1
+        var interp = new BarycentricInterpolator(x, y);
+        assertEquals(5, interp.evaluate(2), episilon);
+
+        // y = x^3 + 1 needs a fourth node
+        var cubic = new BarycentricInterpolator(x, new double[] { 1, 2, 28 });
+        cubic.addNode(-2, -7);
+        assertEquals(4, cubic.size());
+        assertEquals(9, cubic.evaluate(2), episilon);
+
+        assertThrows(IllegalArgumentException.class, () -> cubic.addNode(1, 2));
+        assertEquals(9, cubic.evaluate(2), episilon);
+    }
+
+    @Test
+    void testChebyshev() {
+        // Runge's function is well behaved on Chebyshev points
+        var interp = BarycentricInterpolator.chebyshev(-1, 1, 101, t -> 1 / (1 + 25 * t * t));
+        for (double t = -1; t <= 1; t += 0.05) {
+            assertEquals(1 / (1 + 25 * t * t), interp.evaluate(t), 1e-6);
+        }
+
+        // The O(n) closed form weights agree with nodes added one at a time
+        interp.addNode(0.123456, 1 / (1 + 25 * 0.123456 * 0.123456));
+        assertEquals(1 / (1 + 25 * 0.5 * 0.5), interp.evaluate(0.5), 1e-6);
+    }
+}
@@ -0,0 +1,78 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+
+public class ClosestPairTest {
+    static double bruteForce(double[] x, double[] y) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < x.length; i++) {
+            for (int j = i + 1; j < x.length; j++) {
+                best = Math.min(best, Math.hypot(x[i] - x[j], y[i] - y[j]));
+            }
+        }
+        return best;
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(50);
+        for (int n : new int[] { 2, 3, 4, 5, 17, 100, 2000 }) {
+            double[] x = new double[n], y = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = random.nextDouble() * 1000;
+                y[i] = random.nextInt(4) == 0 ? 7 : random.nextDouble() * 1000; // some share a y
+            }
+            ClosestPair pair = ClosestPair.of(x, y);
+            assertEquals(bruteForce(x, y), pair.getDistance(), 1e-12);
+            int a = pair.getFirst(), b = pair.getSecond();
+            assertEquals(pair.getDistance(), Math.hypot(x[a] - x[b], y[a] - y[b]), 1e-12);
+        }
+    }
+
+    @Test
+    void testLargeCloud() {
+        Random random = new Random(51);
+        int n = 400_000;
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble() * 1e6;
+            y[i] = random.nextDouble() * 1e6;
+        }
+        // Plant a pair closer than any random pair is likely to be
+        x[123_456] = 500_000;
+        y[123_456] = 500_000;
+        x[7] = 500_000.0001;
+        y[7] = 500_000;
+
+        ClosestPair pair = ClosestPair.of(x, y);
+        assertEquals(7, pair.getFirst());
+        assertEquals(123_456, pair.getSecond());
+        assertEquals(0.0001, pair.getDistance(), 1e-9);
+    }
+
+    @Test
+    void testDuplicatesAndList() {
+        ClosestPair pair = ClosestPair.of(List.of(new Point(0, 0), new Point(5, 5), new Point(1, 1),
+                new Point(5, 5)));
+        assertEquals(1, pair.getFirst());
+        assertEquals(3, pair.getSecond());
+        assertEquals(0, pair.getDistance());
+
+        // All on one vertical line
+        double[] x = new double[1000], y = new double[1000];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = i * i;
+        }
+        pair = ClosestPair.of(x, y);
+        assertEquals(1, pair.getDistance());
+
+        assertThrows(IllegalArgumentException.class, () -> ClosestPair.of(new double[1], new double[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> ClosestPair.of(new double[] { 0, Double.NaN }, new double[2]));
+    }
+}
@@ -0,0 +1,84 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import java.math.BigInteger;
+
+public class CombinatoricsTest {
+    final double episilon = 0.000001d;
+
+    @Test
+    void testFactorial() {
+        assertEquals(1, Combinatorics.factorialExact(0));
+        assertEquals(6227020800L, Combinatorics.factorialExact(13));
+        assertEquals(2432902008176640000L, Combinatorics.factorialExact(20));
+        assertThrows(ArithmeticException.class, () -> Combinatorics.factorialExact(21));
+
+        assertEquals(6227020800.0, Combinatorics.factorial(13));
+        assertEquals(Double.POSITIVE_INFINITY, Combinatorics.factorial(171));
+    }
+
+    @Test
+    void testBigFactorial() {
+        BigInteger expected = BigInteger.ONE;
+        for (int i = 1; i <= 600; i++) {
+            expected = expected.multiply(BigInteger.valueOf(i));
+            if (i == 25 || i == 256 || i == 257 || i == 600) {
+                assertEquals(expected, Combinatorics.bigFactorial(i));
+            }
+        }
+        // Served from the memoized checkpoints
+        assertEquals(expected, Combinatorics.bigFactorial(600));
+    }
+
+    @Test
+    void testBinomial() {
+        assertEquals(10, Combinatorics.binomial(5, 2));
+        assertEquals(1, Combinatorics.binomial(66, 0));
+        assertEquals(7219428434016265740L, Combinatorics.binomial(66, 33));
+        assertEquals(Combinatorics.bigBinomial(100, 10).longValueExact(), Combinatorics.binomial(100, 10));
+        assertEquals(new BigInteger("100891344545564193334812497256"), Combinatorics.bigBinomial(100, 50));
+        assertThrows(ArithmeticException.class, () -> Combinatorics.binomial(100, 50));
+
+        assertEquals(1.0089134454556419e29, Combinatorics.binomialDouble(100, 50), 1e16);
+    }
+
+    @Test
+    void testLogGamma() {
+        assertEquals(0, Combinatorics.logGamma(1), episilon);
+        assertEquals(0, Combinatorics.logGamma(2), episilon);
+        assertEquals(0.5 * Math.log(Math.PI), Combinatorics.logGamma(0.5), 1e-14);
+        assertEquals(Math.log(Combinatorics.factorial(100)), Combinatorics.logGamma(101), 1e-10);
+        assertEquals(Math.log(Combinatorics.factorial(29)), Combinatorics.logGamma(30), 1e-12);
+        // ln Γ(1000.5) from the reference value
+        assertEquals(5908.674175848678, Combinatorics.logGamma(1000.5), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> Combinatorics.logGamma(0));
+    }
+
+    @Test
+    void testModularTable() {
+        var table = new Combinatorics.ModularTable(1000, 1_000_000_007);
+        assertEquals(1_000_000_007, table.modulus());
+        assertEquals(Combinatorics.bigFactorial(1000).mod(BigInteger.valueOf(1_000_000_007)).longValue(),
+                table.factorial(1000));
+        assertEquals(1, table.factorial(500) * table.inverseFactorial(500) % 1_000_000_007);
+        assertEquals(Combinatorics.bigBinomial(1000, 300).mod(BigInteger.valueOf(1_000_000_007)).longValue(),
+                table.binomial(1000, 300));
+
+        // Lucas' theorem beyond a small prime
+        var small = new Combinatorics.ModularTable(100, 7);
+        assertEquals(Combinatorics.bigBinomial(100, 30).mod(BigInteger.valueOf(7)).longValue(),
+                small.binomial(100, 30));
+        assertEquals(0, small.factorial(7));
+        assertEquals(0, small.factorial(1000));
+        assertEquals(720 % 7, small.factorial(6));
+
+        // Beyond the table but below p, n! mod p is not 0
+        assertThrows(IllegalArgumentException.class, () -> table.factorial(1001));
+        assertThrows(IllegalArgumentException.class, () -> table.factorial(-1));
+        assertThrows(IllegalArgumentException.class, () -> table.inverseFactorial(1001));
+        assertThrows(IllegalArgumentException.class, () -> small.inverseFactorial(7));
+    }
+}
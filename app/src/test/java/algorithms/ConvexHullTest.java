@@ -0,0 +1,97 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+
+public class ConvexHullTest {
+    /** Checks convexity, orientation and that every point is inside. */
+    static void assertHull(double[] x, double[] y, int[] hull) {
+        int h = hull.length;
+        for (int i = 0; i < h; i++) {
+            int a = hull[i], b = hull[(i + 1) % h], c = hull[(i + 2) % h];
+            assertTrue(ConvexHull.cross(x, y, a, b, c) > 0, "hull must turn left at every vertex");
+        }
+        for (int p = 0; p < x.length; p++) {
+            for (int i = 0; i < h; i++) {
+                assertTrue(ConvexHull.cross(x, y, hull[i], hull[(i + 1) % h], p) >= -1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testSquareWithInteriorAndCollinear() {
+        double[] x = { 0, 1, 2, 2, 2, 1, 0, 0, 1, 0.5, 0 };
+        double[] y = { 0, 0, 0, 1, 2, 2, 2, 1, 1, 0.5, 0 };
+        int[] hull = ConvexHull.compute(x, y);
+        // Starts at the lowest-leftmost point, counter-clockwise, corners only
+        assertEquals(4, hull.length);
+        assertEquals(0, x[hull[0]]);
+        assertEquals(0, y[hull[0]]);
+        assertEquals(2, x[hull[1]]);
+        assertEquals(0, y[hull[1]]);
+        assertEquals(2, x[hull[2]]);
+        assertEquals(2, y[hull[2]]);
+        assertEquals(6, hull[3]);
+    }
+
+    @Test
+    void testLargeClouds() {
+        Random random = new Random(49);
+        int n = 300_000;
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextGaussian();
+            y[i] = random.nextGaussian() * 3;
+        }
+        assertHull(x, y, ConvexHull.compute(x, y));
+
+        // Every point on a circle is a vertex, so the filter removes nothing
+        int m = 50_000;
+        double[] cx = new double[m], cy = new double[m];
+        for (int i = 0; i < m; i++) {
+            double angle = 2 * Math.PI * i / m;
+            cx[i] = Math.cos(angle) * 1e3;
+            cy[i] = Math.sin(angle) * 1e3;
+        }
+        int[] circle = ConvexHull.compute(cx, cy);
+        assertTrue(circle.length > m * 0.99);
+        assertHull(cx, cy, circle);
+
+        // Integer grid, lots of duplicates and collinear points
+        double[] gx = new double[n], gy = new double[n];
+        for (int i = 0; i < n; i++) {
+            gx[i] = random.nextInt(50);
+            gy[i] = random.nextInt(30);
+        }
+        int[] grid = ConvexHull.compute(gx, gy);
+        assertEquals(4, grid.length);
+        assertHull(gx, gy, grid);
+    }
+
+    @Test
+    void testDegenerate() {
+        assertEquals(0, ConvexHull.compute(new double[0], new double[0]).length);
+        assertArrayEquals(new int[] { 0 }, ConvexHull.compute(new double[] { 3 }, new double[] { 4 }));
+        assertEquals(1, ConvexHull.compute(new double[] { 3, 3, 3 }, new double[] { 4, 4, 4 }).length);
+
+        int[] segment = ConvexHull.compute(new double[] { 1, 0, 2, 3 }, new double[] { 1, 0, 2, 3 });
+        assertArrayEquals(new int[] { 1, 3 }, segment);
+
+        Point a = new Point(0, 0), b = new Point(4, 0), c = new Point(0, 3), inside = new Point(1, 1);
+        List<Point> hull = ConvexHull.of(List.of(inside, c, b, a));
+        assertEquals(3, hull.size());
+        assertSame(a, hull.get(0));
+        assertSame(b, hull.get(1));
+        assertSame(c, hull.get(2));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ConvexHull.compute(new double[] { 0, Double.NaN }, new double[2]));
+    }
+}
@@ -0,0 +1,115 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class CubicSplineTest {
+    final double episilon = 0.000001d;
+
+    // y = x^3 - 2x^2 + 1 on irregular nodes
+    final double x[] = { -1, -0.2, 0.5, 1.1, 2, 2.4, 3.5 };
+
+    double cubic(double t) {
+        return t * t * t - 2 * t * t + 1;
+    }
+
+    double[] values() {
+        double y[] = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = cubic(x[i]);
+        }
+        return y;
+    }
+
+    @Test
+    void testClampedReproducesCubic() {
+        // s'(x) = 3x^2 - 4x
+        var spline = CubicSpline.clamped(x, values(), 3 + 4, 3 * 3.5 * 3.5 - 4 * 3.5);
+
+        for (double t = -1; t <= 3.5; t += 0.125) {
+            assertEquals(cubic(t), spline.evaluate(t), episilon);
+            assertEquals(3 * t * t - 4 * t, spline.derivative(t), episilon);
+            assertEquals(6 * t - 4, spline.secondDerivative(t), episilon);
+        }
+
+        // ∫ x^3 - 2x^2 + 1 dx from 0 to 3 = 81/4 - 18 + 3
+        assertEquals(81.0 / 4 - 18 + 3, spline.integral(0, 3), episilon);
+        assertEquals(-spline.integral(0, 3), spline.integral(3, 0), episilon);
+    }
+
+    @Test
+    void testNatural() {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i <= 20; i++) {
+            points.add(new Point(i * 0.25, Math.sin(i * 0.25)));
+        }
+
+        var spline = CubicSpline.natural(points);
+        assertEquals(21, spline.size());
+        assertEquals(Math.sin(1.3), spline.evaluate(1.3), 1e-4);
+        assertEquals(0, spline.secondDerivative(0), episilon);
+        assertEquals(0, spline.secondDerivative(5), episilon);
+        assertEquals(1 - Math.cos(5), spline.integral(0, 5), 1e-3);
+
+        // Two points give a straight line
+        spline = CubicSpline.natural(new double[] { 0, 2 }, new double[] { 1, 5 });
+        assertEquals(3, spline.evaluate(1), episilon);
+        assertEquals(2, spline.derivative(1.5), episilon);
+    }
+
+    @Test
+    void testMonotone() {
+        // Concentration-time like data with a plateau
+        double t[] = { 0, 0.5, 1, 2, 4, 6, 8, 12 };
+        double c[] = { 0, 4.2, 6.1, 6.1, 4.0, 2.2, 1.1, 0.2 };
+        var spline = CubicSpline.monotone(t, c);
+
+        for (int i = 0; i < t.length - 1; i++) {
+            double lo = Math.min(c[i], c[i + 1]), hi = Math.max(c[i], c[i + 1]);
+            for (double s = t[i]; s <= t[i + 1]; s += 0.01) {
+                double v = spline.evaluate(s);
+                assertTrue(v >= lo - 1e-12 && v <= hi + 1e-12, "overshoot at " + s);
+            }
+            assertEquals(c[i], spline.evaluate(t[i]), episilon);
+        }
+    }
+
+    @Test
+    void testBulkEvaluation() {
+        var spline = CubicSpline.natural(x, values());
+        Random rnd = new Random(7);
+
+        int m = 100_000;
+        double sorted[] = new double[m];
+        double shuffled[] = new double[m];
+        for (int i = 0; i < m; i++) {
+            sorted[i] = -1.5 + 5.5 * i / m;
+            shuffled[i] = -1.5 + 5.5 * rnd.nextDouble();
+        }
+
+        for (double qs[] : new double[][] { sorted, shuffled }) {
+            double out[] = new double[m];
+            double par[] = new double[m];
+            spline.evaluate(qs, out);
+            spline.parallelEvaluate(qs, par);
+            for (int i = 0; i < m; i++) {
+                assertEquals(spline.evaluate(qs[i]), out[i]);
+                assertEquals(out[i], par[i]);
+            }
+        }
+    }
+
+    @Test
+    void testInvalidNodes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CubicSpline.natural(new double[] { 0, 1, 1 }, new double[] { 0, 1, 2 }));
+        assertThrows(IllegalArgumentException.class,
+                () -> CubicSpline.monotone(new double[] { 0 }, new double[] { 0 }));
+    }
+}
@@ -0,0 +1,89 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import algorithms.PKModel.Dose;
+
+public class DosingRegimenTest {
+    final PKModel model = PKModel.twoCompartment(5, 30, 8, 60).withAbsorption(1.1, 0.9);
+
+    @Test
+    void testMatchesSuperposition() {
+        double dt = 0.25;
+        int samples = 24 * 4 * 14 + 1; // two weeks
+        var regimen = new DosingRegimen(dt, samples);
+        List<Dose> doses = new ArrayList<>();
+        for (int i = 0; i < 28; i++) {
+            double amount = i % 7 == 6 ? 0 : 250 + 10 * (i % 3);
+            if (amount > 0) {
+                regimen.addDose(i * 12, amount);
+                doses.add(Dose.oral(i * 12, amount));
+            }
+        }
+        assertEquals(24, regimen.getDoses());
+
+        // Zero doses and doses that cancel are not counted
+        var counted = new DosingRegimen(dt, samples).addDose(0, 0).addDose(0, 0).addDose(12, 100).addDose(12, -100)
+                .addDose(12, 50).addDose(24, 10);
+        assertEquals(2, counted.getDoses());
+
+        var curve = regimen.simulate(model, Dose.oral(0, 1));
+        Dose all[] = doses.toArray(new Dose[0]);
+        for (int k = 0; k < samples; k += 7) {
+            assertEquals(model.concentration(k * dt, all), curve.y(k), 1e-10);
+            assertEquals(k * dt, curve.x(k));
+        }
+
+        // Direct summation and FFT agree on the same schedule
+        double unit[] = model.unitResponse(Dose.oral(0, 1), dt, samples);
+        var many = new DosingRegimen(dt, samples).addRepeated(0, 100, 0.5, 2 * 24 * 14);
+        assertTrue(DosingRegimen.useFFT(many.getDoses(), samples, samples));
+        assertFalse(DosingRegimen.useFFT(2, samples, samples));
+        var fft = many.simulate(unit);
+        double direct[] = new double[samples];
+        for (int j = 0; j < samples; j += 2) {
+            for (int k = j; k < samples; k++) {
+                direct[k] += 100 * unit[k - j];
+            }
+        }
+        for (int k = 0; k < samples; k++) {
+            assertEquals(direct[k], fft.y(k), 1e-9 * Math.max(1, direct[k]));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> regimen.addDose(0.1, 1));
+    }
+
+    @Test
+    void testSteadyState() {
+        // One compartment, k = 0.1/h, dosed every 8h: accumulation 1 - e^(-0.8 n)
+        var linear = PKModel.oneCompartment(5, 50);
+        double dt = 0.1;
+        int samples = 24 * 10 * 6 + 1;
+        var regimen = new DosingRegimen(dt, samples).addRepeated(0, 400, 8, 18);
+        var curve = regimen.simulate(linear, Dose.infusion(0, 1, 1));
+
+        double start = DosingRegimen.steadyState(curve, 8, 0.01);
+        // Interval n adds about e^(-0.8 n) relative, below 1% from n = 6
+        assertEquals(48, start, 1);
+
+        // From start, one full interval repeats the previous one within 1%
+        int s = (int) Math.round(start / dt);
+        for (int k = s; k < s + 80; k++) {
+            assertEquals(curve.y(k - 80), curve.y(k), 0.01 * curve.y(k));
+        }
+        assertTrue(Math.abs(curve.y(s - 1) - curve.y(s - 81)) > 0.01 * curve.y(s - 1));
+
+        // At steady state the AUC over one interval equals dose / CL
+        int from = (int) Math.round(120 / dt), to = (int) Math.round(128 / dt);
+        assertEquals(400.0 / 5, new Medical().AUC(curve.view(from, to + 1)), 0.5);
+
+        var single = new DosingRegimen(dt, samples).addDose(0, 400).simulate(linear, Dose.bolus(0, 1));
+        assertTrue(Double.isNaN(DosingRegimen.steadyState(single, 8, 0.01)));
+    }
+}
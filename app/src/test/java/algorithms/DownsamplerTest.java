@@ -0,0 +1,125 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+public class DownsamplerTest {
+    static double[][] signal(int n, long seed) {
+        Random random = new Random(seed);
+        double x[] = new double[n], y[] = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i * 0.01;
+            y[i] = Math.sin(x[i]) + 0.1 * random.nextGaussian();
+        }
+        return new double[][] { x, y };
+    }
+
+    @Test
+    void testLttb() {
+        double xy[][] = signal(10000, 1);
+        double x[] = xy[0], y[] = xy[1];
+        y[5000] = 50; // a spike must survive
+
+        int kept[] = Downsampler.lttb(x, y, 200);
+        assertEquals(200, kept.length);
+        assertEquals(0, kept[0]);
+        assertEquals(9999, kept[199]);
+        for (int i = 1; i < kept.length; i++) {
+            assertTrue(kept[i] > kept[i - 1]);
+        }
+        assertTrue(Arrays.stream(kept).anyMatch(i -> i == 5000));
+
+        // Small inputs are returned whole
+        assertArrayEquals(new int[] { 0, 1, 2 }, Downsampler.lttb(new double[3], new double[3], 10));
+
+        // Each bucket keeps the point with the largest triangle
+        double sx[] = { 0, 1, 2, 3, 4 }, sy[] = { 0, 5, 1, 1, 0 };
+        assertArrayEquals(new int[] { 0, 1, 4 }, Downsampler.lttb(sx, sy, 3));
+    }
+
+    @Test
+    void testParallelLttb() {
+        int n = 3 * Downsampler.SEGMENT * 10 + 7;
+        double xy[][] = signal(n, 2);
+        int threshold = 3 * Downsampler.SEGMENT + 2;
+
+        int sequential[] = Downsampler.lttb(xy[0], xy[1], threshold);
+        int parallel[] = Downsampler.lttb(xy[0], xy[1], threshold, true);
+        assertEquals(threshold, parallel.length);
+
+        // Only the first bucket of each segment may differ
+        int differences = 0;
+        for (int i = 0; i < threshold; i++) {
+            if (sequential[i] != parallel[i]) {
+                differences++;
+                assertEquals(0, (i - 1) % Downsampler.SEGMENT, "index " + i);
+            }
+        }
+        assertTrue(differences <= 2);
+
+        var series = PointSeries.wrap(xy[0], xy[1]);
+        var view = series.view(1000, n);
+        PointSeries down = Downsampler.lttb(view, 500, true);
+        assertEquals(500, down.size());
+        assertEquals(xy[0][1000], down.x(0));
+        assertEquals(xy[0][n - 1], down.x(499));
+    }
+
+    @Test
+    void testMinMax() {
+        double xy[][] = signal(100003, 3);
+        double x[] = xy[0], y[] = xy[1];
+        y[777] = -40;
+        y[777 + 50000] = 40;
+
+        int kept[] = Downsampler.minMax(x, y, 1000);
+        assertTrue(kept.length <= 2000);
+        for (int i = 1; i < kept.length; i++) {
+            assertTrue(kept[i] > kept[i - 1]);
+        }
+        var down = Downsampler.minMax(PointSeries.wrap(x, y), 1000);
+        assertEquals(kept.length, down.size());
+        double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+        for (int i = 0; i < down.size(); i++) {
+            min = Math.min(min, down.y(i));
+            max = Math.max(max, down.y(i));
+        }
+        assertEquals(-40, min);
+        assertEquals(40, max);
+
+        // Flat buckets keep a single point
+        assertArrayEquals(new int[] { 0, 2 }, Downsampler.minMax(new double[4], new double[4], 2));
+    }
+
+    @Test
+    void testStreaming() {
+        double xy[][] = signal(1000, 4);
+        double x[] = xy[0], y[] = xy[1];
+
+        var minMax = new PointSeries();
+        var stream = new Downsampler.MinMaxStream(100, minMax::add);
+        stream.accept(x, y, 950);
+        stream.flush();
+        // Equal buckets give the same answer as the batch version
+        var batch = Downsampler.minMax(PointSeries.wrap(x, y).view(0, 900), 9);
+        assertArrayEquals(batch.toYArray(), minMax.view(0, batch.size()).toYArray());
+        assertTrue(minMax.size() - batch.size() <= 2);
+
+        var lttb = new PointSeries();
+        var lttbStream = new Downsampler.LttbStream(10, lttb::add);
+        for (int i = 0; i < 1000; i++) {
+            lttbStream.add(x[i], y[i]);
+        }
+        lttbStream.flush();
+        assertEquals(x[0], lttb.x(0));
+        assertEquals(x[999], lttb.x(lttb.size() - 1));
+        assertTrue(lttb.isStrictlyIncreasing());
+        // First point, 99 full buckets, one from the partial bucket, last point
+        assertEquals(102, lttb.size());
+    }
+}
@@ -0,0 +1,67 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+
+public class FFTTest {
+    @Test
+    void testMatchesDFT() {
+        Random random = new Random(1);
+        for (int n = 1; n <= 256; n *= 2) {
+            double re[] = new double[n], im[] = new double[n];
+            for (int i = 0; i < n; i++) {
+                re[i] = random.nextGaussian();
+                im[i] = random.nextGaussian();
+            }
+            double xr[] = re.clone(), xi[] = im.clone();
+            var fft = new FFT(n);
+            fft.forward(xr, xi);
+
+            for (int k = 0; k < n; k++) {
+                double sr = 0, si = 0;
+                for (int j = 0; j < n; j++) {
+                    double angle = -2 * Math.PI * j * k / n;
+                    sr += re[j] * Math.cos(angle) - im[j] * Math.sin(angle);
+                    si += re[j] * Math.sin(angle) + im[j] * Math.cos(angle);
+                }
+                assertEquals(sr, xr[k], 1e-9);
+                assertEquals(si, xi[k], 1e-9);
+            }
+
+            fft.inverse(xr, xi);
+            for (int i = 0; i < n; i++) {
+                assertEquals(re[i], xr[i], 1e-12);
+                assertEquals(im[i], xi[i], 1e-12);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new FFT(12));
+        assertEquals(1, FFT.nextPowerOfTwo(0));
+        assertEquals(16, FFT.nextPowerOfTwo(16));
+        assertEquals(32, FFT.nextPowerOfTwo(17));
+    }
+
+    @Test
+    void testConvolve() {
+        Random random = new Random(2);
+        double a[] = new double[37], b[] = new double[100];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextDouble();
+        }
+        for (int i = 0; i < b.length; i++) {
+            b[i] = random.nextDouble();
+        }
+        double c[] = FFT.convolve(a, b);
+        assertEquals(136, c.length);
+        for (int k = 0; k < c.length; k++) {
+            double sum = 0;
+            for (int j = Math.max(0, k - b.length + 1); j <= Math.min(k, a.length - 1); j++) {
+                sum += a[j] * b[k - j];
+            }
+            assertEquals(sum, c[k], 1e-10);
+        }
+        assertEquals(0, FFT.convolve(new double[0], b).length);
+    }
+}
@@ -0,0 +1,134 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+
+public class FIRFilterTest {
+    static double[] gaussian(Random random, int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextGaussian();
+        }
+        return x;
+    }
+
+    @Test
+    void testCrossover() {
+        assertEquals(0, FIRFilter.transformSize(1, false));
+        assertEquals(0, FIRFilter.transformSize(16, false));
+        assertEquals(0, FIRFilter.transformSize(16, true));
+        assertTrue(FIRFilter.transformSize(512, false) >= 1024);
+        assertTrue(FIRFilter.transformSize(4000, true) >= 8192);
+        assertFalse(new FIRFilter(new double[8]).usesFFT());
+        assertTrue(new FIRFilter(new double[2000]).usesFFT());
+    }
+
+    @Test
+    void testRealMatchesDirectConvolution() {
+        Random random = new Random(47);
+        int n = 20_000;
+        double[] x = gaussian(random, n);
+        for (int taps : new int[] { 1, 7, 64, 301, 3000 }) {
+            double[] h = gaussian(random, taps);
+            double[] expected = new double[n];
+            for (int t = 0; t < n; t++) {
+                for (int k = 0; k < taps && k <= t; k++) {
+                    expected[t] += h[k] * x[t - k];
+                }
+            }
+
+            // Random chunks, including single samples and chunks longer
+            // than one FFT block
+            FIRFilter filter = new FIRFilter(h);
+            double[] y = new double[n];
+            for (int i = 0; i < n;) {
+                int chunk = Math.min(n - i, random.nextInt(4) == 0 ? 1 : 1 + random.nextInt(9000));
+                filter.process(x, i, y, i, chunk);
+                i += chunk;
+            }
+            for (int t = 0; t < n; t++) {
+                assertEquals(expected[t], y[t], 1e-9 * Math.sqrt(taps));
+            }
+
+            double[] once = FIRFilter.filter(h, x);
+            for (int t = 0; t < n; t++) {
+                assertEquals(expected[t], once[t], 1e-9 * Math.sqrt(taps));
+            }
+        }
+    }
+
+    @Test
+    void testComplexMatchesDirectConvolution() {
+        Random random = new Random(48);
+        int n = 12_000;
+        double[] xr = gaussian(random, n), xi = gaussian(random, n);
+        for (int taps : new int[] { 5, 2500 }) {
+            double[] hr = gaussian(random, taps), hi = gaussian(random, taps);
+            double[] er = new double[n], ei = new double[n];
+            for (int t = 0; t < n; t++) {
+                for (int k = 0; k < taps && k <= t; k++) {
+                    er[t] += hr[k] * xr[t - k] - hi[k] * xi[t - k];
+                    ei[t] += hr[k] * xi[t - k] + hi[k] * xr[t - k];
+                }
+            }
+
+            FIRFilter filter = new FIRFilter(hr, hi);
+            double[] yr = xr.clone(), yi = xi.clone();
+            for (int i = 0; i < n;) {
+                int chunk = Math.min(n - i, 1 + random.nextInt(7000));
+                filter.process(yr, yi, i, yr, yi, i, chunk); // in place
+                i += chunk;
+            }
+            for (int t = 0; t < n; t++) {
+                assertEquals(er[t], yr[t], 1e-9 * Math.sqrt(taps));
+                assertEquals(ei[t], yi[t], 1e-9 * Math.sqrt(taps));
+            }
+
+            Complex[] y = FIRFilter.filter(Complex.fromArrays(hr, hi), Complex.fromArrays(xr, xi));
+            assertEquals(n, y.length);
+            assertEquals(er[n - 1], y[n - 1].real(), 1e-9 * Math.sqrt(taps));
+            assertEquals(ei[n - 1], y[n - 1].imag(), 1e-9 * Math.sqrt(taps));
+        }
+    }
+
+    @Test
+    void testResetAndModes() {
+        FIRFilter filter = new FIRFilter(new double[] { 0.5, 0.5 });
+        double[] out = new double[3];
+        filter.process(new double[] { 2, 4, 6 }, 0, out, 0, 3);
+        assertEquals(1, out[0]);
+        assertEquals(3, out[1]);
+        assertEquals(5, out[2]);
+        filter.process(new double[] { 8 }, 0, out, 0, 1);
+        assertEquals(7, out[0]);
+        filter.reset();
+        filter.process(new double[] { 8 }, 0, out, 0, 1);
+        assertEquals(4, out[0]);
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.process(new double[1], new double[1], 0, new double[1], new double[1], 0, 1));
+        FIRFilter complex = new FIRFilter(new Complex[] { new Complex(0, 1) });
+        assertTrue(complex.isComplex());
+        assertThrows(IllegalStateException.class, () -> complex.process(new double[1], 0, new double[1], 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new FIRFilter(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new FIRFilter(new double[2], new double[3]));
+    }
+
+    @Test
+    void testComplexArrays() {
+        Complex[] z = { new Complex(1, 2), new Complex(-3, 0.5) };
+        double[] re = new double[2], im = new double[2];
+        Complex.toArrays(z, re, im);
+        assertEquals(-3, re[1]);
+        assertEquals(2, im[0]);
+        Complex[] back = Complex.fromArrays(re, im);
+        assertEquals(z[0], back[0]);
+        assertEquals(z[1], back[1]);
+        assertThrows(IllegalArgumentException.class, () -> Complex.fromArrays(new double[1], new double[2]));
+    }
+}
@@ -0,0 +1,102 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.function.DoubleUnaryOperator;
+
+public class IntegratorTest {
+    final double episilon = 1e-9;
+    private static Integrator integrator = new Integrator();
+
+    // Emax dose-response curve, E = Emax C / (EC50 + C)
+    final DoubleUnaryOperator emax = c -> 100 * c / (2.5 + c);
+    final double emaxIntegral = 100 * (10 - 2.5 * Math.log((2.5 + 10) / 2.5));
+
+    @Test
+    void testAdaptiveSimpson() {
+        var result = integrator.adaptiveSimpson(Math::sin, 0, Math.PI);
+        assertEquals(2, result.getValue(), episilon);
+        assertTrue(result.isConverged());
+
+        assertEquals(emaxIntegral, integrator.adaptiveSimpson(emax, 0, 10).getValue(), episilon);
+    }
+
+    @Test
+    void testGaussKronrod() {
+        var result = integrator.gaussKronrod(emax, 0, 10);
+        assertEquals(emaxIntegral, result.getValue(), episilon);
+        assertTrue(result.getError() < 1e-6);
+        assertTrue(result.isConverged());
+
+        // A sharp peak forces subdivision
+        DoubleUnaryOperator peak = x -> 1 / (1e-4 + (x - 0.3) * (x - 0.3));
+        double exact = 100 * (Math.atan(0.7 / 0.01) + Math.atan(0.3 / 0.01));
+        result = integrator.gaussKronrod(peak, 0, 1);
+        assertEquals(exact, result.getValue(), 1e-7);
+        assertTrue(result.getEvaluations() > 15);
+
+        // Reversed limits
+        assertEquals(-2, integrator.gaussKronrod(Math::sin, Math.PI, 0).getValue(), episilon);
+    }
+
+    @Test
+    void testParallelGaussKronrod() {
+        DoubleUnaryOperator peak = x -> 1 / (1e-4 + (x - 0.3) * (x - 0.3));
+        double exact = 100 * (Math.atan(0.7 / 0.01) + Math.atan(0.3 / 0.01));
+
+        var result = integrator.parallelGaussKronrod(peak, 0, 1);
+        assertTrue(result.isConverged());
+        assertEquals(exact, result.getValue(), 1e-7);
+        assertEquals(emaxIntegral, integrator.parallelGaussKronrod(emax, 0, 10).getValue(), episilon);
+
+        // Reversed limits must subdivide and converge just the same
+        result = integrator.parallelGaussKronrod(peak, 1, 0);
+        assertTrue(result.isConverged());
+        assertEquals(-exact, result.getValue(), 1e-7);
+    }
+
+    @Test
+    void testBatchGaussKronrod() {
+        Integrator.BatchFunction batch = (x, fx, n) -> {
+            for (int i = 0; i < n; i++) {
+                fx[i] = 100 * x[i] / (2.5 + x[i]);
+            }
+        };
+        var result = integrator.gaussKronrod(batch, 0, 10);
+        assertEquals(emaxIntegral, result.getValue(), episilon);
+        assertTrue(result.isConverged());
+        assertEquals(0, result.getEvaluations() % 15);
+
+        Integrator.BatchFunction peak = (x, fx, n) -> {
+            for (int i = 0; i < n; i++) {
+                fx[i] = 1 / (1e-4 + (x[i] - 0.3) * (x[i] - 0.3));
+            }
+        };
+        double exact = 100 * (Math.atan(0.7 / 0.01) + Math.atan(0.3 / 0.01));
+        assertEquals(exact, integrator.gaussKronrod(peak, 0, 1).getValue(), 1e-7);
+
+        // Reversed limits
+        result = integrator.gaussKronrod(peak, 1, 0);
+        assertTrue(result.isConverged());
+        assertEquals(-exact, result.getValue(), 1e-7);
+    }
+
+    @Test
+    void testTanhSinh() {
+        // ∫ 1/√x dx from 0 to 1 = 2, singular at 0
+        var result = integrator.tanhSinh(x -> 1 / Math.sqrt(x), 0, 1);
+        assertEquals(2, result.getValue(), 1e-10);
+        assertTrue(result.isConverged());
+
+        // ∫ log(x) dx from 0 to 1 = -1
+        assertEquals(-1, integrator.tanhSinh(Math::log, 0, 1).getValue(), 1e-10);
+
+        // ∫ 1/√(1-x²) dx from -1 to 1 = π, singular at both ends. Nodes within
+        // an ulp of ±1 are lost, which limits the accuracy to about 1e-8.
+        assertEquals(Math.PI, integrator.tanhSinh(x -> 1 / Math.sqrt(1 - x * x), -1, 1).getValue(), 1e-7);
+
+        assertEquals(emaxIntegral, integrator.tanhSinh(emax, 0, 10).getValue(), episilon);
+    }
+}
@@ -0,0 +1,139 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class KdTreeTest {
+    static double distance(double[] x, double[] y, int i, double qx, double qy) {
+        return Math.hypot(x[i] - qx, y[i] - qy);
+    }
+
+    @Test
+    void testNearestMatchesLinearScan() {
+        Random random = new Random(48);
+        int n = 100_000;
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < n; i++) {
+            // Rounded so that there are ties and duplicate coordinates
+            x[i] = Math.round(random.nextGaussian() * 1000) / 10.0;
+            y[i] = Math.round(random.nextDouble() * 500) / 10.0;
+        }
+        KdTree tree = new KdTree(x, y);
+        assertEquals(n, tree.size());
+
+        int q = 500;
+        double[] qx = new double[q], qy = new double[q];
+        for (int i = 0; i < q; i++) {
+            qx[i] = random.nextGaussian() * 120;
+            qy[i] = random.nextDouble() * 60 - 5;
+        }
+        int[] batch = new int[q];
+        tree.nearest(qx, qy, batch);
+
+        int k = 7;
+        int[] knn = new int[q * k];
+        double[] knnDistances = new double[q * k];
+        tree.nearest(qx, qy, k, knn, knnDistances);
+
+        for (int i = 0; i < q; i++) {
+            double[] all = new double[n];
+            for (int j = 0; j < n; j++) {
+                all[j] = distance(x, y, j, qx[i], qy[i]);
+            }
+            double[] sorted = all.clone();
+            Arrays.sort(sorted);
+
+            int nearest = tree.nearest(qx[i], qy[i]);
+            assertEquals(sorted[0], all[nearest]);
+            assertEquals(nearest, batch[i]);
+
+            int[] indices = new int[k];
+            double[] distances = new double[k];
+            assertEquals(k, tree.nearest(qx[i], qy[i], k, indices, distances));
+            for (int j = 0; j < k; j++) {
+                assertEquals(sorted[j], distances[j], 1e-12);
+                assertEquals(distances[j], all[indices[j]], 1e-12);
+                assertEquals(indices[j], knn[i * k + j]);
+            }
+        }
+    }
+
+    @Test
+    void testRangeAndRadius() {
+        Random random = new Random(49);
+        int n = 50_000;
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble() * 100;
+            y[i] = random.nextDouble() * 100;
+        }
+        KdTree tree = new KdTree(x, y);
+
+        for (int t = 0; t < 50; t++) {
+            double x1 = random.nextDouble() * 100, x2 = x1 + random.nextDouble() * 20;
+            double y1 = random.nextDouble() * 100, y2 = y1 + random.nextDouble() * 20;
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (x[i] >= x1 && x[i] <= x2 && y[i] >= y1 && y[i] <= y2) {
+                    expected.add(i);
+                }
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), tree.range(x1, y1, x2, y2));
+
+            double cx = random.nextDouble() * 100, cy = random.nextDouble() * 100, r = random.nextDouble() * 10;
+            expected.clear();
+            for (int i = 0; i < n; i++) {
+                double dx = x[i] - cx, dy = y[i] - cy;
+                if (dx * dx + dy * dy <= r * r) {
+                    expected.add(i);
+                }
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), tree.radius(cx, cy, r));
+
+            int[] counts = new int[1];
+            tree.radiusCount(new double[] { cx }, new double[] { cy }, r, counts);
+            assertEquals(expected.size(), counts[0]);
+        }
+
+        // Point exactly on the boundary is included
+        int[] hit = tree.radius(x[10], y[10] + 2, 2);
+        assertEquals(true, Arrays.binarySearch(hit, 10) >= 0);
+        assertEquals(0, tree.range(200, 200, 300, 300).length);
+        assertEquals(0, tree.radius(50, 50, -1).length);
+    }
+
+    @Test
+    void testSmallAndListInput() {
+        KdTree empty = new KdTree(new double[0], new double[0]);
+        assertEquals(-1, empty.nearest(1, 2));
+        assertEquals(0, empty.nearest(1, 2, 3, new int[3], new double[3]));
+
+        List<Point> points = List.of(new Point(0, 0), new Point(3, 4), new Point(-1, 1));
+        KdTree tree = KdTree.of(points);
+        assertEquals(1, tree.nearest(2.9, 4.2));
+        assertEquals(2, tree.nearest(-5, 0));
+
+        int[] indices = new int[5];
+        double[] distances = new double[5];
+        assertEquals(3, tree.nearest(0, 0, 5, indices, distances));
+        assertEquals(0, indices[0]);
+        assertEquals(2, indices[1]);
+        assertEquals(5, distances[2], 1e-12);
+
+        int[] batch = new int[4];
+        double[] batchDistances = new double[4];
+        tree.nearest(new double[] { 0 }, new double[] { 0 }, 4, batch, batchDistances);
+        assertEquals(-1, batch[3]);
+        assertEquals(true, Double.isNaN(batchDistances[3]));
+
+        assertThrows(IllegalArgumentException.class, () -> new KdTree(new double[] { Double.NaN }, new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> tree.nearest(0, 0, 2, new int[1], new double[2]));
+    }
+}
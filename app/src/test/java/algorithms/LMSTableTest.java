@@ -0,0 +1,199 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class LMSTableTest {
+    /**
+     * Synthetic reference from 24 to 240 months in 1 month steps, with L, M
+     * and S linear in age so that interpolation is exact.
+     */
+    static LMSTable synthetic() {
+        int n = 217;
+        double[] maleL = new double[n], maleM = new double[n], maleS = new double[n];
+        double[] femaleL = new double[n], femaleM = new double[n], femaleS = new double[n];
+        for (int i = 0; i < n; i++) {
+            double age = 24 + i;
+            maleL[i] = -2 + 0.005 * age;
+            maleM[i] = 15 + 0.03 * age;
+            maleS[i] = 0.08 + 0.0002 * age;
+            femaleL[i] = 0;
+            femaleM[i] = 14.5 + 0.035 * age;
+            femaleS[i] = 0.09 + 0.0001 * age;
+        }
+        return new LMSTable(24, 1, maleL, maleM, maleS, femaleL, femaleM, femaleS);
+    }
+
+    @Test
+    void testZScore() {
+        final double episilon = 0.000001d;
+        LMSTable table = synthetic();
+
+        // At the median z is 0 and the percentile is 50
+        assertEquals(0, table.zScore(LMSTable.MALE, 100.5, 15 + 0.03 * 100.5), episilon);
+        assertEquals(50, table.percentile(LMSTable.FEMALE, 60, 14.5 + 0.035 * 60), episilon);
+
+        // Box-Cox form, between grid points
+        double age = 100.25, l = -2 + 0.005 * age, m = 15 + 0.03 * age, s = 0.08 + 0.0002 * age, x = 21;
+        assertEquals((Math.pow(x / m, l) - 1) / (l * s), table.zScore(LMSTable.MALE, age, x), episilon);
+
+        // L = 0 uses the log form
+        m = 14.5 + 0.035 * age;
+        s = 0.09 + 0.0001 * age;
+        assertEquals(Math.log(x / m) / s, table.zScore(LMSTable.FEMALE, age, x), episilon);
+
+        double[] lms = new double[3];
+        assertTrue(table.lms(LMSTable.MALE, 240, lms));
+        assertEquals(-2 + 0.005 * 240, lms[0], episilon);
+        assertEquals(15 + 0.03 * 240, lms[1], episilon);
+
+        assertFalse(table.lms(LMSTable.MALE, 23.9, lms));
+        assertTrue(Double.isNaN(table.zScore(LMSTable.MALE, 240.1, 20)));
+        assertTrue(Double.isNaN(table.percentile(LMSTable.FEMALE, Double.NaN, 20)));
+        assertThrows(IllegalArgumentException.class, () -> table.zScore(0, 60, 20));
+    }
+
+    @Test
+    void testValueInvertsZScore() {
+        LMSTable table = synthetic();
+        for (int sex = LMSTable.MALE; sex <= LMSTable.FEMALE; sex++) {
+            for (double z = -3; z <= 3; z += 0.5) {
+                double x = table.value(sex, 150.7, z);
+                assertEquals(z, table.zScore(sex, 150.7, x), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testNormalCdf() {
+        assertEquals(0.5, LMSTable.normalCdf(0), 1e-15);
+        assertEquals(0.15865525393145707, LMSTable.normalCdf(-1), 1e-14);
+        assertEquals(0.9750021048517795, LMSTable.normalCdf(1.96), 1e-14);
+        assertEquals(1.3498980316301035e-3, LMSTable.normalCdf(-3), 1e-16);
+        assertEquals(9.865876450376946e-10, LMSTable.normalCdf(-6), 1e-18);
+        assertEquals(0, LMSTable.normalCdf(-40));
+        assertEquals(1, LMSTable.normalCdf(40));
+        for (double z = -8; z <= 8; z += 0.25) {
+            assertEquals(1, LMSTable.normalCdf(z) + LMSTable.normalCdf(-z), 1e-15);
+        }
+    }
+
+    @Test
+    void testBatchMatchesScalar() {
+        LMSTable table = synthetic();
+        Medical medical = new Medical();
+        Random random = new Random(45);
+        int n = 100_000;
+        int[] sex = new int[n];
+        double[] age = new double[n], wt = new double[n], ht = new double[n], bmi = new double[n];
+        for (int i = 0; i < n; i++) {
+            sex[i] = 1 + random.nextInt(2);
+            age[i] = 24 + random.nextDouble() * 220; // some past the table
+            ht[i] = 90 + random.nextDouble() * 90;
+            wt[i] = 12 + random.nextDouble() * 70;
+            bmi[i] = medical.bmi(wt[i], ht[i]);
+        }
+
+        double[] z = new double[n], fromWeights = new double[n], pct = new double[n];
+        table.zScores(sex, age, bmi, z);
+        table.bmiZScores(sex, age, wt, ht, fromWeights);
+        LMSTable.percentiles(z, pct);
+        assertArrayEquals(z, fromWeights);
+        for (int i = 0; i < n; i += 97) {
+            assertEquals(table.zScore(sex[i], age[i], bmi[i]), z[i]);
+            assertEquals(table.percentile(sex[i], age[i], bmi[i]), pct[i]);
+        }
+
+        LMSTable.percentiles(z, z);
+        assertArrayEquals(pct, z);
+
+        int[] bad = sex.clone();
+        bad[n - 1] = 3;
+        assertThrows(IllegalArgumentException.class, () -> table.zScores(bad, age, bmi, new double[n]));
+        assertThrows(IllegalArgumentException.class, () -> table.zScores(sex, age, bmi, new double[n + 1]));
+    }
+
+    @Test
+    void testRead() throws IOException {
+        LMSTable expected = synthetic();
+        StringBuilder csv = new StringBuilder("Sex,Agemos,L,M,S,P50\n");
+        // Girls first and out of order, quoted like some published files
+        for (int i = 216; i >= 0; i--) {
+            double age = 24 + i;
+            csv.append("\"2\",").append(age).append(",0,").append(14.5 + 0.035 * age).append(',')
+                    .append(0.09 + 0.0001 * age).append(",0\n");
+        }
+        for (int i = 0; i <= 216; i++) {
+            double age = 24 + i;
+            csv.append("1,").append(age).append(',').append(-2 + 0.005 * age).append(',')
+                    .append(15 + 0.03 * age).append(',').append(0.08 + 0.0002 * age).append(",0\n");
+        }
+
+        Path file = Files.createTempFile("lms", ".csv");
+        try {
+            Files.writeString(file, csv);
+            LMSTable table = LMSTable.read(file);
+            for (double age = 24; age <= 240; age += 3.7) {
+                assertEquals(expected.zScore(LMSTable.MALE, age, 19), table.zScore(LMSTable.MALE, age, 19), 1e-12);
+                assertEquals(expected.zScore(LMSTable.FEMALE, age, 19), table.zScore(LMSTable.FEMALE, age, 19),
+                        1e-12);
+            }
+
+            Files.writeString(file, "Sex,Agemos,L,M,S\n1,24,1,15,0.1\n1,25,1,15,0.1\n1,27,1,15,0.1\n"
+                    + "2,24,1,15,0.1\n2,25,1,15,0.1\n2,26,1,15,0.1\n");
+            assertThrows(IllegalArgumentException.class, () -> LMSTable.read(file));
+
+            Files.writeString(file, "Sex,Agemos,L,M,S\n1,24,1,15,0.1\n1,25,1,15,0.1\n1,26,1,15,0.1\n1,28,1,15,0.1\n"
+                    + "2,24,1,15,0.1\n2,25,1,15,0.1\n2,26,1,15,0.1\n2,28,1,15,0.1\n");
+            assertThrows(IllegalArgumentException.class, () -> LMSTable.read(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testReadCdcGrid() throws IOException {
+        // Shaped like the CDC bmiagerev file: 24, 24.5, 25.5, ..., 240.5
+        // months, the first step being half the others.
+        StringBuilder csv = new StringBuilder("Sex,Agemos,L,M,S,P3,P5\n");
+        for (int sex = LMSTable.MALE; sex <= LMSTable.FEMALE; sex++) {
+            for (int i = -1; i <= 216; i++) {
+                double age = i < 0 ? 24 : 24.5 + i;
+                csv.append(sex).append(',').append(age).append(',').append(-2 + 0.005 * age * sex).append(',')
+                        .append(15 + 0.03 * age * sex).append(',').append(0.08 + 0.0002 * age).append(",0,0\n");
+            }
+        }
+
+        Path file = Files.createTempFile("lms", ".csv");
+        try {
+            Files.writeString(file, csv);
+            LMSTable table = LMSTable.read(file);
+            double[] out = new double[3];
+            // L, M and S are linear in age, so interpolation across the
+            // leading half step and the grid is exact
+            for (double age : new double[] { 24, 24.2, 24.5, 25, 25.5, 100.3, 240.5 }) {
+                for (int sex = LMSTable.MALE; sex <= LMSTable.FEMALE; sex++) {
+                    assertTrue(table.lms(sex, age, out));
+                    assertEquals(-2 + 0.005 * age * sex, out[0], 1e-12);
+                    assertEquals(15 + 0.03 * age * sex, out[1], 1e-12);
+                    assertEquals(0.08 + 0.0002 * age, out[2], 1e-12);
+                    assertEquals(19, table.value(sex, age, table.zScore(sex, age, 19)), 1e-9);
+                }
+            }
+            assertFalse(table.lms(LMSTable.MALE, 23.9, out));
+            assertFalse(table.lms(LMSTable.MALE, 240.6, out));
+            assertTrue(Double.isNaN(table.zScore(LMSTable.FEMALE, 23.9, 19)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
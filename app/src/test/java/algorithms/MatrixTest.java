@@ -0,0 +1,102 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+
+public class MatrixTest {
+    final double episilon = 0.000001d;
+
+    static Matrix random(int rows, int cols, long seed) {
+        Random rnd = new Random(seed);
+        double data[] = new double[rows * cols];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = rnd.nextDouble() - 0.5;
+        }
+        return new Matrix(rows, cols, data);
+    }
+
+    static Matrix naiveMultiply(Matrix a, Matrix b) {
+        Matrix c = new Matrix(a.rows(), b.cols());
+        for (int i = 0; i < a.rows(); i++) {
+            for (int j = 0; j < b.cols(); j++) {
+                double sum = 0;
+                for (int k = 0; k < a.cols(); k++) {
+                    sum += a.get(i, k) * b.get(k, j);
+                }
+                c.set(i, j, sum);
+            }
+        }
+        return c;
+    }
+
+    @Test
+    void testMultiply() {
+        Matrix a = Matrix.of(new double[][] { { 1, 2, 3 }, { 4, 5, 6 } });
+        Matrix b = Matrix.of(new double[][] { { 7, 8 }, { 9, 10 }, { 11, 12 } });
+        assertEquals(Matrix.of(new double[][] { { 58, 64 }, { 139, 154 } }), a.multiply(b));
+        assertArrayEquals(new double[] { 14, 32 }, a.multiply(new double[] { 1, 2, 3 }));
+        assertThrows(IllegalArgumentException.class, () -> a.multiply(a));
+
+        // Odd sizes that do not divide the block size, large enough to run in parallel
+        Matrix x = random(150, 131, 1), y = random(131, 97, 2);
+        assertArrayEquals(naiveMultiply(x, y).toArray(), x.multiply(y).toArray(), 1e-12);
+    }
+
+    @Test
+    void testTranspose() {
+        Matrix a = random(130, 70, 3);
+        Matrix t = a.transpose();
+        assertEquals(70, t.rows());
+        assertEquals(130, t.cols());
+        for (int i = 0; i < a.rows(); i++) {
+            for (int j = 0; j < a.cols(); j++) {
+                assertEquals(a.get(i, j), t.get(j, i));
+            }
+        }
+        assertEquals(a, t.transpose());
+    }
+
+    @Test
+    void testLU() {
+        Matrix a = Matrix.of(new double[][] { { 0, 2, 1 }, { 1, 1, 0 }, { 3, 0, 1 } });
+        assertEquals(-5, a.determinant(), episilon);
+
+        double x[] = a.solve(new double[] { 3, 2, 4 });
+        assertArrayEquals(new double[] { 1, 1, 1 }, x, episilon);
+
+        Matrix product = a.multiply(a.inverse());
+        assertArrayEquals(Matrix.identity(3).toArray(), product.toArray(), episilon);
+
+        Matrix big = random(200, 200, 4);
+        Matrix inv = big.inverse();
+        assertArrayEquals(Matrix.identity(200).toArray(), big.multiply(inv).toArray(), 1e-8);
+
+        Matrix singular = Matrix.of(new double[][] { { 1, 2 }, { 2, 4 } });
+        assertTrue(singular.lu().isSingular());
+        assertEquals(0, singular.determinant());
+        assertThrows(ArithmeticException.class, () -> singular.solve(new double[] { 1, 2 }));
+    }
+
+    @Test
+    void testCholesky() {
+        Matrix a = Matrix.of(new double[][] { { 4, 12, -16 }, { 12, 37, -43 }, { -16, -43, 98 } });
+        var chol = a.cholesky();
+        assertEquals(Matrix.of(new double[][] { { 2, 0, 0 }, { 6, 1, 0 }, { -8, 5, 3 } }), chol.getL());
+        assertEquals(36, chol.determinant(), episilon);
+        assertArrayEquals(a.solve(new double[] { 1, 2, 3 }), chol.solve(new double[] { 1, 2, 3 }), episilon);
+
+        // AᵀA + nI is symmetric positive definite
+        Matrix r = random(120, 120, 5);
+        Matrix spd = r.transpose().multiply(r).plus(Matrix.identity(120).scale(120));
+        double b[] = random(120, 1, 6).toArray();
+        assertArrayEquals(b, spd.multiply(spd.cholesky().solve(b)), 1e-9);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Matrix.of(new double[][] { { 1, 2 }, { 2, 1 } }).cholesky());
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class MedicalCalcTest {
     private static Medical calc = new Medical();
@@ -39,4 +40,38 @@ public class MedicalCalcTest {
         assertEquals(95, calc.MAP(125, 80));
     }
 
+    @Test
+    void testColumnarBatch() {
+        int n = 100_000;
+        Random rnd = new Random(42);
+        double sbp[] = new double[n], dbp[] = new double[n];
+        double wt[] = new double[n], ht[] = new double[n];
+        double volume[] = new double[n], factor[] = new double[n], hours[] = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            sbp[i] = 90 + 80 * rnd.nextDouble();
+            dbp[i] = 50 + 40 * rnd.nextDouble();
+            wt[i] = 3 + 140 * rnd.nextDouble();
+            ht[i] = 50 + 150 * rnd.nextDouble();
+            volume[i] = 100 + 2900 * rnd.nextDouble();
+            factor[i] = rnd.nextBoolean() ? 20 : 60;
+            hours[i] = 0.5 + 23.5 * rnd.nextDouble();
+        }
+
+        double map[] = new double[n], bmi[] = new double[n];
+        int perMinute[] = new int[n], perSecond[] = new int[n];
+        calc.MAP(sbp, dbp, map);
+        calc.bmi(wt, ht, bmi);
+        calc.dropsPerMinute(volume, factor, hours, perMinute);
+        calc.dropsPerSecond(volume, factor, hours, perSecond);
+
+        for (int i = 0; i < n; i++) {
+            assertEquals(calc.MAP(sbp[i], dbp[i]), map[i]);
+            assertEquals(calc.bmi(wt[i], ht[i]), bmi[i]);
+            assertEquals(wt[i] / Math.pow(ht[i] / 100, 2), bmi[i]);
+            assertEquals(calc.dropsPerMinute(volume[i], factor[i], hours[i]), perMinute[i]);
+            assertEquals(calc.dropsPerSecond(volume[i], factor[i], hours[i]), perSecond[i]);
+        }
+    }
+
 }
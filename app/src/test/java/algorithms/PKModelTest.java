@@ -0,0 +1,150 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import algorithms.PKModel.Dose;
+
+public class PKModelTest {
+    final double episilon = 0.000001d;
+
+    static double[] grid(double end, int n) {
+        double times[] = new double[n];
+        for (int i = 0; i < n; i++) {
+            times[i] = end * i / (n - 1);
+        }
+        return times;
+    }
+
+    @Test
+    void testOneCompartmentClosedForm() {
+        // CL = 5 L/h, V = 50 L, k = 0.1 /h
+        var model = PKModel.oneCompartment(5, 50);
+        assertEquals(10 * Math.exp(-0.1 * 3), model.concentration(3, Dose.bolus(0, 500)), episilon);
+        assertEquals(0, model.concentration(1, Dose.bolus(2, 500)));
+
+        // Infusion reaches R/CL at steady state
+        assertEquals(100.0 / 5 * (1 - Math.exp(-0.1 * 4)), model.concentration(4, Dose.infusion(0, 1000, 10)),
+                episilon);
+        assertEquals(20, model.concentration(500, Dose.infusion(0, 100 * 500, 500)), 1e-6);
+
+        // Oral: F D ka / (V (ka - k)) (e^-kt - e^-ka t)
+        var oral = model.withAbsorption(1.2, 0.8);
+        double expected = 0.8 * 500 * 1.2 / (50 * (1.2 - 0.1)) * (Math.exp(-0.1 * 2) - Math.exp(-1.2 * 2));
+        assertEquals(expected, oral.concentration(2, Dose.oral(0, 500)), episilon);
+
+        assertThrows(IllegalStateException.class, () -> model.concentration(1, Dose.oral(0, 100)));
+    }
+
+    @Test
+    void testAUCEqualsDoseOverClearance() {
+        var model = PKModel.twoCompartment(4, 20, 10, 60).withAbsorption(0.9, 1);
+        double times[] = grid(400, 40001);
+        Dose doses[] = { Dose.oral(0, 300) };
+
+        double auc = new Medical().AUC(model.curve(doses, times));
+        assertEquals(300.0 / 4, auc, 1e-3);
+    }
+
+    @Test
+    void testODEMatchesClosedForm() {
+        var model = PKModel.twoCompartment(4, 20, 10, 60).withAbsorption(0.9, 0.7);
+        Dose doses[] = { Dose.oral(0, 300), Dose.infusion(6, 200, 2), Dose.bolus(12, 100), Dose.oral(12, 300) };
+        double times[] = grid(48, 97);
+
+        double closed[] = new double[times.length];
+        double ode[] = new double[times.length];
+        model.concentrations(doses, times, closed);
+        model.integrate(doses, times, ode, new DormandPrince(3, 1e-12, 1e-10));
+
+        for (int k = 0; k < times.length; k++) {
+            assertEquals(closed[k], ode[k], 1e-7, "t=" + times[k]);
+        }
+    }
+
+    @Test
+    void testSaturableElimination() {
+        // Far below Km, Vmax C / (Km + C) ≈ (Vmax / Km) C, i.e. CL = Vmax / Km
+        var linear = PKModel.oneCompartment(5, 50);
+        var saturable = linear.withSaturableElimination(5000, 1000);
+        assertTrue(!saturable.hasClosedForm());
+
+        double times[] = grid(24, 25);
+        double c[] = new double[times.length];
+        saturable.concentrations(new Dose[] { Dose.bolus(0, 50) }, times, c);
+        for (int k = 0; k < times.length; k++) {
+            assertEquals(linear.concentration(times[k], Dose.bolus(0, 50)), c[k], 1e-3);
+        }
+
+        // At high concentrations elimination is zero order: Vmax = 5 mg/h
+        saturable = linear.withSaturableElimination(5, 0.01);
+        saturable.concentrations(new Dose[] { Dose.bolus(0, 500) }, new double[] { 10 }, c);
+        assertEquals((500 - 50) / 50.0, c[0], 1e-2);
+    }
+
+    @Test
+    void testBatch() {
+        int patients = 70;
+        double cl[] = new double[patients], v[] = new double[patients];
+        for (int p = 0; p < patients; p++) {
+            cl[p] = 3 + 0.05 * p;
+            v[p] = 40 + p;
+        }
+        double times[] = grid(24, 49);
+        Dose doses[] = { Dose.infusion(0, 1000, 1), Dose.bolus(12, 500) };
+
+        var batch = new PKBatch(PKModel.oneCompartment(5, 50), patients).clearance(cl).volume(v);
+        double out[] = new double[patients * times.length];
+        batch.simulate(doses, times, out);
+
+        var saturable = new PKBatch(PKModel.oneCompartment(5, 50).withSaturableElimination(300, 20), patients)
+                .volume(v);
+        double sat[] = new double[patients * times.length];
+        saturable.simulate(doses, times, sat);
+
+        for (int p = 0; p < patients; p++) {
+            var model = PKModel.oneCompartment(cl[p], v[p]);
+            var single = PKModel.oneCompartment(5, v[p]).withSaturableElimination(300, 20);
+            double c[] = new double[times.length];
+            single.concentrations(doses, times, c);
+
+            for (int k = 0; k < times.length; k++) {
+                assertEquals(model.concentration(times[k], doses), out[p * times.length + k], 1e-12);
+                assertEquals(c[k], sat[p * times.length + k], 1e-6);
+            }
+        }
+
+        assertEquals(new Medical().AUC(PKModel.toPoints(times, java.util.Arrays.copyOf(out, times.length))),
+                new Medical().AUC(PKBatch.toPoints(times, out, 0)));
+    }
+
+    @Test
+    void testBatchAbsorptionColumn() {
+        // Oral doses with the absorption rate given only per patient
+        int patients = 40;
+        double ka[] = new double[patients];
+        for (int p = 0; p < patients; p++) {
+            ka[p] = 0.5 + 0.05 * p;
+        }
+        double times[] = grid(24, 49);
+        Dose doses[] = { Dose.oral(0, 500), Dose.oral(12, 250) };
+
+        var template = PKModel.oneCompartment(5, 50).withSaturableElimination(300, 20);
+        double out[] = new double[patients * times.length];
+        new PKBatch(template, patients).absorptionRate(ka).simulate(doses, times, out);
+
+        for (int p = 0; p < patients; p++) {
+            double c[] = new double[times.length];
+            template.withAbsorption(ka[p], 1).concentrations(doses, times, c);
+            for (int k = 0; k < times.length; k++) {
+                assertEquals(c[k], out[p * times.length + k], 1e-6);
+            }
+        }
+
+        ka[3] = 0;
+        assertThrows(IllegalStateException.class,
+                () -> new PKBatch(template, patients).absorptionRate(ka).simulate(doses, times, out));
+    }
+}
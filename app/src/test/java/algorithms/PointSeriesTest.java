@@ -0,0 +1,98 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PointSeriesTest {
+    final double episilon = 0.000001d;
+
+    @Test
+    void testAppendAndViews() {
+        var series = new PointSeries(0);
+        for (int i = 0; i < 1000; i++) {
+            series.add(i, i * i);
+        }
+        assertEquals(1000, series.size());
+        assertEquals(999 * 999, series.y(999));
+        assertTrue(series.isSortedByX());
+        assertTrue(series.isStrictlyIncreasing());
+
+        var view = series.view(10, 20);
+        assertEquals(10, view.size());
+        assertEquals(10, view.x(0));
+        assertEquals(19 * 19, view.y(9));
+        assertArrayEquals(new double[] { 12, 13 }, view.view(2, 4).toXArray());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.x(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> series.view(5, 1001));
+
+        // Views are unaffected when the parent grows into new arrays
+        series.addAll(new double[] { 1000, 1001 }, new double[] { -1, -2 }, 0, 2);
+        series.add(0, 0);
+        assertEquals(19 * 19, view.y(9));
+        assertEquals(-2, series.y(1001));
+        assertFalse(series.isSortedByX());
+
+        var duplicate = PointSeries.wrap(new double[] { 0, 1, 1, 2 }, new double[4]);
+        assertTrue(duplicate.isSortedByX());
+        assertFalse(duplicate.isStrictlyIncreasing());
+    }
+
+    @Test
+    void testListAdapters() {
+        List<Point> points = new ArrayList<>();
+        points.add(new Point(0.25, 0.2474));
+        points.add(new Point(0.26, 0.2571));
+        points.add(new Point(0.27, 0.2667));
+
+        var series = PointSeries.of(points);
+        assertEquals(3, series.size());
+        assertEquals(0.2571, series.y(1));
+
+        var list = series.asList();
+        assertEquals(3, list.size());
+        assertEquals(0.27, list.get(2).x);
+        assertEquals(0.2667, series.toList().get(2).y);
+    }
+
+    @Test
+    void testAUCAndInterpolation() {
+        List<Point> points = new ArrayList<>(5);
+        points.add(new Point(0.25, 0.2474));
+        points.add(new Point(0.26, 0.2571));
+        points.add(new Point(0.27, 0.2667));
+        points.add(new Point(0.28, 0.2764));
+        points.add(new Point(0.29, 0.2860));
+
+        var calc = new Medical();
+        var series = PointSeries.of(points);
+        assertEquals(calc.AUC(points), calc.AUC(series));
+        assertEquals(0.010669, calc.AUC(series), episilon);
+        assertEquals(calc.AUC(points.subList(1, 4)), calc.AUC(series.view(1, 4)));
+        assertThrows(IllegalArgumentException.class, () -> calc.AUC(series.view(0, 1)));
+
+        // y = x^2 - 3x behind some leading samples
+        var linalg = new Algebra();
+        var curve = new PointSeries();
+        curve.add(-100, 1e9);
+        List<Point> list = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            double x = i * 0.5;
+            curve.add(x, x * x - 3 * x);
+            list.add(new Point(x, x * x - 3 * x));
+        }
+        var view = curve.view(1, curve.size());
+
+        assertEquals(linalg.NewtonForwardInterpolation(list, 3.25), linalg.NewtonForwardInterpolation(view, 3.25));
+        assertEquals(linalg.NewtonBackwardInterpolation(list, 17.25),
+                linalg.NewtonBackwardInterpolation(view, 17.25));
+        assertEquals(17.25 * 17.25 - 3 * 17.25, linalg.NewtonBackwardInterpolation(view, 17.25), episilon);
+    }
+}
@@ -0,0 +1,112 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import algorithms.PKModel.Dose;
+
+public class PopulationSimulatorTest {
+    final Dose doses[] = { Dose.oral(0, 500) };
+    final double times[] = PKModelTest.grid(200, 801);
+    final PKModel typical = PKModel.oneCompartment(5, 50).withAbsorption(1.5, 1);
+
+    @Test
+    void testAUCMatchesMedical() {
+        var result = new PopulationSimulator(typical, 0.3, 0.2).simulate(doses, times, 50, 7);
+        double cl[] = result.getClearances(), v[] = result.getVolumes(), auc[] = result.getAUCs();
+
+        for (int p = 0; p < result.getPatients(); p++) {
+            var patient = PKModel.oneCompartment(cl[p], v[p]).withAbsorption(1.5, 1);
+            assertEquals(new Medical().AUC(patient.curve(doses, times)), auc[p], 1e-12);
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        var result = new PopulationSimulator(typical, 0.3, 0.2).simulate(doses, times, 4000, 42);
+
+        // AUC = dose / CL is monotone in CL, so the median is at the typical CL.
+        assertEquals(500.0 / 5, result.aucPercentile(50), 3);
+        assertTrue(result.aucPercentile(5) < result.aucPercentile(50));
+        assertTrue(result.aucPercentile(50) < result.aucPercentile(95));
+
+        double auc[] = result.getAUCs();
+        double min = auc[0], max = auc[0];
+        for (double a : auc) {
+            min = Math.min(min, a);
+            max = Math.max(max, a);
+        }
+        assertEquals(min, result.aucPercentile(0));
+        assertEquals(max, result.aucPercentile(100));
+
+        double low[] = result.band(5), mid[] = result.band(50), high[] = result.band(95);
+        for (int k = 0; k < times.length; k++) {
+            assertTrue(low[k] <= mid[k] && mid[k] <= high[k]);
+        }
+
+        // log CL ~ N(log 5, 0.3²)
+        double mean = 0, var = 0;
+        for (double cl : result.getClearances()) {
+            mean += Math.log(cl);
+        }
+        mean /= result.getPatients();
+        for (double cl : result.getClearances()) {
+            var += (Math.log(cl) - mean) * (Math.log(cl) - mean);
+        }
+        var /= result.getPatients() - 1;
+        assertEquals(Math.log(5), mean, 0.02);
+        assertEquals(0.3, Math.sqrt(var), 0.02);
+    }
+
+    @Test
+    void testSaturableVariability() {
+        var saturable = typical.withSaturableElimination(50, 2);
+        double shortTimes[] = PKModelTest.grid(48, 97);
+        var result = new PopulationSimulator(saturable, 0.3, 0).simulate(doses, shortTimes, 20, 3);
+        double cl[] = result.getClearances(), v[] = result.getVolumes(), auc[] = result.getAUCs();
+
+        // With no volume variability, the AUCs can only differ through Vmax
+        assertTrue(result.aucPercentile(0) < result.aucPercentile(100));
+        for (int p = 0; p < result.getPatients(); p++) {
+            assertEquals(50, v[p]);
+            var patient = typical.withSaturableElimination(cl[p] * 2, 2);
+            double c[] = new double[shortTimes.length];
+            patient.concentrations(doses, shortTimes, c);
+            double expected = new Medical().AUC(PKModel.toPoints(shortTimes, c));
+            assertEquals(expected, auc[p], 1e-6 * expected);
+        }
+    }
+
+    @Test
+    void testTooManySamples() {
+        var simulator = new PopulationSimulator(typical, 0.3, 0.2);
+        // 1e8 patients * 801 times overflows an int, so it must fail up front
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(doses, times, 100_000_000, 1));
+    }
+
+    @Test
+    void testReproducibleAcrossThreadCounts() throws Exception {
+        var simulator = new PopulationSimulator(typical.withSaturableElimination(50, 2), 0.3, 0.2);
+        double shortTimes[] = PKModelTest.grid(24, 49);
+
+        var single = new ForkJoinPool(1);
+        var many = new ForkJoinPool(4);
+        try {
+            var a = single.submit(() -> simulator.simulate(doses, shortTimes, 2500, 11)).get();
+            var b = many.submit(() -> simulator.simulate(doses, shortTimes, 2500, 11)).get();
+
+            assertArrayEquals(a.getClearances(), b.getClearances());
+            assertArrayEquals(a.getVolumes(), b.getVolumes());
+            assertArrayEquals(a.getAUCs(), b.getAUCs());
+            assertArrayEquals(a.band(90), b.band(90));
+        } finally {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+public class QuantileSketchTest {
+    /** Fraction of sorted values <= v. */
+    static double trueRank(double[] sorted, double v) {
+        int i = Arrays.binarySearch(sorted, v);
+        if (i < 0) {
+            i = -i - 1;
+        } else {
+            while (i < sorted.length && sorted[i] == v) {
+                i++;
+            }
+        }
+        return (double) i / sorted.length;
+    }
+
+    @Test
+    void testAccuracyAndMemory() {
+        Random random = new Random(6);
+        int n = 1_000_000;
+        double values[] = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = Math.exp(random.nextGaussian());
+        }
+
+        var sketch = new QuantileSketch(200, 1);
+        sketch.update(values, 0, n);
+        sketch.update(Double.NaN);
+        assertEquals(n, sketch.getN());
+        assertTrue(sketch.getRetained() < 3 * 200 + 200, "retained " + sketch.getRetained());
+
+        double sorted[] = values.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted[0], sketch.getMin());
+        assertEquals(sorted[n - 1], sketch.getMax());
+        assertEquals(sorted[0], sketch.quantile(0));
+        assertEquals(sorted[n - 1], sketch.quantile(1));
+
+        for (double q = 0.01; q < 1; q += 0.01) {
+            double estimate = sketch.quantile(q);
+            assertEquals(q, trueRank(sorted, estimate), 0.02, "q=" + q);
+            assertEquals(trueRank(sorted, estimate), sketch.rank(estimate), 0.02);
+        }
+        assertEquals(0, sketch.rank(-1));
+        assertEquals(1, sketch.rank(1e9));
+    }
+
+    @Test
+    void testMergeAndParallel() {
+        // Cohort BMIs from weight and height columns
+        Random random = new Random(7);
+        int n = 200000;
+        double wt[] = new double[n], ht[] = new double[n], bmi[] = new double[n];
+        for (int i = 0; i < n; i++) {
+            wt[i] = 70 + 15 * random.nextGaussian();
+            ht[i] = 170 + 10 * random.nextGaussian();
+        }
+        new Medical().bmi(wt, ht, bmi);
+        double sorted[] = bmi.clone();
+        Arrays.sort(sorted);
+
+        var parts = new QuantileSketch[8];
+        for (int p = 0; p < parts.length; p++) {
+            parts[p] = new QuantileSketch(200, p);
+            parts[p].update(bmi, p * (n / 8), n / 8);
+        }
+        var merged = new QuantileSketch(200, 99);
+        for (var part : parts) {
+            merged.merge(part);
+        }
+        assertEquals(n, merged.getN());
+
+        var parallel = QuantileSketch.of(bmi, 200, 3);
+        assertEquals(n, parallel.getN());
+        assertArrayEquals(parallel.percentiles(5, 50, 95), QuantileSketch.of(bmi, 200, 3).percentiles(5, 50, 95));
+
+        for (double p : new double[] { 5, 25, 50, 75, 95 }) {
+            assertEquals(p / 100, trueRank(sorted, merged.percentiles(p)[0]), 0.02);
+            assertEquals(p / 100, trueRank(sorted, parallel.percentiles(p)[0]), 0.02);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(new QuantileSketch(100)));
+    }
+
+    @Test
+    void testSerialization() {
+        var sketch = new QuantileSketch(64, 4);
+        for (int i = 0; i < 100000; i++) {
+            sketch.update(i % 1000);
+        }
+        byte bytes[] = sketch.toBytes();
+        assertTrue(bytes.length < 40 + 16 * 20 + 8 * sketch.getRetained());
+
+        var copy = QuantileSketch.fromBytes(bytes);
+        assertEquals(sketch.getN(), copy.getN());
+        assertEquals(sketch.getRetained(), copy.getRetained());
+        for (double q = 0; q <= 1; q += 0.05) {
+            assertEquals(sketch.quantile(q), copy.quantile(q));
+        }
+        assertArrayEquals(bytes, copy.toBytes());
+
+        // Restored sketches keep accepting data and merging
+        copy.merge(sketch);
+        assertEquals(200000, copy.getN());
+        assertEquals(500, copy.quantile(0.5), 60);
+
+        var empty = QuantileSketch.fromBytes(new QuantileSketch().toBytes());
+        assertEquals(0, empty.getN());
+        assertTrue(Double.isNaN(empty.quantile(0.5)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> QuantileSketch.fromBytes(Arrays.copyOf(bytes, bytes.length - 3)));
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromBytes(new byte[12]));
+    }
+}
@@ -0,0 +1,127 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class RollingVitalsTest {
+    final double episilon = 0.000001d;
+
+    /** Brute force statistics of the samples with time in (now - duration, now]. */
+    static double[] expected(double[] t, double[] v, int n, double now, double duration, int capacity) {
+        double sum = 0, min = Double.NaN, max = Double.NaN;
+        int count = 0;
+        for (int i = Math.max(0, n - capacity); i < n; i++) {
+            if (t[i] > now - duration) {
+                sum += v[i];
+                min = count == 0 ? v[i] : Math.min(min, v[i]);
+                max = count == 0 ? v[i] : Math.max(max, v[i]);
+                count++;
+            }
+        }
+        double mean = sum / count, ss = 0;
+        for (int i = Math.max(0, n - capacity); i < n; i++) {
+            if (t[i] > now - duration) {
+                ss += (v[i] - mean) * (v[i] - mean);
+            }
+        }
+        return new double[] { count, mean, ss / (count - 1), min, max };
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        int capacity = 400;
+        double durations[] = { 60, 300, 900 };
+        var vitals = new RollingVitals(capacity, durations);
+        var stats = new RollingVitals.Stats();
+
+        Random random = new Random(5);
+        int n = 3000;
+        double t[] = new double[n], v[] = new double[n];
+        double now = 0;
+        for (int i = 0; i < n; i++) {
+            now += random.nextDouble() * 5;
+            t[i] = now;
+            v[i] = 70 + 20 * Math.sin(i * 0.01) + random.nextGaussian() * 5;
+            vitals.push(t[i], v[i]);
+
+            if (i % 37 == 0) {
+                for (int w = 0; w < durations.length; w++) {
+                    double e[] = expected(t, v, i + 1, now, durations[w], capacity);
+                    vitals.read(w, stats);
+                    assertEquals((long) e[0], stats.getCount());
+                    assertEquals(e[1], stats.getMean(), 1e-9);
+                    if (e[0] > 1) {
+                        assertEquals(e[2], stats.getVariance(), 1e-7);
+                    }
+                    assertEquals(e[3], stats.getMin());
+                    assertEquals(e[4], stats.getMax());
+                    assertEquals(now, stats.getTime());
+                }
+            }
+        }
+
+        // Advancing past every window empties them
+        vitals.advance(now + 1000);
+        var empty = vitals.read(2);
+        assertEquals(0, empty.getCount());
+        assertTrue(Double.isNaN(empty.getMean()));
+        assertTrue(Double.isNaN(empty.getMax()));
+
+        assertThrows(IllegalArgumentException.class, () -> vitals.push(0, 1));
+    }
+
+    @Test
+    void testPushPressure() {
+        var vitals = new RollingVitals(16, 10);
+        vitals.pushPressure(0, 120, 80);
+        vitals.pushPressure(1, 150, 90);
+        var stats = vitals.read(0);
+        var calc = new Medical();
+        assertEquals((calc.MAP(120, 80) + calc.MAP(150, 90)) / 2, stats.getMean(), episilon);
+        assertEquals(calc.MAP(150, 90), stats.getMax(), episilon);
+    }
+
+    @Test
+    void testConcurrentReaders() throws InterruptedException {
+        // A constant offset per push keeps every consistent snapshot on a
+        // known line: all values in the window are i - k .. i, so
+        // max - min == count - 1 and mean == (min + max) / 2.
+        var vitals = new RollingVitals(64, 32);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicBoolean torn = new AtomicBoolean();
+
+        Thread readers[] = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                var stats = new RollingVitals.Stats();
+                while (!done.get()) {
+                    vitals.read(0, stats);
+                    if (stats.getCount() > 0) {
+                        boolean ok = stats.getMax() - stats.getMin() == stats.getCount() - 1
+                                && Math.abs(stats.getMean() - (stats.getMin() + stats.getMax()) / 2) < 1e-6
+                                && stats.getTime() == stats.getMax();
+                        if (!ok) {
+                            torn.set(true);
+                        }
+                    }
+                }
+            });
+            readers[r].start();
+        }
+
+        for (int i = 0; i < 500000; i++) {
+            vitals.push(i, i);
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertFalse(torn.get());
+    }
+}
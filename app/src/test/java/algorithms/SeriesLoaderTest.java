@@ -0,0 +1,132 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class SeriesLoaderTest {
+    final double episilon = 0.000001d;
+
+    static double parse(String text) {
+        byte bytes[] = text.getBytes(StandardCharsets.US_ASCII);
+        return SeriesLoader.parseDouble(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    @Test
+    void testParseDouble() {
+        String cases[] = { "0", "-0", "1", "+2.5", "3.14159", "-0.000123", "1e10", "1.5E-7", "123456789012345678",
+                "0.1", "0.30000000000000004", "9007199254740993", "1e23", "2.2250738585072014E-308", "4.9e-324",
+                "1.7976931348623157e308", "12345.678901234567890123", "NaN", "-Infinity", "5.", ".5", "00012" };
+        for (String s : cases) {
+            assertEquals(Double.parseDouble(s), parse(s), s);
+        }
+        assertEquals(-0.0, parse("-0"));
+        assertEquals(42.5, parse("  \"42.5\" "));
+
+        Random random = new Random(3);
+        for (int i = 0; i < 100000; i++) {
+            double v = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(v)) {
+                String s = i % 2 == 0 ? Double.toString(v) : String.format("%.6f", random.nextDouble() * 1000);
+                assertEquals(Double.parseDouble(s), parse(s), s);
+            }
+        }
+
+        for (String bad : new String[] { "", "-", "1e", "abc", "1.2.3", "e5" }) {
+            assertThrows(NumberFormatException.class, () -> parse(bad), bad);
+        }
+    }
+
+    @Test
+    void testCsv() throws IOException {
+        Path file = Files.createTempFile("series", ".csv");
+        try {
+            StringBuilder csv = new StringBuilder("id,time,conc\r\n");
+            for (int i = 0; i < 1000; i++) {
+                csv.append(i).append(", ").append(i * 0.25).append(",").append(Math.sin(i * 0.25)).append("\r\n");
+                if (i % 100 == 0) {
+                    csv.append("\n");
+                }
+            }
+            Files.write(file, csv.toString().getBytes(StandardCharsets.US_ASCII));
+
+            var loader = new SeriesLoader().skipLines(1).columns(1, 2).chunkSize(64);
+            loader.window = 256; // many lines straddle windows
+            PointSeries series = loader.readCsv(file);
+
+            assertEquals(1000, series.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i * 0.25, series.x(i));
+                assertEquals(Math.sin(i * 0.25), series.y(i));
+            }
+
+            // Streaming into AUC and interpolation without keeping the series
+            var acc = new AUCAccumulator();
+            var resampler = new SeriesLoader.Resampler(new double[] { -1, 0, 10.1, 249.75, 300 });
+            long count = loader.streamCsv(file, (x, y, n) -> {
+                acc.addAll(x, y, 0, n);
+                resampler.accept(x, y, n);
+            });
+            assertEquals(1000, count);
+            assertEquals(new Medical().AUC(series), acc.getAUC(), 1e-12);
+
+            double values[] = resampler.getValues();
+            assertTrue(Double.isNaN(values[0]));
+            assertEquals(0, values[1]);
+            double lo = Math.sin(10), hi = Math.sin(10.25);
+            assertEquals(lo + (hi - lo) * 0.4, values[2], 1e-12);
+            assertEquals(Math.sin(249.75), values[3]);
+            assertTrue(Double.isNaN(values[4]));
+
+            loader.window = 8;
+            assertThrows(IOException.class, () -> loader.readCsv(file));
+
+            Files.write(file, "1,2\n3\n".getBytes(StandardCharsets.US_ASCII));
+            assertThrows(NumberFormatException.class, () -> new SeriesLoader().readCsv(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testBinary() throws IOException {
+        Path file = Files.createTempFile("series", ".bin");
+        try {
+            var series = new PointSeries();
+            for (int i = 0; i < 5000; i++) {
+                series.add(i * 0.5, Math.exp(-i * 0.001));
+            }
+            SeriesLoader.writeBinary(file, series);
+            assertEquals(5000 * 16, Files.size(file));
+
+            var loader = new SeriesLoader().chunkSize(333);
+            loader.window = 1000; // rounded down to whole records
+            var read = loader.readBinary(file);
+            assertArrayEquals(series.toXArray(), read.toXArray());
+            assertArrayEquals(series.toYArray(), read.toYArray());
+
+            // Little-endian layout
+            byte bytes[] = Files.readAllBytes(file);
+            assertEquals(Double.doubleToLongBits(0.5), ByteBuffer.wrap(bytes, 16, 8)
+                    .order(java.nio.ByteOrder.LITTLE_ENDIAN).getLong());
+
+            var acc = new AUCAccumulator();
+            assertEquals(5000, loader.streamBinary(file, (x, y, n) -> acc.addAll(x, y, 0, n)));
+            assertEquals(new Medical().AUC(series), acc.getAUC(), 1e-9);
+
+            Files.write(file, new byte[20]);
+            assertThrows(IOException.class, () -> loader.readBinary(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+
+public class SparseMatrixTest {
+    final double episilon = 0.000001d;
+
+    /**
+     * 5-point finite difference Laplacian on an m x m grid, optionally with a
+     * first order upwind advection term which makes it non-symmetric.
+     */
+    static SparseMatrix diffusion(int m, double advection) {
+        var builder = new SparseMatrix.Builder(m * m, m * m);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < m; j++) {
+                int row = i * m + j;
+                builder.add(row, row, 4 + advection);
+                if (i > 0)
+                    builder.add(row, row - m, -1 - advection);
+                if (i < m - 1)
+                    builder.add(row, row + m, -1);
+                if (j > 0)
+                    builder.add(row, row - 1, -1);
+                if (j < m - 1)
+                    builder.add(row, row + 1, -1);
+            }
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testBuilder() {
+        var a = new SparseMatrix.Builder(3, 4)
+                .add(2, 3, 5)
+                .add(0, 1, 1)
+                .add(2, 0, 7)
+                .add(0, 1, 2) // duplicates are summed
+                .add(1, 2, -1)
+                .build();
+
+        assertEquals(4, a.nnz());
+        assertEquals(3, a.get(0, 1));
+        assertEquals(0, a.get(1, 1));
+        assertEquals(7, a.get(2, 0));
+        assertArrayEquals(new double[] { 3, -3, 12 }, a.multiply(new double[] { 1, 1, 3, 1 }));
+
+        Matrix dense = a.toDense();
+        assertEquals(dense, SparseMatrix.fromDense(dense).toDense());
+    }
+
+    @Test
+    void testMultiplyMatchesDense() {
+        Random rnd = new Random(11);
+        var builder = new SparseMatrix.Builder(300, 200);
+        for (int k = 0; k < 5000; k++) {
+            builder.add(rnd.nextInt(300), rnd.nextInt(200), rnd.nextGaussian());
+        }
+        var a = builder.build();
+
+        double x[] = new double[200];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = rnd.nextGaussian();
+        }
+        assertArrayEquals(a.toDense().multiply(x), a.multiply(x), 1e-12);
+    }
+
+    @Test
+    void testConjugateGradient() {
+        int m = 60;
+        var a = diffusion(m, 0);
+        double b[] = new double[m * m];
+        b[m * m / 2 + m / 2] = 1; // point source
+
+        var solver = new IterativeSolver();
+        var result = solver.conjugateGradient(a, b);
+        assertTrue(result.isConverged());
+        assertTrue(result.getResidual() <= 1e-10);
+        assertEquals(result.getIterations() + 1, result.getResidualHistory().length);
+        assertEquals(1, result.getResidualHistory()[0], episilon);
+        assertArrayEquals(b, a.multiply(result.getSolution()), 1e-9);
+
+        var plain = new IterativeSolver(1e-10, 10000, IterativeSolver.Preconditioner.NONE)
+                .conjugateGradient(a, b);
+        assertArrayEquals(result.getSolution(), plain.getSolution(), 1e-8);
+    }
+
+    @Test
+    void testBiCGSTAB() {
+        int m = 40;
+        var a = diffusion(m, 1.5);
+        double b[] = new double[m * m];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = Math.sin(i * 0.01);
+        }
+
+        var result = new IterativeSolver().biCGSTAB(a, b);
+        assertTrue(result.isConverged());
+        assertArrayEquals(b, a.multiply(result.getSolution()), 1e-8);
+
+        double dense[] = a.toDense().solve(b);
+        assertArrayEquals(dense, result.getSolution(), 1e-8);
+
+        // Starting from the solution converges immediately
+        var again = new IterativeSolver().biCGSTAB(a, b, result.getSolution());
+        assertTrue(again.getIterations() <= 1);
+    }
+}
@@ -0,0 +1,111 @@
+package algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+
+public class WelchPSDTest {
+    @Test
+    void testWindows() {
+        final double episilon = 0.000001d;
+        assertArrayEquals(new double[] { 0, 0.5, 1, 0.5 }, WelchPSD.Window.HANN.coefficients(4), episilon);
+        assertArrayEquals(new double[] { 0.08, 0.54, 1, 0.54 }, WelchPSD.Window.HAMMING.coefficients(4), episilon);
+        assertArrayEquals(new double[] { 0, 0.34, 1, 0.34 }, WelchPSD.Window.BLACKMAN.coefficients(4), episilon);
+        assertArrayEquals(new double[] { 1, 1, 1 }, WelchPSD.Window.RECTANGULAR.coefficients(3), episilon);
+    }
+
+    @Test
+    void testSinePeakAndPower() {
+        // 0.25 Hz respiratory-like component in a 4 Hz resampled series
+        double fs = 4, amplitude = 3;
+        int n = 4096;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 10 + amplitude * Math.sin(2 * Math.PI * 0.25 * i / fs);
+        }
+
+        for (WelchPSD.Window window : WelchPSD.Window.values()) {
+            double[] psd = WelchPSD.welch(x, fs, 256, 128, window);
+            assertEquals(129, psd.length);
+
+            int peak = 0;
+            for (int k = 1; k < psd.length; k++) {
+                if (psd[k] > psd[peak]) {
+                    peak = k;
+                }
+            }
+            assertEquals(0.25, peak * fs / 256, 1e-12);
+
+            // Power of a sine is amplitude² / 2; the mean is removed
+            double power = 0;
+            for (double p : psd) {
+                power += p * fs / 256;
+            }
+            assertEquals(amplitude * amplitude / 2, power, 1e-6);
+        }
+    }
+
+    @Test
+    void testWhiteNoiseIsFlat() {
+        Random random = new Random(46);
+        double fs = 250;
+        int n = 1 << 18;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 2 * random.nextGaussian();
+        }
+
+        double[] psd = WelchPSD.welch(x, fs, 512, 256, WelchPSD.Window.HANN);
+        // Variance 4 spread evenly over fs / 2
+        double level = 4 / (fs / 2), mean = 0;
+        for (int k = 1; k < psd.length - 1; k++) {
+            mean += psd[k];
+            assertEquals(level, psd[k], 0.3 * level);
+        }
+        assertEquals(level, mean / (psd.length - 2), 0.02 * level);
+    }
+
+    @Test
+    void testStreamingMatchesBatch() {
+        Random random = new Random(47);
+        int n = 50_000;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.sin(0.05 * i) + random.nextGaussian();
+        }
+
+        double[] batch = WelchPSD.welch(x, 100, 1024, 768, WelchPSD.Window.BLACKMAN);
+
+        WelchPSD stream = new WelchPSD(100, 1024, 768, WelchPSD.Window.BLACKMAN);
+        assertThrows(IllegalStateException.class, () -> stream.psd());
+        for (int i = 0; i < n;) {
+            int chunk = Math.min(n - i, 1 + random.nextInt(3000));
+            stream.update(x, i, chunk);
+            i += chunk;
+        }
+        assertEquals((n - 1024) / 256 + 1, stream.getSegments());
+
+        double[] streamed = stream.psd(new double[stream.getBins()]);
+        for (int k = 0; k < batch.length; k++) {
+            assertEquals(batch[k], streamed[k], 1e-12 * batch[k]);
+        }
+        assertEquals(50.0, stream.frequencies()[512], 1e-12);
+
+        stream.reset();
+        assertEquals(0, stream.getSegments());
+        stream.update(x, 0, 1024);
+        assertEquals(1, stream.getSegments());
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new WelchPSD(100, 1000, 0, WelchPSD.Window.HANN));
+        assertThrows(IllegalArgumentException.class, () -> new WelchPSD(100, 256, 256, WelchPSD.Window.HANN));
+        assertThrows(IllegalArgumentException.class, () -> new WelchPSD(0, 256, 0, WelchPSD.Window.HANN));
+        assertThrows(IllegalArgumentException.class,
+                () -> WelchPSD.welch(new double[100], 100, 256, 128, WelchPSD.Window.HANN));
+    }
+}
@@ -0,0 +1,90 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Newton interpolation over List&lt;Point&gt;, arrays and PointSeries for a
+ * growing number of nodes, and IsPrime over a range of integers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AlgebraBenchmark {
+    @Param({ "8", "32", "128" })
+    int nodes;
+
+    final Algebra algebra = new Algebra();
+    List<Point> points;
+    double[] x, y;
+    PointSeries series;
+    double forwardAt, backwardAt;
+
+    @Setup
+    public void setup() {
+        x = new double[nodes];
+        y = new double[nodes];
+        points = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            x[i] = 1 + 0.1 * i;
+            y[i] = Math.log(x[i]);
+            points.add(new Point(x[i], y[i]));
+        }
+        series = PointSeries.wrap(x, y);
+        forwardAt = x[0] + 0.05;
+        backwardAt = x[nodes - 1] - 0.05;
+    }
+
+    @Benchmark
+    public double newtonForwardList() {
+        return algebra.NewtonForwardInterpolation(points, forwardAt);
+    }
+
+    @Benchmark
+    public double newtonForwardArrays() {
+        return algebra.NewtonForwardInterpolation(x, y, forwardAt);
+    }
+
+    @Benchmark
+    public double newtonForwardSeries() {
+        return algebra.NewtonForwardInterpolation(series, forwardAt);
+    }
+
+    @Benchmark
+    public double newtonBackwardList() {
+        return algebra.NewtonBackwardInterpolation(points, backwardAt);
+    }
+
+    @Benchmark
+    public double newtonBackwardArrays() {
+        return algebra.NewtonBackwardInterpolation(x, y, backwardAt);
+    }
+
+    /**
+     * Trial division is O(n), so the range is a separate parameter.
+     */
+    @State(Scope.Thread)
+    public static class Primes {
+        @Param({ "1000", "100000" })
+        int limit;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void isPrime(Primes primes, Blackhole bh) {
+        for (int n = primes.limit - 100; n < primes.limit; n++) {
+            bh.consume(algebra.IsPrime(n));
+        }
+    }
+}
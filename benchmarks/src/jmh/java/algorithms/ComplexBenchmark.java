@@ -0,0 +1,102 @@
+package algorithms;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Complex arithmetic and transcendental functions over arrays of random
+ * operands. Scores are per array, so divide by size for one operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComplexBenchmark {
+    @Param({ "1000", "100000" })
+    int size;
+
+    Complex[] a, b;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        a = new Complex[size];
+        b = new Complex[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = new Complex(random.nextGaussian() * 10, random.nextGaussian() * 10);
+            b[i] = new Complex(random.nextGaussian() * 10, random.nextGaussian() * 10);
+        }
+    }
+
+    @Benchmark
+    public void plus(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(a[i].plus(b[i]));
+        }
+    }
+
+    @Benchmark
+    public void times(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(a[i].times(b[i]));
+        }
+    }
+
+    @Benchmark
+    public void div(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(a[i].div(b[i]));
+        }
+    }
+
+    @Benchmark
+    public void abs(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(a[i].abs());
+        }
+    }
+
+    @Benchmark
+    public void exp(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(a[i].exp());
+        }
+    }
+
+    @Benchmark
+    public void log(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(a[i].log());
+        }
+    }
+
+    @Benchmark
+    public void sin(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(a[i].sin());
+        }
+    }
+
+    @Benchmark
+    public void sqrt(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(a[i].sqrt());
+        }
+    }
+
+    @Benchmark
+    public void power(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(a[i].power(2.5));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package algorithms;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The blocked, parallel Matrix.multiply against a naive i-j-k triple loop
+ * over the same row-major data. Scores are in ms, so
+ * GFLOP/s = 2 n^3 / (score * 1e6). The naive loop takes minutes per call at
+ * n = 4096; -PjmhIncludes=Matrix.blocked runs only the blocked kernel. Five
+ * 4096 x 4096 arrays need about 700 MB, hence the larger heap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MatrixBenchmark {
+    @Param({ "512", "1024", "2048", "4096" })
+    int n;
+
+    Matrix a, b;
+    double[] ad, bd;
+
+    @Setup
+    public void setup() {
+        a = random(n, 1);
+        b = random(n, 2);
+        ad = a.toArray();
+        bd = b.toArray();
+    }
+
+    private static Matrix random(int n, long seed) {
+        Random random = new Random(seed);
+        double[] data = new double[n * n];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextDouble() - 0.5;
+        }
+        return new Matrix(n, n, data);
+    }
+
+    @Benchmark
+    public Matrix blocked() {
+        return a.multiply(b);
+    }
+
+    @Benchmark
+    public double[] naive() {
+        double[] c = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += ad[i * n + k] * bd[k * n + j];
+                }
+                c[i * n + j] = sum;
+            }
+        }
+        return c;
+    }
+}
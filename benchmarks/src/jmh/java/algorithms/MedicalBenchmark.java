@@ -0,0 +1,53 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Medical.AUC over a concentration-time curve held as List&lt;Point&gt; and as
+ * PointSeries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MedicalBenchmark {
+    @Param({ "1000", "100000", "1000000" })
+    int samples;
+
+    final Medical medical = new Medical();
+    List<Point> points;
+    PointSeries series;
+
+    @Setup
+    public void setup() {
+        points = new ArrayList<>(samples);
+        series = new PointSeries(samples);
+        for (int i = 0; i < samples; i++) {
+            // One compartment oral absorption curve
+            double t = 24.0 * i / samples;
+            double c = 10 * (Math.exp(-0.1 * t) - Math.exp(-1.5 * t));
+            points.add(new Point(t, c));
+            series.add(t, c);
+        }
+    }
+
+    @Benchmark
+    public double aucList() {
+        return medical.AUC(points);
+    }
+
+    @Benchmark
+    public double aucSeries() {
+        return medical.AUC(series);
+    }
+}
@@ -0,0 +1,81 @@
+package algorithms;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Root finding and evaluation of random quadratics and cubics. Scores are
+ * per array of polynomials.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolynomialBenchmark {
+    @Param({ "1000", "100000" })
+    int size;
+
+    Poly2[] quadratics;
+    Poly3[] cubics;
+    double[] points;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        quadratics = new Poly2[size];
+        cubics = new Poly3[size];
+        points = new double[size];
+        for (int i = 0; i < size; i++) {
+            // Non-zero leading coefficients; about half have real roots
+            quadratics[i] = new Poly2(1 + random.nextDouble() * 9, random.nextGaussian() * 10,
+                    random.nextGaussian() * 10);
+            cubics[i] = new Poly3(1 + random.nextDouble() * 9, random.nextGaussian() * 10,
+                    random.nextGaussian() * 10, random.nextGaussian() * 10);
+            points[i] = random.nextGaussian() * 5;
+        }
+    }
+
+    @Benchmark
+    public void poly2Croots(Blackhole bh) {
+        for (Poly2 p : quadratics) {
+            bh.consume(p.croots());
+        }
+    }
+
+    @Benchmark
+    public void poly2Roots(Blackhole bh) {
+        for (Poly2 p : quadratics) {
+            bh.consume(p.roots());
+        }
+    }
+
+    @Benchmark
+    public void poly3Roots(Blackhole bh) {
+        for (Poly3 p : cubics) {
+            bh.consume(p.Roots());
+        }
+    }
+
+    @Benchmark
+    public void poly3RealRoots(Blackhole bh) {
+        for (Poly3 p : cubics) {
+            bh.consume(p.RealRoots());
+        }
+    }
+
+    @Benchmark
+    public void poly3HornerEvaluate(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(cubics[i].hornerEvaluate(points[i]));
+        }
+    }
+}